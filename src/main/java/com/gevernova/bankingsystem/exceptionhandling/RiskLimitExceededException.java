@@ -0,0 +1,8 @@
+package com.gevernova.bankingsystem.exceptionhandling;
+
+// A risk limit rejected the transaction. Extends InvalidBalanceException so every existing rejection path handles it
+public class RiskLimitExceededException extends InvalidBalanceException {
+    public RiskLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -1,15 +1,22 @@
 package com.gevernova.bankingsystem.model;
 
-import com.gevernova.IDGenerator;
 import com.gevernova.bankingsystem.exceptionhandling.InvalidBalanceException;
 
+import java.util.concurrent.locks.ReentrantLock;
+
 // Modified to be an abstract class, adhering to LSP
 public abstract class Account {
-    private static int nextAccountNumber = 1000;
     private final String accountNumber;
     private final String accountHolderName;
-    protected double balance; // Protected for direct access/manipulation by subclasses
+    protected volatile long balanceCents; // Minor units, protected for direct access/manipulation by subclasses
     protected  AccountType accountType;
+    protected volatile long heldCents; // Funds reserved by in-flight transfers, no longer available to withdraw
+    // Copy-on-write pre-image for LedgerEpoch snapshots, guarded by the lock
+    private volatile LedgerEpoch epoch; // Clock of the bank the account is registered with, null until then
+    private long imageEpoch;
+    private long imageBalanceCents;
+    // Per-account lock: balance updates on different accounts never contend with each other
+    private final ReentrantLock lock = new ReentrantLock();
 
     public Account(String name, AccountType accountType, double initialBalance) throws IllegalArgumentException {
         if (name == null || name.isEmpty()) {
@@ -24,13 +31,29 @@ public abstract class Account {
         }
 
         this.accountHolderName = name;
-        this.accountNumber = generateAccountNumber(); // Uses the shared IDGenerator
+        this.accountNumber = AccountNumberAllocator.nextAccountNumber(); // Thread-safe, block-allocated
         this.accountType = accountType;
-        this.balance = initialBalance;
+        this.balanceCents = Money.toMinorUnits(initialBalance);
     }
 
-    private String generateAccountNumber() {
-        return String.format("%06d", nextAccountNumber++);
+    // Restores an account from a snapshot: keeps its number and balance, skips opening-balance rules
+    protected Account(String accountNumber, String name, AccountType accountType, long balanceCents) throws IllegalArgumentException {
+        if (accountNumber == null || accountNumber.isEmpty()) {
+            throw new IllegalArgumentException("Account number cannot be null or empty");
+        }
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("Name cannot be null or empty");
+        }
+        if (accountType == null) {
+            throw new IllegalArgumentException("Account type cannot be null");
+        }
+        if (balanceCents < 0) {
+            throw new IllegalArgumentException("Balance cannot be negative");
+        }
+        this.accountHolderName = name;
+        this.accountNumber = accountNumber;
+        this.accountType = accountType;
+        this.balanceCents = balanceCents;
     }
 
     public String getAccountHolderName() {
@@ -42,32 +65,181 @@ public abstract class Account {
     }
 
     public double getBalance() {
-        return balance;
+        return Money.toMajorUnits(balanceCents);
+    }
+
+    public long getBalanceCents() {
+        return balanceCents;
+    }
+
+    public long getHeldCents() {
+        return heldCents;
+    }
+
+    // What withdrawals and new holds may draw on: the balance minus anything already reserved
+    public long getAvailableBalanceCents() {
+        return balanceCents - heldCents;
     }
 
     public AccountType getAccountType() {
         return accountType;
     }
 
+    // Guards every read-modify-write of the balance. Reentrant, so a transfer can hold it across withdraw/deposit
+    public ReentrantLock getLock() {
+        return lock;
+    }
+
     // New common setBalance method for internal use by subclasses
-    protected void setBalance(double newBalance) throws InvalidBalanceException {
+    protected void setBalance(long newBalanceCents) throws InvalidBalanceException {
         // Basic validation, more specific validation should be in deposit/withdraw of concrete classes
-        if (newBalance < 0) {
+        // Held funds are spoken for, so nothing may eat into them before the hold is committed
+        if (newBalanceCents - heldCents < 0) {
             throw new InvalidBalanceException("Balance cannot be negative after operation.");
         }
-        this.balance = newBalance;
+        saveSnapshotImage();
+        this.balanceCents = newBalanceCents;
+    }
+
+    // Epoch gate that multi-account operations on this account enter, or null if no bank registered it
+    public LedgerEpoch getLedgerEpoch() {
+        return epoch;
+    }
+
+    // Called when a bank registers the account. A pre-image taken under another bank's clock means nothing here
+    void attachEpoch(LedgerEpoch ledgerEpoch) {
+        lock.lock();
+        try {
+            this.epoch = ledgerEpoch;
+            this.imageEpoch = 0;
+        } finally {
+            lock.unlock();
+        }
     }
-    public abstract void deposit(double amount) throws InvalidBalanceException, IllegalArgumentException;
-    public abstract void withdraw(double amount) throws InvalidBalanceException, IllegalArgumentException;
-    public abstract boolean canWithdraw(double amount);
-    public abstract double getMinimumBalance();
 
-    // Abstract methods to support withdrawal logic specific to each account type
+    // Called under the lock before every balance change: the first write in a new epoch keeps the old
+    // balance, which is exactly what a snapshot taken at that epoch boundary needs to see
+    private void saveSnapshotImage() {
+        LedgerEpoch clock = epoch;
+        long current = clock == null ? 0 : clock.current();
+        if (imageEpoch != current) {
+            imageBalanceCents = balanceCents;
+            imageEpoch = current;
+        }
+    }
+
+    // Balance as it stood when the given epoch ended (or now, if it has not ended yet)
+    long balanceAsOf(long epoch) {
+        lock.lock();
+        try {
+            return imageEpoch > epoch ? imageBalanceCents : balanceCents;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Used by TransactionJournal replay: applies an already-validated delta without re-checking or logging
+    void applyReplayedDelta(long deltaCents) {
+        lock.lock();
+        try {
+            saveSnapshotImage();
+            this.balanceCents += deltaCents;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Charges a fee regardless of the account type's minimum balance; the balance itself still cannot go negative
+    public void chargeFeeCents(long feeCents) throws InvalidBalanceException, IllegalArgumentException {
+        if (feeCents <= 0) {
+            throw new IllegalArgumentException("Fee amount must be positive.");
+        }
+        lock.lock();
+        try {
+            setBalance(this.balanceCents - feeCents);
+            BankingEventSink sink = BankingEventLog.getSink();
+            if (sink.isEnabled()) {
+                sink.publish("Charged fee of " + Money.toMajorUnits(feeCents) + " to account " + accountNumber + ". New balance: " + getBalance());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Phase one of a transfer: reserve funds under this account's lock only, checked against canWithdraw
+    public Reservation placeHold(long amountCents) throws InvalidBalanceException, IllegalArgumentException {
+        if (amountCents <= 0) {
+            throw new IllegalArgumentException("Hold amount must be positive.");
+        }
+        lock.lock();
+        try {
+            if (!canWithdrawCents(amountCents)) {
+                throw new InvalidBalanceException("Insufficient available balance to reserve " + Money.toMajorUnits(amountCents) + " on account " + accountNumber + ".");
+            }
+            this.heldCents += amountCents;
+        } finally {
+            lock.unlock();
+        }
+        return new Reservation(this, amountCents);
+    }
+
+    // Turns a hold into a debit. Cannot fail: the funds were checked and set aside when the hold was placed
+    void commitHold(long amountCents) {
+        lock.lock();
+        try {
+            saveSnapshotImage();
+            this.heldCents -= amountCents;
+            this.balanceCents -= amountCents;
+            BankingEventSink sink = BankingEventLog.getSink();
+            if (sink.isEnabled()) {
+                sink.publish("Committed hold of " + Money.toMajorUnits(amountCents) + " on account " + accountNumber + ". New balance: " + getBalance());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Compensation: gives reserved funds back without touching the balance
+    void releaseHold(long amountCents) {
+        lock.lock();
+        try {
+            this.heldCents -= amountCents;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Public API in major units; these only convert and delegate to the minor-unit hot path below
+    public void deposit(double amount) throws InvalidBalanceException, IllegalArgumentException {
+        depositCents(Money.toMinorUnits(amount));
+    }
+
+    public void withdraw(double amount) throws InvalidBalanceException, IllegalArgumentException {
+        withdrawCents(Money.toMinorUnits(amount));
+    }
+
+    public boolean canWithdraw(double amount) {
+        return canWithdrawCents(Money.toMinorUnits(amount));
+    }
+
+    public double getMinimumBalance() {
+        return Money.toMajorUnits(getMinimumBalanceCents());
+    }
+
+    // Abstract methods to support deposit/withdrawal logic specific to each account type, in minor units
+    public abstract void depositCents(long amountCents) throws InvalidBalanceException, IllegalArgumentException;
+    public abstract void withdrawCents(long amountCents) throws InvalidBalanceException, IllegalArgumentException;
+    public abstract boolean canWithdrawCents(long amountCents);
+    public abstract long getMinimumBalanceCents();
 
     @Override
     public String toString() {
+        return describe(balanceCents);
+    }
+
+    String describe(long balanceCents) {
         return "Account [Number=" + accountNumber + ", Name=" + accountHolderName +
-                ", Type=" + accountType + ", Balance=" + balance + "]";
+                ", Type=" + accountType + ", Balance=" + Money.toMajorUnits(balanceCents) + "]";
     }
 
 
@@ -0,0 +1,71 @@
+package com.gevernova.bankingsystem.model;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Hands out unique account numbers safely from any thread.
+// Each thread reserves a block of BLOCK_SIZE numbers from the shared counter and then allocates from it
+// locally, so concurrent onboarding touches the shared AtomicInteger once per block rather than once per
+// account. Numbers are unique but only ordered within a thread; unused numbers of a block are skipped.
+public final class AccountNumberAllocator {
+    static final int FIRST_ACCOUNT_NUMBER = 1000;
+    static final int BLOCK_SIZE = 64;
+    static final int PADDED_WIDTH = 6;
+
+    private static final AtomicInteger nextBlockStart = new AtomicInteger(FIRST_ACCOUNT_NUMBER);
+    // Bumped when restored accounts claim numbers, so blocks handed out before that are abandoned
+    private static volatile int generation;
+    // [next, end, generation) of the block owned by the current thread
+    private static final ThreadLocal<int[]> currentBlock = ThreadLocal.withInitial(() -> new int[] {0, 0, -1});
+
+    private AccountNumberAllocator() {
+    }
+
+    public static String nextAccountNumber() {
+        return format(nextNumber());
+    }
+
+    static int nextNumber() {
+        int[] block = currentBlock.get();
+        int currentGeneration = generation;
+        if (block[0] == block[1] || block[2] != currentGeneration) {
+            int start = nextBlockStart.getAndAdd(BLOCK_SIZE);
+            if (start < FIRST_ACCOUNT_NUMBER) {
+                throw new IllegalStateException("Account numbers exhausted");
+            }
+            block[0] = start;
+            block[1] = start + BLOCK_SIZE;
+            block[2] = currentGeneration;
+        }
+        return block[0]++;
+    }
+
+    // Called after restoring accounts from a snapshot: numbers up to the given one are never handed out again,
+    // and outstanding thread blocks are abandoned since they may cover restored numbers
+    static synchronized void advancePast(int number) {
+        nextBlockStart.accumulateAndGet(number + 1, Math::max);
+        generation++;
+    }
+
+    // Same output as String.format("%06d", number) for non-negative numbers, without the formatter
+    static String format(int number) {
+        if (number < 0) {
+            throw new IllegalArgumentException("Account number cannot be negative");
+        }
+        int length = Math.max(PADDED_WIDTH, stringSize(number));
+        char[] digits = new char[length];
+        for (int i = length - 1; i >= 0; i--) {
+            digits[i] = (char) ('0' + number % 10);
+            number /= 10;
+        }
+        return new String(digits);
+    }
+
+    private static int stringSize(int number) {
+        int size = 1;
+        while (number >= 10) {
+            number /= 10;
+            size++;
+        }
+        return size;
+    }
+}
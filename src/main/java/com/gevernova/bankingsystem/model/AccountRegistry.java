@@ -0,0 +1,241 @@
+package com.gevernova.bankingsystem.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+
+// Account lookup keyed on the numeric value of the zero-padded account number (up to nine digits).
+// Only canonical numbers, as produced by AccountNumberAllocator, are keys: "001000" is one but "1000" and
+// "0001000" are not, so equal keys always mean equal strings and every operation agrees on identity.
+// Open addressing with linear probing over primitive int keys: a lookup is a single probe sequence with no
+// boxing and no allocation. Readers use StampedLock optimistic reads and only fall back to a read lock if a
+// writer raced them; writers (add/remove) are serialized.
+public class AccountRegistry {
+    static final int EMPTY = -1;
+    private static final int INITIAL_CAPACITY = 64;
+
+    // Keys and values are swapped together on resize so an optimistic reader never sees mismatched lengths
+    private static final class Table {
+        final int[] keys;
+        final Account[] values;
+
+        Table(int capacity) {
+            keys = new int[capacity];
+            values = new Account[capacity];
+            Arrays.fill(keys, EMPTY);
+        }
+    }
+
+    private final StampedLock lock = new StampedLock();
+    private Table table = new Table(INITIAL_CAPACITY);
+    private int size;
+    private volatile List<String> accountNumbersSnapshot; // Rebuilt lazily after a mutation
+
+    public Account get(String accountNumber) {
+        int key = toKey(accountNumber);
+        if (key == EMPTY) {
+            return null;
+        }
+        return get((long) key);
+    }
+
+    // Lookup by the numeric value of the account number, as stored in the journal
+    Account get(long key) {
+        if (key < 0 || key > Integer.MAX_VALUE) {
+            return null;
+        }
+        long stamp = lock.tryOptimisticRead();
+        Account account = find(table, (int) key);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                account = find(table, (int) key);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return account;
+    }
+
+    public boolean contains(String accountNumber) {
+        return get(accountNumber) != null;
+    }
+
+    // Returns false, leaving the registry unchanged, if the account number is already registered
+    public boolean putIfAbsent(Account account) {
+        int key = toKey(account.getAccountNumber());
+        if (key == EMPTY) {
+            throw new IllegalArgumentException("Account number must be a zero-padded number of six to nine digits: " + account.getAccountNumber());
+        }
+        long stamp = lock.writeLock();
+        try {
+            if ((size + 1) * 4 > table.keys.length * 3) {
+                table = resize(table, table.keys.length * 2);
+            }
+            int[] keys = table.keys;
+            int mask = keys.length - 1;
+            int slot = slotFor(key, mask);
+            while (keys[slot] != EMPTY) {
+                if (keys[slot] == key) {
+                    return false;
+                }
+                slot = (slot + 1) & mask;
+            }
+            table.values[slot] = account;
+            keys[slot] = key;
+            size++;
+            accountNumbersSnapshot = null;
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public Account remove(String accountNumber) {
+        int key = toKey(accountNumber);
+        if (key == EMPTY) {
+            return null;
+        }
+        long stamp = lock.writeLock();
+        try {
+            int[] keys = table.keys;
+            Account[] values = table.values;
+            int mask = keys.length - 1;
+            int slot = slotFor(key, mask);
+            while (keys[slot] != EMPTY) {
+                if (keys[slot] == key) {
+                    Account removed = values[slot];
+                    deleteSlot(keys, values, slot, mask);
+                    size--;
+                    accountNumbersSnapshot = null;
+                    return removed;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return null;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // Immutable list of all account numbers, shared between callers until the next add/remove
+    public List<String> getAccountNumbers() {
+        List<String> snapshot = accountNumbersSnapshot;
+        if (snapshot != null) {
+            return snapshot;
+        }
+        long stamp = lock.readLock();
+        try {
+            List<String> numbers = new ArrayList<>(size);
+            for (Account account : table.values) {
+                if (account != null) {
+                    numbers.add(account.getAccountNumber());
+                }
+            }
+            snapshot = Collections.unmodifiableList(numbers);
+            accountNumbersSnapshot = snapshot;
+            return snapshot;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // In table (hash) order, not registration order
+    public List<Account> getAccounts() {
+        long stamp = lock.readLock();
+        try {
+            List<Account> accounts = new ArrayList<>(size);
+            for (Account account : table.values) {
+                if (account != null) {
+                    accounts.add(account);
+                }
+            }
+            return accounts;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // Parses the zero-padded account number without allocating; EMPTY if it is not in canonical form
+    static int toKey(String accountNumber) {
+        if (accountNumber == null || accountNumber.length() < AccountNumberAllocator.PADDED_WIDTH || accountNumber.length() > 9) {
+            return EMPTY;
+        }
+        if (accountNumber.length() > AccountNumberAllocator.PADDED_WIDTH && accountNumber.charAt(0) == '0') {
+            return EMPTY; // Longer numbers are never padded
+        }
+        int value = 0;
+        for (int i = 0; i < accountNumber.length(); i++) {
+            char c = accountNumber.charAt(i);
+            if (c < '0' || c > '9') {
+                return EMPTY;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static Account find(Table table, int key) {
+        int[] keys = table.keys;
+        Account[] values = table.values;
+        int mask = keys.length - 1;
+        int slot = slotFor(key, mask);
+        for (int probes = 0; probes < keys.length && keys[slot] != EMPTY; probes++) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    private static int slotFor(int key, int mask) {
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private static Table resize(Table old, int capacity) {
+        Table resized = new Table(capacity);
+        int mask = capacity - 1;
+        for (int i = 0; i < old.keys.length; i++) {
+            if (old.keys[i] != EMPTY) {
+                int slot = slotFor(old.keys[i], mask);
+                while (resized.keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                resized.keys[slot] = old.keys[i];
+                resized.values[slot] = old.values[i];
+            }
+        }
+        return resized;
+    }
+
+    // Backward-shift deletion keeps probe sequences intact without tombstones
+    private static void deleteSlot(int[] keys, Account[] values, int slot, int mask) {
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (keys[next] != EMPTY) {
+            int home = slotFor(keys[next], mask);
+            // Move the entry back if the hole lies cyclically between its home slot and its current slot
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                values[hole] = values[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[hole] = EMPTY;
+        values[hole] = null;
+    }
+}
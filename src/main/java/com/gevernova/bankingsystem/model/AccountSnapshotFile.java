@@ -0,0 +1,246 @@
+package com.gevernova.bankingsystem.model;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+// Compact binary snapshot of every account, for fast cold starts.
+// Layout: a 36-byte header (magic, version, journal offset, time taken, account count, chunk count) followed by chunks.
+// Each chunk is a 12-byte header (raw length, compressed length, record count) and a deflated block of records:
+// type byte, balance in cents, then account number and holder name as length-prefixed UTF-8.
+// Chunks are compressed independently, so the file is written as a stream and read back in parallel.
+public final class AccountSnapshotFile {
+    private static final int MAGIC = 0x42534E50;
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 36;
+    private static final int CHUNK_HEADER_SIZE = 12;
+    static final int RECORDS_PER_CHUNK = 16_384;
+
+    private static final byte TYPE_SAVINGS = 1;
+    private static final byte TYPE_CURRENT = 2;
+
+    // What a restore needs besides the accounts
+    static final class Restored {
+        final long journalOffset;
+        final long takenAtMillis;
+
+        Restored(long journalOffset, long takenAtMillis) {
+            this.journalOffset = journalOffset;
+            this.takenAtMillis = takenAtMillis;
+        }
+    }
+
+    private AccountSnapshotFile() {
+    }
+
+    // Writes the snapshot's frozen balances, chunk by chunk; memory use is bounded by one chunk
+    public static void write(BalanceSnapshot snapshot, Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.position(HEADER_SIZE);
+            ByteBuffer raw = ByteBuffer.allocate(1 << 20);
+            byte[] compressed = new byte[0];
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            int chunks = 0;
+            try {
+                for (int start = 0; start < snapshot.size(); start += RECORDS_PER_CHUNK) {
+                    int end = Math.min(snapshot.size(), start + RECORDS_PER_CHUNK);
+                    raw.clear();
+                    for (int i = start; i < end; i++) {
+                        raw = encode(raw, snapshot.getAccount(i), snapshot.getBalanceCents(i));
+                    }
+                    int rawLength = raw.position();
+                    deflater.reset();
+                    deflater.setInput(raw.array(), 0, rawLength);
+                    deflater.finish();
+                    if (compressed.length < rawLength + 64) {
+                        compressed = new byte[rawLength + 64 + rawLength / 16];
+                    }
+                    int compressedLength = 0;
+                    while (!deflater.finished()) {
+                        compressedLength += deflater.deflate(compressed, compressedLength, compressed.length - compressedLength);
+                    }
+                    ByteBuffer chunkHeader = ByteBuffer.allocate(CHUNK_HEADER_SIZE);
+                    chunkHeader.putInt(rawLength).putInt(compressedLength).putInt(end - start).flip();
+                    writeFully(channel, chunkHeader);
+                    writeFully(channel, ByteBuffer.wrap(compressed, 0, compressedLength));
+                    chunks++;
+                }
+            } finally {
+                deflater.end();
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).putLong(snapshot.getJournalOffset()).putLong(snapshot.getTakenAtMillis())
+                    .putLong(snapshot.size()).putInt(chunks).flip();
+            channel.position(0);
+            writeFully(channel, header);
+            channel.force(true);
+        }
+    }
+
+    // Rebuilds the accounts and hands each one to the consumer, which is called from several threads at once.
+    // Returns the journal offset recorded in the snapshot, so the journal can be replayed from there.
+    public static long read(Path file, Consumer<Account> consumer) throws IOException {
+        return restore(file, consumer).journalOffset;
+    }
+
+    // Same, also reporting when the snapshot was taken
+    static Restored restore(Path file, Consumer<Account> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = readFully(channel, 0, HEADER_SIZE);
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException("Not an account snapshot file: " + file);
+            }
+            long journalOffset = header.getLong();
+            long takenAtMillis = header.getLong();
+            long accountCount = header.getLong();
+            int chunkCount = header.getInt();
+
+            // Walk the chunk headers once to find where each chunk starts, then inflate the chunks in parallel
+            long[] positions = new long[chunkCount];
+            long position = HEADER_SIZE;
+            long records = 0;
+            for (int c = 0; c < chunkCount; c++) {
+                positions[c] = position;
+                ByteBuffer chunkHeader = readFully(channel, position, CHUNK_HEADER_SIZE);
+                chunkHeader.getInt();
+                position += CHUNK_HEADER_SIZE + chunkHeader.getInt();
+                records += chunkHeader.getInt();
+            }
+            if (records != accountCount) {
+                throw new IOException("Snapshot is truncated: expected " + accountCount + " accounts, found " + records);
+            }
+
+            AtomicInteger highestNumber = new AtomicInteger(-1);
+            try {
+                IntStream.range(0, chunkCount).parallel().forEach(c -> {
+                    int highest = readChunk(channel, positions[c], consumer);
+                    highestNumber.accumulateAndGet(highest, Math::max);
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            if (highestNumber.get() >= 0) {
+                AccountNumberAllocator.advancePast(highestNumber.get());
+            }
+            return new Restored(journalOffset, takenAtMillis);
+        }
+    }
+
+    // Returns the highest numeric account number in the chunk, or -1
+    private static int readChunk(FileChannel channel, long position, Consumer<Account> consumer) {
+        try {
+            ByteBuffer chunkHeader = readFully(channel, position, CHUNK_HEADER_SIZE);
+            int rawLength = chunkHeader.getInt();
+            int compressedLength = chunkHeader.getInt();
+            int recordCount = chunkHeader.getInt();
+            ByteBuffer compressed = readFully(channel, position + CHUNK_HEADER_SIZE, compressedLength);
+
+            byte[] raw = new byte[rawLength];
+            Inflater inflater = new Inflater();
+            try {
+                inflater.setInput(compressed.array(), 0, compressedLength);
+                int inflated = 0;
+                while (inflated < rawLength && !inflater.finished()) {
+                    int n = inflater.inflate(raw, inflated, rawLength - inflated);
+                    if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                        break;
+                    }
+                    inflated += n;
+                }
+                if (inflated != rawLength) {
+                    throw new IOException("Corrupt snapshot chunk at offset " + position);
+                }
+            } catch (DataFormatException e) {
+                throw new IOException("Corrupt snapshot chunk at offset " + position, e);
+            } finally {
+                inflater.end();
+            }
+
+            ByteBuffer records = ByteBuffer.wrap(raw);
+            int highest = -1;
+            for (int r = 0; r < recordCount; r++) {
+                Account account = decode(records);
+                highest = Math.max(highest, numericValue(account.getAccountNumber()));
+                consumer.accept(account);
+            }
+            return highest;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static ByteBuffer encode(ByteBuffer buffer, Account account, long balanceCents) {
+        byte[] number = account.getAccountNumber().getBytes(StandardCharsets.UTF_8);
+        byte[] name = account.getAccountHolderName().getBytes(StandardCharsets.UTF_8);
+        int needed = 1 + 8 + 4 + number.length + 4 + name.length;
+        if (buffer.remaining() < needed) {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + needed));
+            buffer.flip();
+            larger.put(buffer);
+            buffer = larger;
+        }
+        buffer.put(account.getAccountType() == AccountType.CURRENT ? TYPE_CURRENT : TYPE_SAVINGS);
+        buffer.putLong(balanceCents);
+        buffer.putInt(number.length).put(number);
+        buffer.putInt(name.length).put(name);
+        return buffer;
+    }
+
+    private static Account decode(ByteBuffer buffer) throws IOException {
+        byte type = buffer.get();
+        long balanceCents = buffer.getLong();
+        String number = readString(buffer);
+        String name = readString(buffer);
+        switch (type) {
+            case TYPE_SAVINGS:
+                return new SavingsAccount(number, name, balanceCents);
+            case TYPE_CURRENT:
+                return new CurrentAccount(number, name, balanceCents);
+            default:
+                throw new IOException("Unknown account type " + type + " for account " + number);
+        }
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int numericValue(String accountNumber) {
+        try {
+            return Integer.parseInt(accountNumber);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    // Positional reads, safe to issue from several threads against the same channel
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of snapshot at offset " + (position + buffer.position()));
+            }
+        }
+        return buffer.flip();
+    }
+}
@@ -0,0 +1,75 @@
+package com.gevernova.bankingsystem.model;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Secondary index from account number to the positions of its transactions in an append-only history list.
+// Positions live in a growable int[] per account, so a statement costs time in that account's own history.
+public class AccountTransactionIndex {
+    private static final int INITIAL_CAPACITY = 8;
+
+    private final List<ITransaction> history;
+    private final Map<String, Postings> postings = new HashMap<>();
+
+    private static final class Postings {
+        int[] positions = new int[INITIAL_CAPACITY];
+        int count;
+
+        void add(int position) {
+            if (count == positions.length) {
+                positions = Arrays.copyOf(positions, count * 2);
+            }
+            positions[count++] = position;
+        }
+    }
+
+    // The history is only ever appended to, and every append goes through add
+    public AccountTransactionIndex(List<ITransaction> history) {
+        if (history == null) {
+            throw new IllegalArgumentException("History to index cannot be null.");
+        }
+        this.history = history;
+    }
+
+    // Indexes the transaction stored at the given history position under its source and target accounts
+    public void add(ITransaction transaction, int position) {
+        Account source = transaction.getSourceAccount();
+        Account target = transaction.getTargetAccount();
+        if (source != null) {
+            postingsFor(source.getAccountNumber()).add(position);
+        }
+        if (target != null && target != source) {
+            postingsFor(target.getAccountNumber()).add(position);
+        }
+    }
+
+    private Postings postingsFor(String accountNumber) {
+        return postings.computeIfAbsent(accountNumber, key -> new Postings());
+    }
+
+    public int count(String accountNumber) {
+        Postings entry = postings.get(accountNumber);
+        return entry == null ? 0 : entry.count;
+    }
+
+    // Page numbers start at 0. A page past the end is simply empty
+    public TransactionPage page(String accountNumber, int pageIndex, int pageSize) throws IllegalArgumentException {
+        if (pageIndex < 0) {
+            throw new IllegalArgumentException("Page index cannot be negative.");
+        }
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive.");
+        }
+        Postings entry = postings.get(accountNumber);
+        if (entry == null) {
+            return new TransactionPage(history, new int[0], 0, 0, 0, pageIndex);
+        }
+        long start = (long) pageIndex * pageSize;
+        int from = (int) Math.min(start, entry.count);
+        int to = (int) Math.min(start + pageSize, entry.count);
+        // The page shares the posting array; positions below count are never rewritten, even after a resize
+        return new TransactionPage(history, entry.positions, from, to, entry.count, pageIndex);
+    }
+}
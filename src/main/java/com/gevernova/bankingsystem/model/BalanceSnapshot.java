@@ -0,0 +1,83 @@
+package com.gevernova.bankingsystem.model;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Frozen, consistent view of account balances as of one epoch boundary. Never changes after construction
+public class BalanceSnapshot {
+    public static final long NO_JOURNAL = -1L;
+
+    private final long epoch;
+    private final long takenAtMillis;
+    private final long journalOffset;
+    private final Account[] accounts;
+    private final long[] balancesCents;
+    private final Map<String, Integer> positions;
+
+    BalanceSnapshot(long epoch, long takenAtMillis, long journalOffset, Account[] accounts, long[] balancesCents) {
+        this.epoch = epoch;
+        this.takenAtMillis = takenAtMillis;
+        this.journalOffset = journalOffset;
+        this.accounts = accounts;
+        this.balancesCents = balancesCents;
+        this.positions = new HashMap<>(accounts.length * 2);
+        for (int i = 0; i < accounts.length; i++) {
+            positions.put(accounts[i].getAccountNumber(), i);
+        }
+    }
+
+    public long getEpoch() {
+        return epoch;
+    }
+
+    public long getTakenAtMillis() {
+        return takenAtMillis;
+    }
+
+    // Number of journal records already reflected in these balances, or NO_JOURNAL
+    public long getJournalOffset() {
+        return journalOffset;
+    }
+
+    public int size() {
+        return accounts.length;
+    }
+
+    public boolean contains(String accountNumber) {
+        return positions.containsKey(accountNumber);
+    }
+
+    public long getBalanceCents(String accountNumber) throws IllegalArgumentException {
+        Integer position = positions.get(accountNumber);
+        if (position == null) {
+            throw new IllegalArgumentException("Account " + accountNumber + " is not part of this snapshot.");
+        }
+        return balancesCents[position];
+    }
+
+    public double getBalance(String accountNumber) throws IllegalArgumentException {
+        return Money.toMajorUnits(getBalanceCents(accountNumber));
+    }
+
+    public long getTotalCents() {
+        long total = 0;
+        for (long balance : balancesCents) {
+            total += balance;
+        }
+        return total;
+    }
+
+    // Position-based access for report loops, in the registry's hash order (not registration order)
+    public Account getAccount(int index) {
+        return accounts[index];
+    }
+
+    public long getBalanceCents(int index) {
+        return balancesCents[index];
+    }
+
+    // Same format as Account.toString, but with the frozen balance
+    public String describe(int index) {
+        return accounts[index].describe(balancesCents[index]);
+    }
+}
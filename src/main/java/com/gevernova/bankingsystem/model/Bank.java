@@ -4,56 +4,464 @@ package com.gevernova.bankingsystem.model;
 import com.gevernova.bankingsystem.exceptionhandling.AccountNotFoundException;
 import com.gevernova.bankingsystem.exceptionhandling.InvalidBalanceException;
 import com.gevernova.bankingsystem.service.*; // Import all service classes
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
-import java.util.stream.Collectors; // For stream operations if needed
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
-public class Bank {
-    private final Map<String, Account> accounts;
-    private final List<ITransaction> transactionHistory; // To store history
+public class Bank implements AutoCloseable {
+    private static final LedgerEpoch[] NO_EPOCHS = new LedgerEpoch[0];
+    private final AccountRegistry accounts; // Open-addressed index keyed on the numeric account number
+    private final Queue<ITransaction> transactionHistory; // Lock-free append-only history
+    private final ColumnarTransactionHistory historyStore; // Primitive columns for audit queries
+    private final EventSourcedLedger ledger; // Per-account postings and checkpoints for balance-as-of queries
     private final TransactionProcessor transactionProcessor; // The new processor
+    private final TransactionJournal journal; // Optional durable journal, null when running in memory only
+    private volatile TransactionSubmitter submitter; // Created on first asynchronous submission
+    private final IdempotencyCache idempotencyCache; // Outcomes of keyed transactions, for retried submissions
+    private final BankMetrics metrics = new BankMetrics(); // Counts and latencies of single and batched transactions
+    private final LedgerEpoch epoch; // Snapshot clock of this bank's accounts
 
     public Bank() {
-        this.accounts = new HashMap<>();
-        this.transactionHistory = new ArrayList<>();
-        this.transactionProcessor = new TransactionProcessor(); // Initialize the processor
+        this(null);
+    }
+
+    public Bank(TransactionJournal journal) {
+        this(journal, new IdempotencyCache());
+    }
+
+    public Bank(TransactionJournal journal, IdempotencyCache idempotencyCache) {
+        this(journal, idempotencyCache, new LedgerEpoch());
+    }
+
+    // Banks may share one epoch when their accounts must always move together; the shards of a ShardedBank
+    // keep their own and are only closed together while a cross-shard snapshot advances them
+    public Bank(TransactionJournal journal, IdempotencyCache idempotencyCache, LedgerEpoch epoch) {
+        if (idempotencyCache == null) {
+            throw new IllegalArgumentException("Idempotency cache cannot be null.");
+        }
+        if (epoch == null) {
+            throw new IllegalArgumentException("Ledger epoch cannot be null.");
+        }
+        // Concurrent structures so deposits, withdrawals and transfers can be driven from many threads;
+        // balance consistency is guarded by the per-account locks in Account
+        this.accounts = new AccountRegistry();
+        this.transactionHistory = new ConcurrentLinkedQueue<>();
+        this.historyStore = new ColumnarTransactionHistory();
+        this.ledger = new EventSourcedLedger();
+        this.transactionProcessor = new TransactionProcessor(System::currentTimeMillis, epoch); // Initialize the processor
+        this.journal = journal;
+        this.idempotencyCache = idempotencyCache;
+        this.epoch = epoch;
     }
 
     public boolean isAccountPresent(String accountNumber) {
-        return accounts.containsKey(accountNumber);
+        return accounts.contains(accountNumber);
     }
 
     public void addAccount(Account account) throws IllegalArgumentException {
-        if (accounts.containsKey(account.getAccountNumber())) {
-            throw new IllegalArgumentException("Account number already exists");
+        long openedAt = System.currentTimeMillis();
+        // With a journal, the opening shares the snapshot epoch with the transactions that follow it
+        if (journal != null) {
+            epoch.enter();
+        }
+        try {
+            if (!accounts.putIfAbsent(account)) {
+                throw new IllegalArgumentException("Account number already exists");
+            }
+            if (journal != null) {
+                journal.appendOpen(account, account.getBalanceCents(), openedAt);
+            }
+        } finally {
+            if (journal != null) {
+                epoch.exit();
+            }
+        }
+        account.attachEpoch(epoch);
+        openInLedger(account, openedAt);
+        BankingEventSink sink = BankingEventLog.getSink();
+        if (sink.isEnabled()) {
+            sink.publish("Account added: " + account.getAccountNumber() + " for " + account.getAccountHolderName() + " (Type: " + account.getAccountType() + ").");
         }
-        accounts.put(account.getAccountNumber(), account);
-        System.out.println("Account added: " + account.getAccountNumber() + " for " + account.getAccountHolderName() + " (Type: " + account.getAccountType() + ").");
     }
 
     public void removeAccount(String accountNumber) throws AccountNotFoundException {
-        if (!accounts.containsKey(accountNumber)) {
+        if (accounts.remove(accountNumber) == null) {
             throw new AccountNotFoundException("Account does not exist in Database");
         }
-        accounts.remove(accountNumber);
-        System.out.println("Account " + accountNumber + " removed successfully.");
+        if (journal != null) {
+            journal.appendClose(accountNumber, System.currentTimeMillis()); // Otherwise a cold start would bring it back
+        }
+        BankingEventSink sink = BankingEventLog.getSink();
+        if (sink.isEnabled()) {
+            sink.publish("Account " + accountNumber + " removed successfully.");
+        }
     }
 
     public Account getAccount(String accountNumber) throws AccountNotFoundException {
-        if (!accounts.containsKey(accountNumber)) {
+        Account account = accounts.get(accountNumber);
+        if (account == null) {
             throw new AccountNotFoundException("Account " + accountNumber + " does not exist in Database");
         }
-        return accounts.get(accountNumber);
+        return account;
     }
 
     public List<String> getAllAccountNumbers() {
-        return accounts.keySet().stream().collect(Collectors.toList());
+        return accounts.getAccountNumbers();
+    }
+
+    public List<Account> getAllAccounts() {
+        return accounts.getAccounts();
+    }
+
+    // Limits are checked inline on every transaction, synchronous, batched or submitted
+    public void addRiskLimit(RiskLimit limit) throws IllegalArgumentException {
+        transactionProcessor.addLimit(limit);
+    }
+
+    // Consistent point-in-time balances of every account, read without pausing writers
+    public BalanceSnapshot snapshotBalances() {
+        if (journal == null) {
+            return epoch.snapshot(accounts.getAccounts());
+        }
+        return epoch.snapshot(accounts.getAccounts(), journal::getRecordCount);
+    }
+
+    // Writes a consistent snapshot of every account, tagged with the journal offset it corresponds to
+    public void exportSnapshot(Path file) throws IOException {
+        AccountSnapshotFile.write(snapshotBalances(), file);
+    }
+
+    // Cold start: registers every account from a snapshot file, then replays the journal records written after it,
+    // including accounts opened or closed since. Returns the number of replayed records that named an unknown account.
+    // The ledger keeps the history from before the snapshot: the journal up to the snapshot's offset rebuilds each
+    // account's stream from its journaled opening. Accounts the journal never opened start their stream at the
+    // moment the snapshot was taken, so as-of queries before that are rejected rather than answered wrongly
+    public long restoreSnapshot(Path file) throws IOException {
+        AccountSnapshotFile.Restored restored = AccountSnapshotFile.restore(file, this::addRestoredAccount);
+        boolean replay = journal != null && restored.journalOffset != BalanceSnapshot.NO_JOURNAL;
+        if (replay) {
+            journal.replay(0, restored.journalOffset, new JournalRecovery(accounts, ledger, this::addRestoredAccount, true));
+        }
+        for (Account account : accounts.getAccounts()) {
+            openInLedger(account, restored.takenAtMillis);
+        }
+        return replay ? replayFrom(restored.journalOffset) : 0;
+    }
+
+    // Called from the parallel import threads and from journal replay; the registry is safe for concurrent inserts.
+    // Restored accounts are already in the journal, so they are not journaled again; their ledger streams are
+    // opened by the restore, from the journal's history where there is one
+    private void addRestoredAccount(Account account) {
+        if (!accounts.putIfAbsent(account)) {
+            throw new IllegalArgumentException("Account number already exists: " + account.getAccountNumber());
+        }
+        account.attachEpoch(epoch);
     }
 
     // New method to execute any ITransaction (OCP)
     public void executeTransaction(ITransaction transaction) throws InvalidBalanceException, IllegalArgumentException {
-        transactionProcessor.process(transaction); // Use the processor
-        transactionHistory.add(transaction); // Add to history
-        System.out.println("Transaction completed: " + transaction.getTransactionType());
+        String key = transaction == null ? null : transaction.getIdempotencyKey();
+        if (key == null) {
+            run(transaction);
+            return;
+        }
+        CompletableFuture<TransactionResult> outcome = new CompletableFuture<>();
+        CompletableFuture<TransactionResult> original = idempotencyCache.putIfAbsent(key, outcome);
+        if (original != null) {
+            // Retry of a key we have already seen: report the first outcome, execute() is not run again
+            TransactionResult result = awaitOriginal(original);
+            BankingEventSink sink = BankingEventLog.getSink();
+            if (sink.isEnabled()) {
+                sink.publish("Duplicate transaction ignored: " + key);
+            }
+            if (!result.isSuccess()) {
+                throw replayFailure(result);
+            }
+            return;
+        }
+        try {
+            run(transaction);
+            outcome.complete(TransactionResult.success(transaction));
+        } catch (InvalidBalanceException | IllegalArgumentException e) {
+            outcome.complete(TransactionResult.failure(transaction, e)); // Business failures are final too
+            throw e;
+        } catch (RuntimeException e) {
+            idempotencyCache.remove(key, outcome); // Unexpected failure: let the client retry for real
+            outcome.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    // Duplicates that were waiting on an attempt that failed unexpectedly get that same failure
+    private static TransactionResult awaitOriginal(CompletableFuture<TransactionResult> original) {
+        try {
+            return original.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // Raises the same kind of exception the first execution raised
+    private static RuntimeException replayFailure(TransactionResult result) {
+        if (result.getFailureType() != null && IllegalArgumentException.class.isAssignableFrom(result.getFailureType())) {
+            return new IllegalArgumentException(result.getFailureReason());
+        }
+        return new InvalidBalanceException(result.getFailureReason());
+    }
+
+    private void run(ITransaction transaction) throws InvalidBalanceException, IllegalArgumentException {
+        run(transaction, true);
+    }
+
+    // One leg of a cross-shard transfer: its limits were booked when the transfer was prepared (see ShardNode)
+    void applyLeg(ITransaction leg) throws InvalidBalanceException, IllegalArgumentException {
+        run(leg, false);
+    }
+
+    long acquireLimits(ITransaction transaction) throws InvalidBalanceException {
+        return transactionProcessor.acquireLimits(transaction);
+    }
+
+    void releaseLimits(ITransaction transaction, long acquiredAt) {
+        transactionProcessor.releaseLimits(transaction, acquiredAt);
+    }
+
+    // Times every executed transaction and files it under its type and outcome
+    private void run(ITransaction transaction, boolean checkLimits) throws InvalidBalanceException, IllegalArgumentException {
+        long start = System.nanoTime();
+        try {
+            apply(transaction, checkLimits);
+            recordMetrics(transaction, BankMetrics.Outcome.SUCCESS, System.nanoTime() - start);
+        } catch (RuntimeException e) {
+            recordMetrics(transaction, BankMetrics.Outcome.ofFailure(e.getClass()), System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    private void recordMetrics(ITransaction transaction, BankMetrics.Outcome outcome, long latencyNanos) {
+        metrics.record(transaction == null ? "UNKNOWN" : transaction.getTransactionType(), outcome, latencyNanos);
+    }
+
+    private void apply(ITransaction transaction, boolean checkLimits) throws InvalidBalanceException, IllegalArgumentException {
+        // With a journal, applying and journaling share one snapshot epoch so snapshots know their journal offset.
+        // A transfer's other bank is entered along with ours, in the global order, never while holding ours
+        LedgerEpoch[] entered = journal == null ? NO_EPOCHS
+                : LedgerEpoch.enterAll(transactionProcessor.epochsFor(Collections.singletonList(transaction)));
+        try {
+            if (checkLimits) {
+                transactionProcessor.process(transaction); // Use the processor
+            } else {
+                transactionProcessor.processPrevalidated(transaction);
+            }
+            record(transaction, System.currentTimeMillis()); // Add to history
+        } finally {
+            LedgerEpoch.exitAll(entered);
+        }
+        BankingEventSink sink = BankingEventLog.getSink();
+        if (sink.isEnabled()) {
+            sink.publish("Transaction completed: " + transaction.getTransactionType());
+        }
+    }
+
+    // Asynchronous counterpart of executeTransaction: returns immediately, the transaction runs on the
+    // per-account single-writer queue and its outcome is reported through the future instead of thrown
+    public CompletableFuture<TransactionResult> submit(ITransaction transaction) {
+        TransactionSubmitter current = submitter;
+        if (current == null) {
+            synchronized (this) {
+                current = submitter;
+                if (current == null) {
+                    current = new TransactionSubmitter(TransactionSubmitter.DEFAULT_QUEUE_CAPACITY, this::executeForResult);
+                    submitter = current;
+                }
+            }
+        }
+        return current.submit(transaction);
+    }
+
+    // Stops the asynchronous submission threads after the queued transactions have run, then commits the journal
+    // so nothing acknowledged is left waiting for the next group commit. The journal itself stays open: its owner
+    // closes it
+    public synchronized void shutdown() {
+        if (submitter != null) {
+            submitter.close();
+            submitter = null;
+        }
+        if (journal != null) {
+            journal.flush();
+        }
+    }
+
+    @Override
+    public void close() {
+        shutdown();
+    }
+
+    private TransactionResult executeForResult(ITransaction transaction) {
+        try {
+            executeTransaction(transaction);
+            return TransactionResult.success(transaction);
+        } catch (InvalidBalanceException | IllegalArgumentException e) {
+            return TransactionResult.failure(transaction, e);
+        }
+    }
+
+    // Batch counterpart of executeTransaction: failures are reported per item rather than thrown,
+    // and only successful transactions are recorded in the history. Keyed items are deduplicated exactly as
+    // in executeTransaction; a key seen before (or earlier in the same batch) reports its first outcome
+    public List<TransactionResult> executeBatch(List<ITransaction> transactions) throws IllegalArgumentException {
+        if (transactions == null) {
+            throw new IllegalArgumentException("Transaction batch to process cannot be null.");
+        }
+        int count = transactions.size();
+        List<ITransaction> toRun = new ArrayList<>(count);
+        List<CompletableFuture<TransactionResult>> owned = new ArrayList<>(count); // Parallel to toRun, null if unkeyed
+        List<CompletableFuture<TransactionResult>> duplicates = new ArrayList<>(count); // Per item, null if it runs here
+        for (ITransaction transaction : transactions) {
+            String key = transaction == null ? null : transaction.getIdempotencyKey();
+            CompletableFuture<TransactionResult> outcome = key == null ? null : new CompletableFuture<>();
+            CompletableFuture<TransactionResult> original = key == null ? null : idempotencyCache.putIfAbsent(key, outcome);
+            duplicates.add(original);
+            if (original == null) {
+                toRun.add(transaction);
+                owned.add(outcome);
+            }
+        }
+
+        List<TransactionResult> executed;
+        int succeeded = 0;
+        // Entered as a whole so processBatch only re-enters clocks this thread already holds
+        LedgerEpoch[] entered = journal == null ? NO_EPOCHS : LedgerEpoch.enterAll(transactionProcessor.epochsFor(toRun));
+        long start = System.nanoTime();
+        try {
+            executed = transactionProcessor.processBatch(toRun);
+            long now = System.currentTimeMillis();
+            // Items of a batch run interleaved, so each is filed with its share of the batch's latency
+            long latencyNanos = executed.isEmpty() ? 0 : (System.nanoTime() - start) / executed.size();
+            for (TransactionResult result : executed) {
+                if (result.isSuccess()) {
+                    record(result.getTransaction(), now);
+                    succeeded++;
+                }
+                recordMetrics(result.getTransaction(), result.isSuccess() ? BankMetrics.Outcome.SUCCESS
+                        : BankMetrics.Outcome.ofFailure(result.getFailureType()), latencyNanos);
+            }
+        } catch (RuntimeException e) {
+            long latencyNanos = toRun.isEmpty() ? 0 : (System.nanoTime() - start) / toRun.size();
+            for (ITransaction transaction : toRun) {
+                recordMetrics(transaction, BankMetrics.Outcome.ofFailure(e.getClass()), latencyNanos);
+            }
+            for (int i = 0; i < toRun.size(); i++) {
+                if (owned.get(i) != null) {
+                    idempotencyCache.remove(toRun.get(i).getIdempotencyKey(), owned.get(i));
+                    owned.get(i).completeExceptionally(e);
+                }
+            }
+            throw e;
+        } finally {
+            LedgerEpoch.exitAll(entered);
+        }
+        for (int i = 0; i < toRun.size(); i++) {
+            if (owned.get(i) != null) {
+                owned.get(i).complete(executed.get(i)); // Batch outcomes are final, success or not
+            }
+        }
+
+        // Duplicates are only awaited now, after the batch released its locks and completed its own keys
+        List<TransactionResult> results = new ArrayList<>(count);
+        int next = 0;
+        for (int i = 0; i < count; i++) {
+            CompletableFuture<TransactionResult> original = duplicates.get(i);
+            if (original == null) {
+                results.add(executed.get(next++));
+                continue;
+            }
+            try {
+                results.add(awaitOriginal(original));
+            } catch (RuntimeException e) {
+                results.add(TransactionResult.failure(transactions.get(i), e));
+            }
+        }
+        BankingEventSink sink = BankingEventLog.getSink();
+        if (sink.isEnabled()) {
+            int duplicateCount = count - executed.size();
+            sink.publish("Batch completed: " + succeeded + " succeeded, " + (executed.size() - succeeded) + " failed."
+                    + (duplicateCount == 0 ? "" : " " + duplicateCount + " duplicates reported their first outcome."));
+        }
+        return results;
+    }
+
+    private void record(ITransaction transaction, long timestamp) {
+        transactionHistory.add(transaction);
+        historyStore.append(transaction, timestamp);
+        ledger.append(transaction, timestamp);
+        if (journal != null) {
+            journal.append(transaction, timestamp);
+        }
+    }
+
+    public LedgerEpoch getLedgerEpoch() {
+        return epoch;
+    }
+
+    public BankMetrics getMetrics() {
+        return metrics;
+    }
+
+    // The balance an account joins the bank with is the opening state of its event stream.
+    // An account removed and added again keeps its original stream
+    private void openInLedger(Account account, long openedAt) {
+        if (!ledger.contains(account.getAccountNumber())) {
+            ledger.openAccount(account.getAccountNumber(), account.getBalanceCents(), openedAt);
+        }
+    }
+
+    // Auditor queries: balance of an account as of any past moment, rebuilt from the nearest checkpoint
+    public double getBalanceAsOf(String accountNumber, long timestamp) throws AccountNotFoundException, IllegalArgumentException {
+        if (!ledger.contains(accountNumber)) {
+            throw new AccountNotFoundException("Account " + accountNumber + " does not exist in Database");
+        }
+        return Money.toMajorUnits(ledger.getBalanceCentsAsOf(accountNumber, timestamp));
+    }
+
+    public EventSourcedLedger getLedger() {
+        return ledger;
+    }
+
+    // Time-range audit queries over the executed transactions, without copying the history
+    public ColumnarTransactionHistory getHistoryStore() {
+        return historyStore;
+    }
+
+    // Startup recovery: recreates the journaled accounts that are not registered and rebuilds every balance from
+    // the journal. Accounts registered beforehand replay on top of their current (opening) balance.
+    // Returns the number of records that named an account the journal never opened (see JournalRecovery)
+    public long replayJournal() throws IOException {
+        if (journal == null) {
+            throw new IllegalStateException("Bank was created without a transaction journal.");
+        }
+        return replayFrom(0);
+    }
+
+    private long replayFrom(long fromRecord) throws IOException {
+        JournalRecovery recovery = new JournalRecovery(accounts, ledger, this::addRestoredAccount, false);
+        journal.replay(fromRecord, recovery);
+        recovery.finish();
+        return reportSkipped(recovery.getSkippedCount());
+    }
+
+    private long reportSkipped(long skipped) {
+        BankingEventSink sink = BankingEventLog.getSink();
+        if (skipped > 0 && sink.isEnabled()) {
+            sink.publish("Journal replay skipped " + skipped + " records for unregistered accounts; balances may be incomplete.");
+        }
+        return skipped;
     }
 
     // Methods corresponding to the test cases for clarity and direct usage
@@ -89,10 +497,13 @@ public class Bank {
 
     public void printAllAccounts() {
         System.out.println("\n=== All Accounts ===");
-        if (accounts.isEmpty()) {
+        BalanceSnapshot snapshot = snapshotBalances();
+        if (snapshot.size() == 0) {
             System.out.println("No accounts in the bank.");
             return;
         }
-        accounts.values().forEach(System.out::println);
+        for (int i = 0; i < snapshot.size(); i++) {
+            System.out.println(snapshot.describe(i));
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,108 @@
+package com.gevernova.bankingsystem.model;
+
+import com.gevernova.bankingsystem.exceptionhandling.InvalidBalanceException;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Transaction counts and latencies broken down by transaction type and outcome.
+// Updates are lock-free (a map lookup, adders and one atomic increment); export builds a text snapshot
+// in the Prometheus exposition format so it can be scraped or just printed.
+public class BankMetrics {
+    public enum Outcome {
+        SUCCESS("success"),
+        INVALID_BALANCE("invalid_balance"),
+        ILLEGAL_ARGUMENT("illegal_argument"),
+        OTHER_FAILURE("other_failure"); // Any other exception, e.g. IllegalStateException or UncheckedIOException
+
+        private final String label;
+
+        Outcome(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        // Outcome of a transaction that threw (or was reported as failing with) the given exception type
+        public static Outcome ofFailure(Class<? extends RuntimeException> failureType) {
+            if (failureType != null && InvalidBalanceException.class.isAssignableFrom(failureType)) {
+                return INVALID_BALANCE;
+            }
+            if (failureType != null && IllegalArgumentException.class.isAssignableFrom(failureType)) {
+                return ILLEGAL_ARGUMENT;
+            }
+            return OTHER_FAILURE;
+        }
+    }
+
+    private static final double[] EXPORTED_QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    // One histogram per outcome; the histogram's count doubles as the counter
+    private final ConcurrentHashMap<String, LatencyHistogram[]> byType = new ConcurrentHashMap<>();
+
+    public void record(String transactionType, Outcome outcome, long latencyNanos) {
+        histogramsFor(transactionType)[outcome.ordinal()].record(latencyNanos);
+    }
+
+    public long getCount(String transactionType, Outcome outcome) {
+        LatencyHistogram[] histograms = byType.get(transactionType);
+        return histograms == null ? 0 : histograms[outcome.ordinal()].getCount();
+    }
+
+    // Null when nothing of that type has been recorded yet
+    public LatencyHistogram getLatency(String transactionType, Outcome outcome) {
+        LatencyHistogram[] histograms = byType.get(transactionType);
+        return histograms == null ? null : histograms[outcome.ordinal()];
+    }
+
+    private LatencyHistogram[] histogramsFor(String transactionType) {
+        LatencyHistogram[] histograms = byType.get(transactionType);
+        if (histograms == null) {
+            histograms = byType.computeIfAbsent(transactionType, key -> {
+                LatencyHistogram[] created = new LatencyHistogram[Outcome.values().length];
+                for (int i = 0; i < created.length; i++) {
+                    created[i] = new LatencyHistogram();
+                }
+                return created;
+            });
+        }
+        return histograms;
+    }
+
+    public String export() {
+        StringBuilder out = new StringBuilder();
+        Map<String, LatencyHistogram[]> sorted = new TreeMap<>(byType);
+        out.append("# TYPE bank_transactions_total counter\n");
+        for (Map.Entry<String, LatencyHistogram[]> entry : sorted.entrySet()) {
+            for (Outcome outcome : Outcome.values()) {
+                out.append("bank_transactions_total{type=\"").append(entry.getKey())
+                        .append("\",outcome=\"").append(outcome.getLabel()).append("\"} ")
+                        .append(entry.getValue()[outcome.ordinal()].getCount()).append('\n');
+            }
+        }
+        out.append("# TYPE bank_transaction_latency_nanoseconds summary\n");
+        for (Map.Entry<String, LatencyHistogram[]> entry : sorted.entrySet()) {
+            for (Outcome outcome : Outcome.values()) {
+                LatencyHistogram histogram = entry.getValue()[outcome.ordinal()];
+                if (histogram.getCount() == 0) {
+                    continue;
+                }
+                String labels = "type=\"" + entry.getKey() + "\",outcome=\"" + outcome.getLabel() + "\"";
+                for (double quantile : EXPORTED_QUANTILES) {
+                    out.append("bank_transaction_latency_nanoseconds{").append(labels)
+                            .append(",quantile=\"").append(quantile).append("\"} ")
+                            .append(histogram.getValueAtQuantile(quantile)).append('\n');
+                }
+                out.append("bank_transaction_latency_nanoseconds_max{").append(labels).append("} ")
+                        .append(histogram.getMax()).append('\n');
+                out.append("bank_transaction_latency_nanoseconds_mean{").append(labels).append("} ")
+                        .append(String.format(Locale.ROOT, "%.1f", histogram.getMean())).append('\n'); // Always a '.' decimal point
+            }
+        }
+        return out.toString();
+    }
+}
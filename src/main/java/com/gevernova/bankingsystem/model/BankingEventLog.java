@@ -0,0 +1,53 @@
+package com.gevernova.bankingsystem.model;
+
+import com.gevernova.bankingsystem.service.ConsoleEventSink;
+import java.util.concurrent.atomic.LongAdder;
+
+// Process-wide sink used by accounts, transactions and the bank. Defaults to the console.
+// Installed sinks are guarded: a publish that throws is counted and swallowed, so a broken sink can never
+// interrupt a balance update half way.
+public final class BankingEventLog {
+    private static final LongAdder failedPublishes = new LongAdder();
+    private static volatile BankingEventSink sink = ConsoleEventSink.INSTANCE;
+
+    private static final class GuardedSink implements BankingEventSink {
+        private final BankingEventSink delegate;
+
+        GuardedSink(BankingEventSink delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return delegate.isEnabled();
+        }
+
+        @Override
+        public void publish(String message) {
+            try {
+                delegate.publish(message);
+            } catch (RuntimeException e) {
+                failedPublishes.increment();
+            }
+        }
+    }
+
+    private BankingEventLog() {
+    }
+
+    public static BankingEventSink getSink() {
+        return sink;
+    }
+
+    public static void setSink(BankingEventSink newSink) {
+        if (newSink == null) {
+            throw new IllegalArgumentException("Event sink cannot be null, use NoOpEventSink to disable logging.");
+        }
+        sink = newSink instanceof ConsoleEventSink ? newSink : new GuardedSink(newSink);
+    }
+
+    // Messages lost because the installed sink threw
+    public static long getFailedPublishCount() {
+        return failedPublishes.sum();
+    }
+}
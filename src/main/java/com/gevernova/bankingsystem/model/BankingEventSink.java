@@ -0,0 +1,9 @@
+package com.gevernova.bankingsystem.model;
+
+// Destination for the banking module's operational messages (deposits, withdrawals, transfers, account changes).
+// Call sites check isEnabled() before building a message, so with a disabled sink no string is ever concatenated.
+// publish is called while balances are being updated, so it must not throw; a message that cannot be delivered is dropped.
+public interface BankingEventSink {
+    boolean isEnabled();
+    void publish(String message);
+}
@@ -0,0 +1,247 @@
+package com.gevernova.bankingsystem.model;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Columnar, primitive-array store of executed transactions used for audit queries.
+// Rows are appended in time order (timestamps never go backwards), so time ranges are resolved with a binary
+// search and then scanned as plain array loops; no per-row objects are created on either side.
+// Columns live in fixed-size chunks that are never copied. An append interns its accounts and makes sure its
+// chunk exists, then reserves its row with one CAS, fills the row, and publishes it by advancing size once every
+// earlier row is published, so appends from different accounts do not queue on a shared monitor. Nothing
+// between reservation and publication allocates, so no writer can leave a reserved row unpublished. Readers only see rows below size,
+// which are never modified. Account numbers are interned to dense int indices.
+public class ColumnarTransactionHistory {
+    public static final long MILLIS_PER_DAY = 86_400_000L;
+    private static final int NO_ACCOUNT = -1;
+    private static final int CHUNK_BITS = 12;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int SPINS_BEFORE_YIELD = 100;
+
+    // Receives matching rows of a query
+    @FunctionalInterface
+    public interface RowVisitor {
+        void visit(int row, int type, long amountCents, long timestamp);
+    }
+
+    private static final class Chunk {
+        final long[] timestamps = new long[CHUNK_SIZE];
+        final long[] amounts = new long[CHUNK_SIZE];
+        final int[] sources = new int[CHUNK_SIZE];
+        final int[] targets = new int[CHUNK_SIZE];
+        final byte[] types = new byte[CHUNK_SIZE];
+    }
+
+    private volatile Chunk[] chunks = new Chunk[16]; // Copied when it fills up; a slot is set once and never cleared
+    private final AtomicInteger reserved = new AtomicInteger();
+    private volatile int size; // Rows below size are published
+    private final Map<String, Integer> accountIndex = new ConcurrentHashMap<>();
+    private volatile String[] accountNumbers = new String[64];
+
+    public void append(ITransaction transaction, long timestamp) {
+        String source = transaction.getSourceAccount() == null ? null : transaction.getSourceAccount().getAccountNumber();
+        String target = transaction.getTargetAccount() == null ? null : transaction.getTargetAccount().getAccountNumber();
+        append(TransactionJournal.typeCode(transaction), source, target, transaction.getAmountCents(), timestamp);
+    }
+
+    public void append(int type, String sourceAccount, String targetAccount, long amountCents, long timestamp) {
+        // Everything that allocates happens before the row is reserved: a writer that fails here leaves no gap
+        int source = intern(sourceAccount);
+        int target = intern(targetAccount);
+        int row;
+        Chunk chunk;
+        do {
+            row = reserved.get();
+            chunk = chunkFor(row);
+        } while (!reserved.compareAndSet(row, row + 1));
+        int i = row & CHUNK_MASK;
+        try {
+            chunk.amounts[i] = amountCents;
+            chunk.sources[i] = source;
+            chunk.targets[i] = target;
+            chunk.types[i] = (byte) type;
+        } finally {
+            // A reserved row is always published, or every later append would wait on it forever.
+            // Rows are published in reservation order; the wait only covers rows already being written
+            for (int spins = 0; size != row; spins++) {
+                if (spins < SPINS_BEFORE_YIELD) {
+                    Thread.onSpinWait();
+                } else {
+                    Thread.yield();
+                }
+            }
+            // Keep the timestamp column sorted even if the wall clock steps back or appends raced
+            long last = row == 0 ? Long.MIN_VALUE : timestampAt(chunks, row - 1);
+            chunk.timestamps[i] = Math.max(timestamp, last);
+            size = row + 1;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Visits every row touching the account (as source or target) with t1 <= timestamp < t2
+    public void forEachForAccount(String accountNumber, long t1, long t2, RowVisitor visitor) {
+        int n = size;
+        Integer index = accountIndex.get(accountNumber);
+        if (index == null) {
+            return;
+        }
+        int account = index;
+        Chunk[] snapshot = chunks;
+        int end = lowerBound(snapshot, n, t2);
+        for (int row = lowerBound(snapshot, n, t1); row < end; ) {
+            Chunk chunk = snapshot[row >>> CHUNK_BITS];
+            int last = Math.min(end - (row & ~CHUNK_MASK), CHUNK_SIZE);
+            for (int i = row & CHUNK_MASK; i < last; i++, row++) {
+                if (chunk.sources[i] == account || chunk.targets[i] == account) {
+                    visitor.visit(row, chunk.types[i], chunk.amounts[i], chunk.timestamps[i]);
+                }
+            }
+        }
+    }
+
+    // Sum of the amounts of the given transaction type per UTC day, for the days covering [t1, t2).
+    // Element 0 is the day containing t1.
+    public long[] sumPerDay(int type, long t1, long t2) {
+        if (t2 <= t1) {
+            return new long[0];
+        }
+        int n = size;
+        Chunk[] snapshot = chunks;
+        long firstDay = Math.floorDiv(t1, MILLIS_PER_DAY);
+        int days = (int) (Math.floorDiv(t2 - 1, MILLIS_PER_DAY) - firstDay + 1);
+        long[] sums = new long[days];
+        byte wanted = (byte) type;
+        for (int day = 0; day < days; day++) {
+            long dayStart = Math.max(t1, (firstDay + day) * MILLIS_PER_DAY);
+            long dayEnd = Math.min(t2, (firstDay + day + 1) * MILLIS_PER_DAY);
+            int from = lowerBound(snapshot, n, dayStart);
+            int to = lowerBound(snapshot, n, dayEnd);
+            long sum = 0;
+            while (from < to) {
+                Chunk chunk = snapshot[from >>> CHUNK_BITS];
+                int begin = from & CHUNK_MASK;
+                int last = Math.min(to - (from & ~CHUNK_MASK), CHUNK_SIZE);
+                byte[] typ = chunk.types;
+                long[] amt = chunk.amounts;
+                // Branch-free masked sum over a contiguous slice, which the JIT can vectorize
+                for (int i = begin; i < last; i++) {
+                    sum += typ[i] == wanted ? amt[i] : 0L;
+                }
+                from += last - begin;
+            }
+            sums[day] = sum;
+        }
+        return sums;
+    }
+
+    public long[] sumWithdrawalsPerDay(long t1, long t2) {
+        return sumPerDay(TransactionJournal.TYPE_WITHDRAWAL, t1, t2);
+    }
+
+    public int getType(int row) {
+        checkRow(row);
+        return chunks[row >>> CHUNK_BITS].types[row & CHUNK_MASK];
+    }
+
+    public long getAmountCents(int row) {
+        checkRow(row);
+        return chunks[row >>> CHUNK_BITS].amounts[row & CHUNK_MASK];
+    }
+
+    public long getTimestamp(int row) {
+        checkRow(row);
+        return timestampAt(chunks, row);
+    }
+
+    public String getSourceAccount(int row) {
+        checkRow(row);
+        return accountNumber(chunks[row >>> CHUNK_BITS].sources[row & CHUNK_MASK]);
+    }
+
+    public String getTargetAccount(int row) {
+        checkRow(row);
+        return accountNumber(chunks[row >>> CHUNK_BITS].targets[row & CHUNK_MASK]);
+    }
+
+    private void checkRow(int row) {
+        int n = size;
+        if (row < 0 || row >= n) {
+            throw new IndexOutOfBoundsException("Row " + row + " is outside the history of size " + n);
+        }
+    }
+
+    private String accountNumber(int index) {
+        return index == NO_ACCOUNT ? null : accountNumbers[index];
+    }
+
+    // Lock-free for known accounts; a new account is added under the index's own monitor
+    private int intern(String accountNumber) {
+        if (accountNumber == null) {
+            return NO_ACCOUNT;
+        }
+        Integer index = accountIndex.get(accountNumber);
+        if (index != null) {
+            return index;
+        }
+        synchronized (accountIndex) {
+            index = accountIndex.get(accountNumber);
+            if (index != null) {
+                return index;
+            }
+            int next = accountIndex.size();
+            String[] numbers = accountNumbers;
+            if (next == numbers.length) {
+                numbers = Arrays.copyOf(numbers, next * 2);
+            }
+            numbers[next] = accountNumber;
+            accountNumbers = numbers; // Published before the index, so a visible index always has its number
+            accountIndex.put(accountNumber, next);
+            return next;
+        }
+    }
+
+    // Chunks are created on first use; only the first append of each chunk takes the monitor
+    private Chunk chunkFor(int row) {
+        int index = row >>> CHUNK_BITS;
+        Chunk[] current = chunks;
+        if (index < current.length && current[index] != null) {
+            return current[index];
+        }
+        synchronized (this) {
+            current = chunks;
+            if (index >= current.length) {
+                current = Arrays.copyOf(current, Math.max(current.length * 2, index + 1));
+            }
+            if (current[index] == null) {
+                current[index] = new Chunk();
+            }
+            chunks = current;
+            return current[index];
+        }
+    }
+
+    private static long timestampAt(Chunk[] chunks, int row) {
+        return chunks[row >>> CHUNK_BITS].timestamps[row & CHUNK_MASK];
+    }
+
+    // First row whose timestamp is >= the key
+    private static int lowerBound(Chunk[] chunks, int n, long key) {
+        int low = 0;
+        int high = n;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestampAt(chunks, mid) < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -4,41 +4,62 @@ import com.gevernova.bankingsystem.exceptionhandling.InvalidBalanceException;
 
 public class CurrentAccount extends Account {
     private static final double MINIMUM_BALANCE_FOR_CURRENT = 2000.0;
+    private static final long MINIMUM_BALANCE_FOR_CURRENT_CENTS = Money.toMinorUnits(MINIMUM_BALANCE_FOR_CURRENT);
 
     public CurrentAccount(String name, double initialBalance) throws IllegalArgumentException {
         super(name, AccountType.CURRENT, initialBalance);
     }
 
+    // Snapshot restore, see AccountSnapshotFile
+    CurrentAccount(String accountNumber, String name, long balanceCents) throws IllegalArgumentException {
+        super(accountNumber, name, AccountType.CURRENT, balanceCents);
+    }
 
     @Override
-    public void deposit(double amount) throws InvalidBalanceException, IllegalArgumentException {
-        if (amount <= 0) {
+    public void depositCents(long amountCents) throws InvalidBalanceException, IllegalArgumentException {
+        if (amountCents <= 0) {
             throw new IllegalArgumentException("Deposit amount must be positive.");
         }
-        setBalance(this.balance + amount);
-        System.out.println("Deposited " + amount + " to Current Account " + getAccountNumber() + ". New balance: " + getBalance());
+        getLock().lock();
+        try {
+            setBalance(this.balanceCents + amountCents);
+            BankingEventSink sink = BankingEventLog.getSink();
+            if (sink.isEnabled()) { // Message is only built when someone is listening
+                sink.publish("Deposited " + Money.toMajorUnits(amountCents) + " to Current Account " + getAccountNumber() + ". New balance: " + getBalance());
+            }
+        } finally {
+            getLock().unlock();
+        }
     }
 
     @Override
-    public void withdraw(double amount) throws InvalidBalanceException, IllegalArgumentException {
-        if (amount <= 0) {
+    public void withdrawCents(long amountCents) throws InvalidBalanceException, IllegalArgumentException {
+        if (amountCents <= 0) {
             throw new IllegalArgumentException("Withdrawal amount must be positive.");
         }
-        if (!canWithdraw(amount)) { // Leverage canWithdraw logic
-            throw new InvalidBalanceException("Insufficient balance for withdrawal from Current Account.");
+        getLock().lock();
+        try {
+            if (!canWithdrawCents(amountCents)) { // Leverage canWithdraw logic, checked under the lock so it cannot go stale
+                throw new InvalidBalanceException("Insufficient balance for withdrawal from Current Account.");
+            }
+            setBalance(this.balanceCents - amountCents);
+            BankingEventSink sink = BankingEventLog.getSink();
+            if (sink.isEnabled()) { // Message is only built when someone is listening
+                sink.publish("Withdrawn " + Money.toMajorUnits(amountCents) + " from Current Account " + getAccountNumber() + ". New balance: " + getBalance());
+            }
+        } finally {
+            getLock().unlock();
         }
-        setBalance(this.balance - amount);
-        System.out.println("Withdrawn " + amount + " from Current Account " + getAccountNumber() + ". New balance: " + getBalance());
     }
 
     @Override
-    public boolean canWithdraw(double amount) {
+    public boolean canWithdrawCents(long amountCents) {
         // For current account, assume it cannot go below 2000
-        return (this.balance - amount) >= MINIMUM_BALANCE_FOR_CURRENT;
+        return (getAvailableBalanceCents() - amountCents) >= MINIMUM_BALANCE_FOR_CURRENT_CENTS;
     }
 
     @Override
-    public double getMinimumBalance() {
-        return MINIMUM_BALANCE_FOR_CURRENT;
+    public long getMinimumBalanceCents() {
+        return MINIMUM_BALANCE_FOR_CURRENT_CENTS;
     }
-}
\ No newline at end of file
+}
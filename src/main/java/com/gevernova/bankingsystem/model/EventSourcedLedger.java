@@ -0,0 +1,191 @@
+package com.gevernova.bankingsystem.model;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Balances derived from the stream of executed transactions, for "balance as of time T" queries.
+// An audit index next to the accounts, which stay authoritative for the live balance: the bank posts every
+// recorded transaction here, and recovery rebuilds the streams from the journal's openings and records with
+// their original timestamps, so history from before a restart stays queryable.
+// Each account keeps its postings (timestamp, signed amount) in primitive columns, and every checkpointInterval
+// postings a checkpoint stores the running balance. A query binary-searches the postings for T, starts from the
+// nearest checkpoint at or before that point and replays fewer than checkpointInterval postings.
+// Each stream has its own lock, so postings and queries on different accounts never wait for each other.
+public class EventSourcedLedger {
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 64;
+    private static final int INITIAL_CAPACITY = 8;
+
+    private final int checkpointInterval;
+    private final ConcurrentHashMap<String, AccountStream> streams = new ConcurrentHashMap<>();
+
+    // Every field below the final ones is guarded by the stream itself
+    private static final class AccountStream {
+        final int checkpointInterval;
+        final long openingCents;
+        long openedAt;
+        long[] timestamps = new long[INITIAL_CAPACITY];
+        long[] deltas = new long[INITIAL_CAPACITY];
+        int count;
+        long balanceCents;
+        // checkpoints[j] is the balance after the first (j + 1) * checkpointInterval postings
+        long[] checkpoints = new long[INITIAL_CAPACITY];
+        int checkpointCount;
+
+        AccountStream(int checkpointInterval, long openingCents, long openedAt) {
+            this.checkpointInterval = checkpointInterval;
+            this.openingCents = openingCents;
+            this.openedAt = openedAt;
+            this.balanceCents = openingCents;
+        }
+
+        synchronized void post(long timestamp, long deltaCents) {
+            if (count == timestamps.length) {
+                timestamps = Arrays.copyOf(timestamps, count * 2);
+                deltas = Arrays.copyOf(deltas, count * 2);
+            }
+            // Keep each account's postings sorted by time, even if concurrent writers' clocks interleave
+            long last = count == 0 ? openedAt : timestamps[count - 1];
+            timestamps[count] = Math.max(timestamp, last);
+            deltas[count] = deltaCents;
+            count++;
+            balanceCents += deltaCents;
+            if (count % checkpointInterval == 0) {
+                if (checkpointCount == checkpoints.length) {
+                    checkpoints = Arrays.copyOf(checkpoints, checkpointCount * 2);
+                }
+                checkpoints[checkpointCount++] = balanceCents;
+            }
+        }
+
+        // Only an untouched stream can move its opening back: earlier postings would fall before it
+        synchronized void backdate(long earlierOpenedAt) {
+            if (count == 0 && earlierOpenedAt < openedAt) {
+                openedAt = earlierOpenedAt;
+            }
+        }
+
+        synchronized long balanceAsOf(String accountNumber, long asOf) throws IllegalArgumentException {
+            if (asOf < openedAt) {
+                throw new IllegalArgumentException("Account " + accountNumber + " was not open at " + asOf + ".");
+            }
+            int applied = upperBound(timestamps, count, asOf);
+            int checkpoint = applied / checkpointInterval; // Checkpoints fully covered by the applied postings
+            long balance = checkpoint == 0 ? openingCents : checkpoints[checkpoint - 1];
+            for (int i = checkpoint * checkpointInterval; i < applied; i++) {
+                balance += deltas[i];
+            }
+            return balance;
+        }
+
+        synchronized long balance() {
+            return balanceCents;
+        }
+
+        synchronized int postingCount() {
+            return count;
+        }
+
+        synchronized int checkpointCount() {
+            return checkpointCount;
+        }
+    }
+
+    public EventSourcedLedger() {
+        this(DEFAULT_CHECKPOINT_INTERVAL);
+    }
+
+    public EventSourcedLedger(int checkpointInterval) throws IllegalArgumentException {
+        if (checkpointInterval <= 0) {
+            throw new IllegalArgumentException("Checkpoint interval must be positive.");
+        }
+        this.checkpointInterval = checkpointInterval;
+    }
+
+    // Starts an account's stream; its opening balance is the state before the first posting
+    public void openAccount(String accountNumber, long openingCents, long openedAt) throws IllegalArgumentException {
+        if (accountNumber == null) {
+            throw new IllegalArgumentException("Account number cannot be null.");
+        }
+        if (streams.putIfAbsent(accountNumber, new AccountStream(checkpointInterval, openingCents, openedAt)) != null) {
+            throw new IllegalArgumentException("Account " + accountNumber + " is already in the ledger.");
+        }
+    }
+
+    // Same legs as journal replay: the source is debited, the target credited, each under its own stream's lock.
+    // Accounts never opened are skipped
+    public void append(ITransaction transaction, long timestamp) {
+        long amountCents = transaction.getAmountCents();
+        Account source = transaction.getSourceAccount();
+        Account target = transaction.getTargetAccount();
+        if (source != null) {
+            post(streams.get(source.getAccountNumber()), timestamp, -amountCents);
+        }
+        if (target != null) {
+            post(streams.get(target.getAccountNumber()), timestamp, amountCents);
+        }
+    }
+
+    // One replayed journal leg, at the time it was originally recorded. Accounts never opened are skipped
+    void postReplayed(String accountNumber, long timestamp, long deltaCents) {
+        post(streams.get(accountNumber), timestamp, deltaCents);
+    }
+
+    // Recovery: an account registered before replay was opened at registration, but its history starts
+    // at the journaled opening
+    void backdateOpening(String accountNumber, long openedAt) {
+        AccountStream stream = streams.get(accountNumber);
+        if (stream != null) {
+            stream.backdate(openedAt);
+        }
+    }
+
+    private static void post(AccountStream stream, long timestamp, long deltaCents) {
+        if (stream != null) {
+            stream.post(timestamp, deltaCents);
+        }
+    }
+
+    public boolean contains(String accountNumber) {
+        return accountNumber != null && streams.containsKey(accountNumber);
+    }
+
+    public long getBalanceCents(String accountNumber) throws IllegalArgumentException {
+        return streamFor(accountNumber).balance();
+    }
+
+    // Balance including every posting with timestamp <= asOf
+    public long getBalanceCentsAsOf(String accountNumber, long asOf) throws IllegalArgumentException {
+        return streamFor(accountNumber).balanceAsOf(accountNumber, asOf);
+    }
+
+    public int getPostingCount(String accountNumber) throws IllegalArgumentException {
+        return streamFor(accountNumber).postingCount();
+    }
+
+    public int getCheckpointCount(String accountNumber) throws IllegalArgumentException {
+        return streamFor(accountNumber).checkpointCount();
+    }
+
+    private AccountStream streamFor(String accountNumber) throws IllegalArgumentException {
+        AccountStream stream = accountNumber == null ? null : streams.get(accountNumber);
+        if (stream == null) {
+            throw new IllegalArgumentException("Account " + accountNumber + " is not in the ledger.");
+        }
+        return stream;
+    }
+
+    // Number of entries in the sorted prefix that are <= value
+    private static int upperBound(long[] sorted, int length, long value) {
+        int low = 0;
+        int high = length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -9,4 +9,28 @@ public interface ITransaction {
     String getTransactionType();
     double getAmount();
     String getDescription(); // For printing transaction history
-}
\ No newline at end of file
+
+    // Amount in minor units, the representation balances are kept in
+    default long getAmountCents() {
+        return Money.toMinorUnits(getAmount());
+    }
+
+    // Accounts touched by the transaction, used to group and lock a batch; null when the leg does not apply
+    default Account getSourceAccount() {
+        return null;
+    }
+
+    default Account getTargetAccount() {
+        return null;
+    }
+
+    // Whether the source leg must respect canWithdraw; fees, for instance, may take an account below its minimum
+    default boolean isSubjectToMinimumBalance() {
+        return getSourceAccount() != null;
+    }
+
+    // Client-chosen key that makes retries safe: Bank applies a keyed transaction at most once. Null means no deduplication
+    default String getIdempotencyKey() {
+        return null;
+    }
+}
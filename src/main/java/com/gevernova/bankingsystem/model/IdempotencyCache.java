@@ -0,0 +1,153 @@
+package com.gevernova.bankingsystem.model;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+// Bounded deduplication cache for idempotency keys: entries expire ttlMillis after they were first stored, and
+// once maxEntries is reached the oldest completed entry makes room. Values are futures, so a duplicate that
+// arrives while the original is still running simply waits for the same outcome; an entry whose transaction is
+// still running is never evicted, since that would let a retry execute it a second time. The cache may therefore
+// briefly exceed maxEntries while more than that many keyed transactions are in flight, or while several
+// threads store keys at once.
+// Lookups and inserts go through a ConcurrentHashMap, so keyed transactions never queue behind one monitor.
+// For eviction every entry is also filed in a time bucket (BUCKETS per TTL) in insertion order: expiry drops
+// whole buckets once everything in them has expired, and capacity eviction takes the first completed entry of
+// the oldest buckets, looking past in-flight entries only.
+public class IdempotencyCache {
+    public static final int DEFAULT_MAX_ENTRIES = 100_000;
+    public static final long DEFAULT_TTL_MILLIS = 24L * 60 * 60 * 1000;
+    private static final int BUCKETS = 16;
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final long bucketMillis;
+    private final LongSupplier clock;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    // Bucket index (insertion time / bucketMillis) -> entries stored in that interval, oldest first. An entry that
+    // was removed or replaced stays in its bucket until the bucket is dropped; eviction skips it
+    private final ConcurrentSkipListMap<Long, Queue<Entry>> buckets = new ConcurrentSkipListMap<>();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+
+    private static final class Entry {
+        final String key;
+        final CompletableFuture<TransactionResult> result;
+        final long expiresAt;
+
+        Entry(String key, CompletableFuture<TransactionResult> result, long expiresAt) {
+            this.key = key;
+            this.result = result;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    public IdempotencyCache() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_TTL_MILLIS, System::currentTimeMillis);
+    }
+
+    public IdempotencyCache(int maxEntries, long ttlMillis, LongSupplier clock) throws IllegalArgumentException {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Idempotency cache must hold at least one entry.");
+        }
+        if (ttlMillis <= 0) {
+            throw new IllegalArgumentException("Idempotency TTL must be positive.");
+        }
+        if (clock == null) {
+            throw new IllegalArgumentException("Clock cannot be null.");
+        }
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+        this.bucketMillis = Math.max(1, ttlMillis / BUCKETS);
+        this.clock = clock;
+    }
+
+    // Stores the future under the key unless a live entry exists, in which case that entry's future is returned
+    // and nothing is stored. Returns null when the caller now owns the key and must complete the future.
+    public CompletableFuture<TransactionResult> putIfAbsent(String key, CompletableFuture<TransactionResult> result) {
+        if (key == null || result == null) {
+            throw new IllegalArgumentException("Idempotency key and result cannot be null.");
+        }
+        long now = clock.getAsLong();
+        Entry existing = entries.get(key);
+        if (existing != null && existing.expiresAt > now) {
+            return existing.result; // The common duplicate path touches nothing else
+        }
+        evictExpired(now);
+        if (entries.size() >= maxEntries) {
+            evictOldestCompleted();
+        }
+        Entry fresh = new Entry(key, result, now + ttlMillis);
+        while ((existing = entries.putIfAbsent(key, fresh)) != null) {
+            if (existing.expiresAt > now) {
+                return existing.result; // Another thread stored the key first
+            }
+            entries.remove(key, existing);
+        }
+        buckets.computeIfAbsent(now / bucketMillis, index -> new ConcurrentLinkedQueue<>()).add(fresh);
+        return null;
+    }
+
+    public CompletableFuture<TransactionResult> get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt <= clock.getAsLong()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.result;
+    }
+
+    // Drops the key only if it still maps to the given future, so a retry can run after an unexpected failure
+    public void remove(String key, CompletableFuture<TransactionResult> result) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.result == result) {
+            entries.remove(key, entry);
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // Drops every bucket whose newest possible entry has expired. One thread sweeps at a time; the others
+    // skip it, since the next insert sweeps again
+    private void evictExpired(long now) {
+        if (!sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            Map.Entry<Long, Queue<Entry>> oldest;
+            while ((oldest = buckets.firstEntry()) != null && (oldest.getKey() + 1) * bucketMillis + ttlMillis <= now) {
+                for (Entry entry : oldest.getValue()) {
+                    entries.remove(entry.key, entry);
+                }
+                buckets.remove(oldest.getKey(), oldest.getValue());
+            }
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    private void evictOldestCompleted() {
+        for (Queue<Entry> bucket : buckets.values()) {
+            Iterator<Entry> iterator = bucket.iterator();
+            while (iterator.hasNext()) {
+                Entry entry = iterator.next();
+                if (entries.get(entry.key) != entry) {
+                    iterator.remove(); // Already removed or replaced
+                } else if (entry.result.isDone() && entries.remove(entry.key, entry)) {
+                    iterator.remove();
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.gevernova.bankingsystem.model;
+
+import java.util.function.Consumer;
+
+// Replays journal records into a bank's registry and ledger. Openings recreate accounts that are not registered
+// yet, so a cold start needs nothing but the journal; an account that is already registered keeps its current
+// balance as its opening balance. Closings unregister, and money records move balances by their recorded legs.
+// Every leg is also posted to the ledger at its original timestamp, and streams open at the journaled time.
+// In history mode (records a restored snapshot already includes) only the ledger is rebuilt: balances, the
+// registry and accounts missing from the snapshot are left alone.
+final class JournalRecovery implements TransactionJournal.RecordVisitor {
+    private final AccountRegistry accounts;
+    private final EventSourcedLedger ledger;
+    private final Consumer<Account> register; // Adds a recreated account to the bank, without journaling it again
+    private final boolean historyOnly;
+    private long skipped;
+    private int highestNumber = -1;
+
+    JournalRecovery(AccountRegistry accounts, EventSourcedLedger ledger, Consumer<Account> register, boolean historyOnly) {
+        this.accounts = accounts;
+        this.ledger = ledger;
+        this.register = register;
+        this.historyOnly = historyOnly;
+    }
+
+    @Override
+    public void opened(long account, AccountType accountType, String holderName, long openingCents, long timestamp) {
+        Account existing = accounts.get(account);
+        if (existing == null) {
+            if (historyOnly || account < 0 || account > 999_999_999) {
+                return; // Closed before the snapshot was taken, or not a number the registry can hold
+            }
+            String number = AccountNumberAllocator.format((int) account);
+            register.accept(accountType == AccountType.CURRENT
+                    ? new CurrentAccount(number, holderName, openingCents)
+                    : new SavingsAccount(number, holderName, openingCents));
+            ledger.openAccount(number, openingCents, timestamp);
+            highestNumber = Math.max(highestNumber, (int) account);
+        } else if (!ledger.contains(existing.getAccountNumber())) {
+            // Restored from a snapshot: the stream starts from the journaled opening and replays up to the snapshot
+            ledger.openAccount(existing.getAccountNumber(), historyOnly ? openingCents : existing.getBalanceCents(), timestamp);
+        } else {
+            ledger.backdateOpening(existing.getAccountNumber(), timestamp);
+        }
+    }
+
+    @Override
+    public void closed(long account, long timestamp) {
+        Account closing = historyOnly || account == TransactionJournal.NO_ACCOUNT ? null : accounts.get(account);
+        if (closing != null) {
+            accounts.remove(closing.getAccountNumber());
+        }
+    }
+
+    @Override
+    public void visit(int type, long fromAccount, long toAccount, long amountCents, long timestamp) {
+        Account from = fromAccount == TransactionJournal.NO_ACCOUNT ? null : accounts.get(fromAccount);
+        Account to = toAccount == TransactionJournal.NO_ACCOUNT ? null : accounts.get(toAccount);
+        if (historyOnly) {
+            post(from, -amountCents, timestamp);
+            post(to, amountCents, timestamp);
+            return;
+        }
+        if ((fromAccount != TransactionJournal.NO_ACCOUNT && from == null) || (toAccount != TransactionJournal.NO_ACCOUNT && to == null)) {
+            skipped++;
+        }
+        if (from != null) {
+            from.applyReplayedDelta(-amountCents);
+            post(from, -amountCents, timestamp);
+        }
+        if (to != null) {
+            to.applyReplayedDelta(amountCents);
+            post(to, amountCents, timestamp);
+        }
+    }
+
+    private void post(Account account, long deltaCents, long timestamp) {
+        if (account != null) {
+            ledger.postReplayed(account.getAccountNumber(), timestamp, deltaCents);
+        }
+    }
+
+    // Records that named an account that was never opened in the journal nor registered; their legs on that
+    // account could not be applied, so a non-zero count means the rebuilt balances are incomplete
+    long getSkippedCount() {
+        return skipped;
+    }
+
+    // Recreated numbers must never be handed out again
+    void finish() {
+        if (highestNumber >= 0) {
+            AccountNumberAllocator.advancePast(highestNumber);
+        }
+    }
+}
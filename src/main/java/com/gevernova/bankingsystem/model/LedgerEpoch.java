@@ -0,0 +1,135 @@
+package com.gevernova.bankingsystem.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongSupplier;
+
+// Epoch clock behind point-in-time balance snapshots.
+// Multi-account operations run inside the shared side of the gate, so an epoch boundary never splits one.
+// Taking a snapshot only holds the exclusive side long enough to bump the epoch; the accounts are then read
+// while writers carry on, each account saving its pre-boundary balance on its first write in the new epoch.
+// One clock per Bank, and per shard of a ShardedBank; accounts follow the clock of the bank that registered
+// them, so snapshots of one bank never stall transfers in another. Operations that span several clocks enter
+// them in one global order (see enterAll), which is also the order a snapshot across clocks closes their gates.
+public final class LedgerEpoch {
+    private static final AtomicLong NEXT_ORDER = new AtomicLong();
+    private static final Comparator<LedgerEpoch> GLOBAL_ORDER = Comparator.comparingLong(epoch -> epoch.order);
+
+    private final ReentrantReadWriteLock gate = new ReentrantReadWriteLock();
+    private final ReentrantLock snapshotLock = new ReentrantLock(); // One boundary being read at a time
+    private final long order = NEXT_ORDER.getAndIncrement(); // Position in the global acquisition order
+    private volatile long current = 1;
+
+    long current() {
+        return current;
+    }
+
+    // Must be called before taking any account lock, and paired with exit in a finally block
+    public void enter() {
+        gate.readLock().lock();
+    }
+
+    public void exit() {
+        gate.readLock().unlock();
+    }
+
+    // Enters every distinct clock given, skipping nulls, in the global order, and returns them in that order for
+    // exitAll. Any thread that needs several clocks must take them this way, before any account lock: a thread
+    // holding one clock while waiting for another behind a queued snapshot would otherwise deadlock with a thread
+    // doing the same the other way round
+    public static LedgerEpoch[] enterAll(LedgerEpoch... epochs) {
+        List<LedgerEpoch> distinct = new ArrayList<>(epochs.length);
+        for (LedgerEpoch epoch : epochs) {
+            if (epoch != null && !distinct.contains(epoch)) {
+                distinct.add(epoch);
+            }
+        }
+        LedgerEpoch[] ordered = distinct.toArray(new LedgerEpoch[0]);
+        Arrays.sort(ordered, GLOBAL_ORDER);
+        for (int i = 0; i < ordered.length; i++) {
+            try {
+                ordered[i].enter();
+            } catch (RuntimeException | Error e) {
+                exitAll(Arrays.copyOf(ordered, i));
+                throw e;
+            }
+        }
+        return ordered;
+    }
+
+    public static void exitAll(LedgerEpoch[] entered) {
+        for (int i = entered.length - 1; i >= 0; i--) {
+            entered[i].exit();
+        }
+    }
+
+    // Snapshots are serialized so at most one epoch boundary is being read at a time,
+    // which is what lets each account keep a single pre-image instead of a version chain
+    BalanceSnapshot snapshot(List<Account> accounts) {
+        return snapshot(accounts, () -> BalanceSnapshot.NO_JOURNAL);
+    }
+
+    // journalMark is read at the boundary itself, while no gated operation is in flight, e.g. the journal length
+    BalanceSnapshot snapshot(List<Account> accounts, LongSupplier journalMark) {
+        return snapshot(new LedgerEpoch[] {this}, List.of(accounts), journalMark);
+    }
+
+    // One boundary across several clocks (the shards of a ShardedBank), accountsPerClock[i] following clocks[i].
+    // The gates are closed in the global order and only while every clock advances; between snapshots each clock
+    // runs on its own. The snapshot reports the epoch of the first clock given
+    static BalanceSnapshot snapshot(LedgerEpoch[] clocks, List<List<Account>> accountsPerClock) {
+        return snapshot(clocks, accountsPerClock, () -> BalanceSnapshot.NO_JOURNAL);
+    }
+
+    private static BalanceSnapshot snapshot(LedgerEpoch[] clocks, List<List<Account>> accountsPerClock, LongSupplier journalMark) {
+        LedgerEpoch[] ordered = clocks.clone();
+        Arrays.sort(ordered, GLOBAL_ORDER);
+        for (LedgerEpoch clock : ordered) {
+            clock.snapshotLock.lock();
+        }
+        try {
+            long[] epochs = new long[clocks.length];
+            long journalOffset;
+            long takenAtMillis;
+            for (LedgerEpoch clock : ordered) {
+                clock.gate.writeLock().lock();
+            }
+            try {
+                for (int i = 0; i < clocks.length; i++) {
+                    epochs[i] = clocks[i].current;
+                    clocks[i].current = epochs[i] + 1;
+                }
+                journalOffset = journalMark.getAsLong();
+                takenAtMillis = System.currentTimeMillis(); // Transactions of later epochs are recorded no earlier
+            } finally {
+                for (int i = ordered.length - 1; i >= 0; i--) {
+                    ordered[i].gate.writeLock().unlock();
+                }
+            }
+
+            int total = 0;
+            for (List<Account> accounts : accountsPerClock) {
+                total += accounts.size();
+            }
+            Account[] frozen = new Account[total];
+            long[] balances = new long[total];
+            int next = 0;
+            for (int i = 0; i < clocks.length; i++) {
+                for (Account account : accountsPerClock.get(i)) {
+                    frozen[next] = account;
+                    balances[next++] = account.balanceAsOf(epochs[i]);
+                }
+            }
+            return new BalanceSnapshot(epochs[0], takenAtMillis, journalOffset, frozen, balances);
+        } finally {
+            for (int i = ordered.length - 1; i >= 0; i--) {
+                ordered[i].snapshotLock.unlock();
+            }
+        }
+    }
+}
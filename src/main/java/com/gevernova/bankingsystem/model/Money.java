@@ -0,0 +1,18 @@
+package com.gevernova.bankingsystem.model;
+
+// Fixed-point money helpers: balances and amounts are held as long minor units (cents) so repeated
+// arithmetic never drifts the way double does. Doubles are only used at the public API boundary.
+public final class Money {
+    public static final long MINOR_UNITS_PER_MAJOR = 100L;
+
+    private Money() {
+    }
+
+    public static long toMinorUnits(double amount) {
+        return Math.round(amount * MINOR_UNITS_PER_MAJOR);
+    }
+
+    public static double toMajorUnits(long minorUnits) {
+        return (double) minorUnits / MINOR_UNITS_PER_MAJOR;
+    }
+}
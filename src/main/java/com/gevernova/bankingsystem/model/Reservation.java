@@ -0,0 +1,48 @@
+package com.gevernova.bankingsystem.model;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Handle for funds set aside by Account.placeHold. Exactly one of commit or release may take effect
+public class Reservation {
+    private static final int PENDING = 0;
+    private static final int COMMITTED = 1;
+    private static final int RELEASED = 2;
+
+    private final Account account;
+    private final long amountCents;
+    private final AtomicInteger state = new AtomicInteger(PENDING);
+
+    Reservation(Account account, long amountCents) {
+        this.account = account;
+        this.amountCents = amountCents;
+    }
+
+    public Account getAccount() {
+        return account;
+    }
+
+    public long getAmountCents() {
+        return amountCents;
+    }
+
+    public boolean isPending() {
+        return state.get() == PENDING;
+    }
+
+    // Debits the held funds from the account
+    public void commit() {
+        if (!state.compareAndSet(PENDING, COMMITTED)) {
+            throw new IllegalStateException("Reservation on account " + account.getAccountNumber() + " is no longer pending.");
+        }
+        account.commitHold(amountCents);
+    }
+
+    // Returns the held funds to the available balance. Releasing twice is a no-op; releasing after commit is an error
+    public void release() {
+        if (state.compareAndSet(PENDING, RELEASED)) {
+            account.releaseHold(amountCents);
+        } else if (state.get() == COMMITTED) {
+            throw new IllegalStateException("Reservation on account " + account.getAccountNumber() + " was already committed.");
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.gevernova.bankingsystem.model;
+
+import com.gevernova.bankingsystem.exceptionhandling.RiskLimitExceededException;
+
+// A limit evaluated inline by TransactionProcessor before a transaction executes.
+// acquire books the transaction's usage atomically, so concurrent transactions cannot both squeeze under the limit;
+// release hands it back if the transaction then fails. Both are called with the same timestamp.
+public interface RiskLimit {
+    void acquire(ITransaction transaction, long nowMillis) throws RiskLimitExceededException;
+
+    void release(ITransaction transaction, long nowMillis);
+}
@@ -4,6 +4,7 @@ import com.gevernova.bankingsystem.exceptionhandling.InvalidBalanceException;
 
 public class SavingsAccount extends Account {
     private static final double MINIMUM_BALANCE = 0;
+    private static final long MINIMUM_BALANCE_CENTS = Money.toMinorUnits(MINIMUM_BALANCE);
 
     public SavingsAccount(String name, double initialBalance) throws IllegalArgumentException {
         super(name, AccountType.SAVINGS, initialBalance);
@@ -12,34 +13,55 @@ public class SavingsAccount extends Account {
         }
     }
 
+    // Snapshot restore, see AccountSnapshotFile
+    SavingsAccount(String accountNumber, String name, long balanceCents) throws IllegalArgumentException {
+        super(accountNumber, name, AccountType.SAVINGS, balanceCents);
+    }
+
     @Override
-    public void deposit(double amount) throws InvalidBalanceException, IllegalArgumentException {
-        if (amount <= 0) {
+    public void depositCents(long amountCents) throws InvalidBalanceException, IllegalArgumentException {
+        if (amountCents <= 0) {
             throw new IllegalArgumentException("Deposit amount must be positive.");
         }
-        setBalance(this.balance + amount);
-        System.out.println("Deposited " + amount + " to Savings Account " + getAccountNumber() + ". New balance: " + getBalance());
+        getLock().lock();
+        try {
+            setBalance(this.balanceCents + amountCents);
+            BankingEventSink sink = BankingEventLog.getSink();
+            if (sink.isEnabled()) { // Message is only built when someone is listening
+                sink.publish("Deposited " + Money.toMajorUnits(amountCents) + " to Savings Account " + getAccountNumber() + ". New balance: " + getBalance());
+            }
+        } finally {
+            getLock().unlock();
+        }
     }
 
     @Override
-    public void withdraw(double amount) throws InvalidBalanceException, IllegalArgumentException {
-        if (amount <= 0) {
+    public void withdrawCents(long amountCents) throws InvalidBalanceException, IllegalArgumentException {
+        if (amountCents <= 0) {
             throw new IllegalArgumentException("Withdrawal amount must be positive.");
         }
-        if (!canWithdraw(amount)) { // Leverage canWithdraw logic
-            throw new InvalidBalanceException("Insufficient balance for withdrawal. Minimum balance of " + MINIMUM_BALANCE + " required.");
+        getLock().lock();
+        try {
+            if (!canWithdrawCents(amountCents)) { // Leverage canWithdraw logic, checked under the lock so it cannot go stale
+                throw new InvalidBalanceException("Insufficient balance for withdrawal. Minimum balance of " + MINIMUM_BALANCE + " required.");
+            }
+            setBalance(this.balanceCents - amountCents);
+            BankingEventSink sink = BankingEventLog.getSink();
+            if (sink.isEnabled()) { // Message is only built when someone is listening
+                sink.publish("Withdrawn " + Money.toMajorUnits(amountCents) + " from Savings Account " + getAccountNumber() + ". New balance: " + getBalance());
+            }
+        } finally {
+            getLock().unlock();
         }
-        setBalance(this.balance - amount);
-        System.out.println("Withdrawn " + amount + " from Savings Account " + getAccountNumber() + ". New balance: " + getBalance());
     }
 
     @Override
-    public boolean canWithdraw(double amount) {
-        return (this.balance - amount) >= MINIMUM_BALANCE;
+    public boolean canWithdrawCents(long amountCents) {
+        return (getAvailableBalanceCents() - amountCents) >= MINIMUM_BALANCE_CENTS;
     }
 
     @Override
-    public double getMinimumBalance() {
-        return MINIMUM_BALANCE;
+    public long getMinimumBalanceCents() {
+        return MINIMUM_BALANCE_CENTS;
     }
-}
\ No newline at end of file
+}
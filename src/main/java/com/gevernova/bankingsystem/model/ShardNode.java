@@ -0,0 +1,93 @@
+package com.gevernova.bankingsystem.model;
+
+import com.gevernova.bankingsystem.exceptionhandling.AccountNotFoundException;
+import com.gevernova.bankingsystem.exceptionhandling.InvalidBalanceException;
+import com.gevernova.bankingsystem.service.TransferLegTransaction;
+import com.gevernova.bankingsystem.service.TransferTransaction;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+// One shard of a ShardedBank. Stands in for a remote node: the coordinator drives cross-shard transfers only
+// through the prepare/commit/abort calls below, keyed by transfer id, and the node keeps its own prepared state.
+public class ShardNode {
+    private final int shardId;
+    private final Bank bank;
+    private final ConcurrentHashMap<Long, PreparedDebit> prepared = new ConcurrentHashMap<>();
+
+    private static final class PreparedDebit {
+        final Reservation hold;
+        final ITransaction transfer; // What the risk limits were booked against
+        final long limitsAcquiredAt;
+
+        PreparedDebit(Reservation hold, ITransaction transfer, long limitsAcquiredAt) {
+            this.hold = hold;
+            this.transfer = transfer;
+            this.limitsAcquiredAt = limitsAcquiredAt;
+        }
+    }
+
+    public ShardNode(int shardId, Bank bank) {
+        if (bank == null) {
+            throw new IllegalArgumentException("Shard bank cannot be null.");
+        }
+        this.shardId = shardId;
+        this.bank = bank;
+    }
+
+    public int getShardId() {
+        return shardId;
+    }
+
+    public Bank getBank() {
+        return bank;
+    }
+
+    // Transfers prepared on this shard that are still waiting for commit or abort
+    public int getPreparedCount() {
+        return prepared.size();
+    }
+
+    // Phase one on the source shard: book the transfer against this shard's risk limits, then hold the funds.
+    // Throws when the shard votes no; nothing is left behind in that case.
+    void prepareDebit(long transferId, Account source, Account target, double amount) throws InvalidBalanceException, IllegalArgumentException {
+        ITransaction transfer = new TransferTransaction(source, target, amount);
+        long acquiredAt = bank.acquireLimits(transfer);
+        Reservation hold;
+        try {
+            hold = source.placeHold(transfer.getAmountCents());
+        } catch (RuntimeException e) {
+            bank.releaseLimits(transfer, acquiredAt);
+            throw e;
+        }
+        prepared.put(transferId, new PreparedDebit(hold, transfer, acquiredAt));
+    }
+
+    // Phase one on the target shard: the account must still be registered here
+    void prepareCredit(long transferId, String accountNumber) throws AccountNotFoundException {
+        bank.getAccount(accountNumber);
+    }
+
+    // Phase two on the target shard, while the source funds are still held. The caller checks credit.isApplied()
+    // when this throws, to tell a rejected credit from one that landed but could not be recorded
+    void commitCredit(long transferId, TransferLegTransaction credit) throws InvalidBalanceException, IllegalArgumentException {
+        bank.applyLeg(credit);
+    }
+
+    // Phase two on the source shard: the hold becomes the debit. Cannot fail on balance grounds
+    void commitDebit(long transferId) {
+        PreparedDebit debit = prepared.remove(transferId);
+        if (debit == null) {
+            throw new IllegalStateException("Transfer " + transferId + " is not prepared on shard " + shardId + ".");
+        }
+        bank.applyLeg(TransferLegTransaction.debit(debit.hold, debit.transfer.getTargetAccount()));
+    }
+
+    // Undoes phase one: gives back the held funds and the booked limit usage. Unknown ids are ignored
+    void abortDebit(long transferId) {
+        PreparedDebit debit = prepared.remove(transferId);
+        if (debit != null) {
+            debit.hold.release();
+            bank.releaseLimits(debit.transfer, debit.limitsAcquiredAt);
+        }
+    }
+}
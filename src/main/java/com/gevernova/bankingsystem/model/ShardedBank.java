@@ -0,0 +1,171 @@
+package com.gevernova.bankingsystem.model;
+
+import com.gevernova.bankingsystem.exceptionhandling.AccountNotFoundException;
+import com.gevernova.bankingsystem.exceptionhandling.InvalidBalanceException;
+import com.gevernova.bankingsystem.service.TransferLegTransaction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Partitions accounts across several Bank shards by account number.
+// Everything that touches one account, and transfers within one shard, go straight to that shard's Bank.
+// Transfers between shards run a two-phase protocol through the ShardNodes: prepare holds the funds on the
+// source and checks the target, commit credits the target and then turns the hold into the debit. A credit
+// rejected up front aborts the source shard, releasing the hold; once the target has been credited the debit
+// always commits, even if recording the credit failed, so a transfer can never create money.
+public class ShardedBank {
+    private final ShardNode[] shards;
+    private final AtomicLong nextTransferId = new AtomicLong();
+
+    public ShardedBank(int shardCount) throws IllegalArgumentException {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("Shard count must be positive.");
+        }
+        this.shards = new ShardNode[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new ShardNode(i, new Bank(null, new IdempotencyCache()));
+        }
+    }
+
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    public ShardNode getShard(int shardId) {
+        return shards[shardId];
+    }
+
+    // Stable for a given number and shard count, so every coordinator routes the same way
+    public int shardFor(String accountNumber) throws IllegalArgumentException {
+        if (accountNumber == null) {
+            throw new IllegalArgumentException("Account number cannot be null.");
+        }
+        int key = AccountRegistry.toKey(accountNumber);
+        long hash = (key != AccountRegistry.EMPTY ? key : accountNumber.hashCode()) * 0x9E3779B97F4A7C15L;
+        return (int) Math.floorMod(hash ^ (hash >>> 32), (long) shards.length);
+    }
+
+    private Bank bankFor(String accountNumber) {
+        return shards[shardFor(accountNumber)].getBank();
+    }
+
+    public void addAccount(Account account) throws IllegalArgumentException {
+        if (account == null) {
+            throw new IllegalArgumentException("Account cannot be null.");
+        }
+        bankFor(account.getAccountNumber()).addAccount(account);
+    }
+
+    public void removeAccount(String accountNumber) throws AccountNotFoundException {
+        bankFor(accountNumber).removeAccount(accountNumber);
+    }
+
+    public Account getAccount(String accountNumber) throws AccountNotFoundException {
+        return bankFor(accountNumber).getAccount(accountNumber);
+    }
+
+    public boolean isAccountPresent(String accountNumber) {
+        return accountNumber != null && bankFor(accountNumber).isAccountPresent(accountNumber);
+    }
+
+    public List<String> getAllAccountNumbers() {
+        List<String> numbers = new ArrayList<>();
+        for (ShardNode shard : shards) {
+            numbers.addAll(shard.getBank().getAllAccountNumbers());
+        }
+        return numbers;
+    }
+
+    // Registered on every shard; limits key their state by account, so one instance can serve all shards
+    public void addRiskLimit(RiskLimit limit) throws IllegalArgumentException {
+        for (ShardNode shard : shards) {
+            shard.getBank().addRiskLimit(limit);
+        }
+    }
+
+    public void performDeposit(String accountNumber, double amount) throws AccountNotFoundException, InvalidBalanceException, IllegalArgumentException {
+        bankFor(accountNumber).performDeposit(accountNumber, amount);
+    }
+
+    public void performWithdrawal(String accountNumber, double amount) throws AccountNotFoundException, InvalidBalanceException, IllegalArgumentException {
+        bankFor(accountNumber).performWithdrawal(accountNumber, amount);
+    }
+
+    public void performTransfer(String fromAccountNumber, String toAccountNumber, double amount) throws AccountNotFoundException, InvalidBalanceException, IllegalArgumentException {
+        ShardNode source = shards[shardFor(fromAccountNumber)];
+        ShardNode target = shards[shardFor(toAccountNumber)];
+        if (source == target) {
+            source.getBank().performTransfer(fromAccountNumber, toAccountNumber, amount); // Fast path, one shard
+            return;
+        }
+        if (amount <= 0) {
+            throw new IllegalArgumentException("Transfer amount must be positive.");
+        }
+        Account fromAccount = source.getBank().getAccount(fromAccountNumber);
+        Account toAccount = target.getBank().getAccount(toAccountNumber);
+        long amountCents = Money.toMinorUnits(amount);
+        long transferId = nextTransferId.incrementAndGet();
+
+        // Phase one: both shards vote. A failing source vote leaves nothing behind
+        source.prepareDebit(transferId, fromAccount, toAccount, amount);
+        try {
+            target.prepareCredit(transferId, toAccountNumber);
+        } catch (RuntimeException e) {
+            source.abortDebit(transferId);
+            throw e;
+        }
+
+        // Phase two runs inside both shards' epochs, so a snapshot across the shards never sees half a transfer
+        TransferLegTransaction credit = TransferLegTransaction.credit(toAccount, fromAccount, amountCents);
+        LedgerEpoch[] entered = LedgerEpoch.enterAll(source.getBank().getLedgerEpoch(), target.getBank().getLedgerEpoch());
+        try {
+            try {
+                target.commitCredit(transferId, credit);
+            } catch (RuntimeException e) {
+                if (credit.isApplied()) {
+                    // The target was credited and only recording it failed: the debit must follow
+                    commitDebitAfterFailure(source, transferId, e);
+                } else {
+                    source.abortDebit(transferId); // The target balance never changed, so the held funds go back
+                }
+                throw e;
+            }
+            source.commitDebit(transferId);
+        } finally {
+            LedgerEpoch.exitAll(entered);
+        }
+
+        BankingEventSink sink = BankingEventLog.getSink();
+        if (sink.isEnabled()) {
+            sink.publish("Cross-shard transfer of " + amount + " from account " + fromAccountNumber + " (shard "
+                    + source.getShardId() + ") to account " + toAccountNumber + " (shard " + target.getShardId() + ")");
+        }
+    }
+
+    private static void commitDebitAfterFailure(ShardNode source, long transferId, RuntimeException creditFailure) {
+        try {
+            source.commitDebit(transferId);
+        } catch (RuntimeException debitFailure) {
+            creditFailure.addSuppressed(debitFailure);
+        }
+    }
+
+    // One consistent snapshot across all shards. Each shard keeps its own epoch; only here are all of them
+    // closed together, in the global order, for as long as it takes to advance them
+    public BalanceSnapshot snapshotBalances() {
+        LedgerEpoch[] clocks = new LedgerEpoch[shards.length];
+        List<List<Account>> accounts = new ArrayList<>(shards.length);
+        for (int i = 0; i < shards.length; i++) {
+            clocks[i] = shards[i].getBank().getLedgerEpoch();
+            accounts.add(shards[i].getBank().getAllAccounts());
+        }
+        return LedgerEpoch.snapshot(clocks, accounts);
+    }
+
+    public void shutdown() {
+        for (ShardNode shard : shards) {
+            shard.getBank().shutdown();
+        }
+    }
+}
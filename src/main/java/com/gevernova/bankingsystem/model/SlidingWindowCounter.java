@@ -0,0 +1,67 @@
+package com.gevernova.bankingsystem.model;
+
+import java.util.Arrays;
+
+// Rolling sum over the last windowMillis, kept in a ring of fixed-width buckets of primitive longs.
+// Old buckets are cleared lazily as time moves forward, and a running total is maintained, so updates are O(1) amortized.
+public class SlidingWindowCounter {
+    private final long bucketMillis;
+    private final long[] sums;
+    private long currentBucket = Long.MIN_VALUE; // Absolute bucket number of the newest slot
+    private long total;
+
+    public SlidingWindowCounter(long windowMillis, int bucketCount) throws IllegalArgumentException {
+        if (bucketCount <= 0 || windowMillis < bucketCount) {
+            throw new IllegalArgumentException("Window must be at least one millisecond per bucket.");
+        }
+        this.bucketMillis = windowMillis / bucketCount;
+        this.sums = new long[bucketCount];
+    }
+
+    // Adds delta unless that would take the rolling total above limit
+    public synchronized boolean tryAdd(long nowMillis, long delta, long limit) {
+        advance(nowMillis / bucketMillis);
+        if (total + delta > limit) {
+            return false;
+        }
+        sums[slot(currentBucket)] += delta;
+        total += delta;
+        return true;
+    }
+
+    // Undoes a tryAdd made at the given time. Nothing to undo if that bucket has already rolled out of the window
+    public synchronized void subtract(long atMillis, long delta) {
+        long bucket = atMillis / bucketMillis;
+        advance(bucket);
+        if (bucket > currentBucket - sums.length) {
+            sums[slot(bucket)] -= delta;
+            total -= delta;
+        }
+    }
+
+    public synchronized long total(long nowMillis) {
+        advance(nowMillis / bucketMillis);
+        return total;
+    }
+
+    private void advance(long bucket) {
+        if (bucket <= currentBucket) {
+            return; // Same bucket, or a slightly older timestamp from another thread
+        }
+        if (currentBucket == Long.MIN_VALUE || bucket - currentBucket >= sums.length) {
+            Arrays.fill(sums, 0);
+            total = 0;
+        } else {
+            for (long b = currentBucket + 1; b <= bucket; b++) {
+                int slot = slot(b);
+                total -= sums[slot];
+                sums[slot] = 0;
+            }
+        }
+        currentBucket = bucket;
+    }
+
+    private int slot(long bucket) {
+        return (int) Math.floorMod(bucket, (long) sums.length);
+    }
+}
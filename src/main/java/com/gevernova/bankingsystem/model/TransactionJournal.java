@@ -0,0 +1,310 @@
+package com.gevernova.bankingsystem.model;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+// Durable, append-only journal of executed transactions and of the accounts they run against.
+// Every record is fixed width and written through a MappedByteBuffer; records become durable in groups:
+// the mapped region is forced every groupCommitSize appends, or at most maxCommitDelayMillis after the first
+// uncommitted append, whichever comes first, after which the committed count in the header is advanced.
+// Anything appended after the last group commit is discarded when the journal is reopened.
+//
+// File layout: [magic:int][version:int][committedRecords:long] followed by records of
+// [type:int][reserved:int][timestamp:long][fromAccount:long][toAccount:long][amount:long (minor units)]
+// An account opening is a TYPE_OPEN record (toAccount, opening balance as amount, account type and holder name
+// length in reserved) followed by name records carrying the holder name's UTF-8 bytes in their last 32 bytes.
+// A closing is a TYPE_CLOSE record naming fromAccount.
+public class TransactionJournal implements AutoCloseable {
+    public static final int TYPE_DEPOSIT = 1;
+    public static final int TYPE_WITHDRAWAL = 2;
+    public static final int TYPE_TRANSFER = 3;
+    public static final int TYPE_OTHER = 4;
+    public static final int TYPE_OPEN = 5;
+    public static final int TYPE_CLOSE = 6;
+    private static final int TYPE_NAME = 7; // Continuation of a TYPE_OPEN record
+    public static final long NO_ACCOUNT = -1L;
+
+    static final int RECORD_SIZE = 40;
+    private static final int HEADER_SIZE = 16;
+    private static final int MAGIC = 0x424A524E;
+    private static final int VERSION = 2;
+    private static final int RECORDS_PER_REGION = 1 << 18; // 10 MB mapped at a time
+    private static final long REGION_SIZE = (long) RECORDS_PER_REGION * RECORD_SIZE;
+    private static final int DEFAULT_GROUP_COMMIT_SIZE = 256;
+    private static final long DEFAULT_MAX_COMMIT_DELAY_MILLIS = 10;
+    private static final int NAME_BYTES_PER_RECORD = RECORD_SIZE - 8;
+    private static final int ACCOUNT_SAVINGS = 1;
+    private static final int ACCOUNT_CURRENT = 2;
+
+    // Receives journal records during replay. visit sees the money-moving records; openings and closings
+    // go to their own callbacks, which visitors that only rebuild balances can ignore
+    @FunctionalInterface
+    public interface RecordVisitor {
+        void visit(int type, long fromAccount, long toAccount, long amountCents, long timestamp);
+
+        default void opened(long account, AccountType accountType, String holderName, long openingCents, long timestamp) {
+        }
+
+        default void closed(long account, long timestamp) {
+        }
+    }
+
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private final int groupCommitSize;
+    private final long maxCommitDelayMillis;
+    private final ScheduledExecutorService committer;
+    private ScheduledFuture<?> pendingCommit; // Armed by the first append after a commit
+    private boolean closed;
+    private MappedByteBuffer region;
+    private long regionIndex = -1;
+    private long recordCount;
+    private long committedCount;
+
+    public TransactionJournal(Path file) throws IOException {
+        this(file, DEFAULT_GROUP_COMMIT_SIZE);
+    }
+
+    public TransactionJournal(Path file, int groupCommitSize) throws IOException {
+        this(file, groupCommitSize, DEFAULT_MAX_COMMIT_DELAY_MILLIS);
+    }
+
+    public TransactionJournal(Path file, int groupCommitSize, long maxCommitDelayMillis) throws IOException {
+        if (groupCommitSize <= 0) {
+            throw new IllegalArgumentException("Group commit size must be positive.");
+        }
+        if (maxCommitDelayMillis <= 0) {
+            throw new IllegalArgumentException("Maximum commit delay must be positive.");
+        }
+        this.groupCommitSize = groupCommitSize;
+        this.maxCommitDelayMillis = maxCommitDelayMillis;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        boolean fresh = channel.size() < HEADER_SIZE;
+        this.header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+        if (fresh) {
+            header.putInt(0, MAGIC);
+            header.putInt(4, VERSION);
+            header.putLong(8, 0L);
+            header.force();
+        } else if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+            channel.close();
+            throw new IOException("File " + file + " is not a transaction journal.");
+        }
+        this.committedCount = header.getLong(8);
+        this.recordCount = committedCount;
+        this.committer = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "journal-commit");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void append(ITransaction transaction) {
+        append(transaction, System.currentTimeMillis());
+    }
+
+    public void append(ITransaction transaction, long timestamp) {
+        append(typeCode(transaction), accountKey(transaction.getSourceAccount()), accountKey(transaction.getTargetAccount()),
+                transaction.getAmountCents(), timestamp);
+    }
+
+    public synchronized void append(int type, long fromAccount, long toAccount, long amountCents, long timestamp) {
+        write(type, 0, fromAccount, toAccount, amountCents, timestamp);
+        afterAppend();
+    }
+
+    // Records a new account with the balance it opens with, so a cold start can recreate it.
+    // The opening and its name records are appended together and always commit in the same group
+    public synchronized void appendOpen(Account account, long openingCents, long timestamp) {
+        byte[] name = account.getAccountHolderName().getBytes(StandardCharsets.UTF_8);
+        int accountType = account.getAccountType() == AccountType.CURRENT ? ACCOUNT_CURRENT : ACCOUNT_SAVINGS;
+        write(TYPE_OPEN, (name.length << 8) | accountType, NO_ACCOUNT, accountKey(account), openingCents, timestamp);
+        for (int start = 0; start < name.length; start += NAME_BYTES_PER_RECORD) {
+            MappedByteBuffer buffer = regionFor(recordCount);
+            int offset = (int) ((recordCount % RECORDS_PER_REGION) * RECORD_SIZE);
+            buffer.putInt(offset, TYPE_NAME);
+            buffer.putInt(offset + 4, 0);
+            for (int i = 0; i < NAME_BYTES_PER_RECORD; i++) {
+                buffer.put(offset + 8 + i, start + i < name.length ? name[start + i] : 0);
+            }
+            recordCount++;
+        }
+        afterAppend();
+    }
+
+    public synchronized void appendClose(String accountNumber, long timestamp) {
+        write(TYPE_CLOSE, 0, accountKey(accountNumber), NO_ACCOUNT, 0, timestamp);
+        afterAppend();
+    }
+
+    private void write(int type, int reserved, long fromAccount, long toAccount, long amountCents, long timestamp) {
+        if (closed) {
+            throw new IllegalStateException("Journal is closed.");
+        }
+        MappedByteBuffer buffer = regionFor(recordCount);
+        int offset = (int) ((recordCount % RECORDS_PER_REGION) * RECORD_SIZE);
+        buffer.putInt(offset, type);
+        buffer.putInt(offset + 4, reserved);
+        buffer.putLong(offset + 8, timestamp);
+        buffer.putLong(offset + 16, fromAccount);
+        buffer.putLong(offset + 24, toAccount);
+        buffer.putLong(offset + 32, amountCents);
+        recordCount++;
+    }
+
+    // Commits a full group now; otherwise makes sure the records appended so far commit within the delay
+    private void afterAppend() {
+        if (recordCount - committedCount >= groupCommitSize) {
+            flush();
+        } else if (pendingCommit == null) {
+            pendingCommit = committer.schedule(this::commitDue, maxCommitDelayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private synchronized void commitDue() {
+        pendingCommit = null;
+        if (!closed) {
+            flush();
+        }
+    }
+
+    // Group commit: makes every appended record durable, then publishes the new committed count
+    public synchronized void flush() {
+        if (pendingCommit != null) {
+            pendingCommit.cancel(false);
+            pendingCommit = null;
+        }
+        if (recordCount == committedCount) {
+            return;
+        }
+        if (region != null) {
+            region.force();
+        }
+        header.putLong(8, recordCount);
+        header.force();
+        committedCount = recordCount;
+    }
+
+    public synchronized long getRecordCount() {
+        return recordCount;
+    }
+
+    public synchronized long getCommittedCount() {
+        return committedCount;
+    }
+
+    // Replays committed records in append order, starting at the given record offset
+    public void replay(long fromRecord, RecordVisitor visitor) throws IOException {
+        replay(fromRecord, Long.MAX_VALUE, visitor);
+    }
+
+    // Same, stopping before toRecord (e.g. the offset a snapshot already includes)
+    public void replay(long fromRecord, long toRecord, RecordVisitor visitor) throws IOException {
+        long end = Math.min(toRecord, getCommittedCount());
+        long record = Math.max(0, fromRecord);
+        long openAccount = NO_ACCOUNT; // Opening whose name records are still being read
+        AccountType openType = null;
+        long openCents = 0;
+        long openTimestamp = 0;
+        byte[] name = null;
+        int nameRead = 0;
+        while (record < end) {
+            long regionStart = record / RECORDS_PER_REGION;
+            long regionEnd = Math.min(end, (regionStart + 1) * RECORDS_PER_REGION);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY,
+                    HEADER_SIZE + regionStart * REGION_SIZE, (regionEnd - regionStart * RECORDS_PER_REGION) * RECORD_SIZE);
+            for (; record < regionEnd; record++) {
+                int offset = (int) ((record % RECORDS_PER_REGION) * RECORD_SIZE);
+                int type = buffer.getInt(offset);
+                if (type == TYPE_NAME) {
+                    if (name == null) {
+                        continue; // Replay started in the middle of an opening
+                    }
+                    int length = Math.min(NAME_BYTES_PER_RECORD, name.length - nameRead);
+                    buffer.get(offset + 8, name, nameRead, length);
+                    nameRead += length;
+                } else if (type == TYPE_OPEN) {
+                    int reserved = buffer.getInt(offset + 4);
+                    openAccount = buffer.getLong(offset + 24);
+                    openType = (reserved & 0xFF) == ACCOUNT_CURRENT ? AccountType.CURRENT : AccountType.SAVINGS;
+                    openCents = buffer.getLong(offset + 32);
+                    openTimestamp = buffer.getLong(offset + 8);
+                    name = new byte[reserved >>> 8];
+                    nameRead = 0;
+                } else if (type == TYPE_CLOSE) {
+                    visitor.closed(buffer.getLong(offset + 16), buffer.getLong(offset + 8));
+                } else {
+                    visitor.visit(type, buffer.getLong(offset + 16), buffer.getLong(offset + 24),
+                            buffer.getLong(offset + 32), buffer.getLong(offset + 8));
+                }
+                if (name != null && nameRead == name.length) {
+                    visitor.opened(openAccount, openType, new String(name, StandardCharsets.UTF_8), openCents, openTimestamp);
+                    name = null;
+                }
+            }
+        }
+    }
+
+    // Stops the commit timer and commits whatever was appended
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        flush();
+        closed = true;
+        committer.shutdownNow();
+        channel.close();
+    }
+
+    private MappedByteBuffer regionFor(long record) {
+        long index = record / RECORDS_PER_REGION;
+        if (index != regionIndex) {
+            if (region != null) {
+                region.force();
+            }
+            try {
+                region = channel.map(FileChannel.MapMode.READ_WRITE, HEADER_SIZE + index * REGION_SIZE, REGION_SIZE);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to map journal region " + index, e);
+            }
+            regionIndex = index;
+        }
+        return region;
+    }
+
+    static int typeCode(ITransaction transaction) {
+        switch (transaction.getTransactionType()) {
+            case "DEPOSIT":
+                return TYPE_DEPOSIT;
+            case "WITHDRAWAL":
+                return TYPE_WITHDRAWAL;
+            case "TRANSFER":
+                return TYPE_TRANSFER;
+            default:
+                return TYPE_OTHER;
+        }
+    }
+
+    // Account numbers are zero-padded integers, so they are stored as their numeric value
+    static long accountKey(Account account) {
+        return account == null ? NO_ACCOUNT : accountKey(account.getAccountNumber());
+    }
+
+    static long accountKey(String accountNumber) {
+        try {
+            return Long.parseLong(accountNumber);
+        } catch (NumberFormatException e) {
+            return NO_ACCOUNT;
+        }
+    }
+}
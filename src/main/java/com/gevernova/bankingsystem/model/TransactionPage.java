@@ -0,0 +1,80 @@
+package com.gevernova.bankingsystem.model;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+// One page of an account's transactions. A view over the index and the history, nothing is copied
+public class TransactionPage implements Iterable<ITransaction> {
+    private final List<ITransaction> history;
+    private final int[] positions;
+    private final int from;
+    private final int to;
+    private final int totalCount;
+    private final int pageIndex;
+
+    TransactionPage(List<ITransaction> history, int[] positions, int from, int to, int totalCount, int pageIndex) {
+        this.history = history;
+        this.positions = positions;
+        this.from = from;
+        this.to = to;
+        this.totalCount = totalCount;
+        this.pageIndex = pageIndex;
+    }
+
+    public int size() {
+        return to - from;
+    }
+
+    public boolean isEmpty() {
+        return to == from;
+    }
+
+    public ITransaction get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " is outside a page of " + size() + " transactions.");
+        }
+        return history.get(positions[from + index]);
+    }
+
+    // Position of the entry in the full history, for callers that keep their own columns alongside it
+    public int getHistoryPosition(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " is outside a page of " + size() + " transactions.");
+        }
+        return positions[from + index];
+    }
+
+    public int getPageIndex() {
+        return pageIndex;
+    }
+
+    // Number of transactions the account had when this page was taken
+    public int getTotalCount() {
+        return totalCount;
+    }
+
+    public boolean hasNextPage() {
+        return to < totalCount;
+    }
+
+    @Override
+    public Iterator<ITransaction> iterator() {
+        return new Iterator<>() {
+            private int next = from;
+
+            @Override
+            public boolean hasNext() {
+                return next < to;
+            }
+
+            @Override
+            public ITransaction next() {
+                if (next >= to) {
+                    throw new NoSuchElementException();
+                }
+                return history.get(positions[next++]);
+            }
+        };
+    }
+}
@@ -3,12 +3,201 @@ package com.gevernova.bankingsystem.model;
 
 import com.gevernova.bankingsystem.exceptionhandling.InvalidBalanceException;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
 // This class is responsible for processing any ITransaction (OCP)
 public class TransactionProcessor {
+    private static final RiskLimit[] NO_LIMITS = new RiskLimit[0];
+
+    private final LongSupplier clock;
+    private final LedgerEpoch epoch; // Gate that batches enter, shared with the owning Bank
+    private volatile RiskLimit[] limits = NO_LIMITS; // Copy-on-write, the hot path reads it without locking
+
+    public TransactionProcessor() {
+        this(System::currentTimeMillis);
+    }
+
+    public TransactionProcessor(LongSupplier clock) {
+        this(clock, new LedgerEpoch());
+    }
+
+    public TransactionProcessor(LongSupplier clock, LedgerEpoch epoch) {
+        if (clock == null) {
+            throw new IllegalArgumentException("Clock cannot be null.");
+        }
+        if (epoch == null) {
+            throw new IllegalArgumentException("Ledger epoch cannot be null.");
+        }
+        this.clock = clock;
+        this.epoch = epoch;
+    }
+
+    public synchronized void addLimit(RiskLimit limit) throws IllegalArgumentException {
+        if (limit == null) {
+            throw new IllegalArgumentException("Risk limit cannot be null.");
+        }
+        RiskLimit[] updated = Arrays.copyOf(limits, limits.length + 1);
+        updated[limits.length] = limit;
+        limits = updated;
+    }
+
     public void process(ITransaction transaction) throws InvalidBalanceException, IllegalArgumentException {
+        if (transaction == null) {
+            throw new IllegalArgumentException("Transaction to process cannot be null.");
+        }
+        executeWithinLimits(transaction);
+    }
+
+    // Books the transaction against every limit, then executes it; on any failure the booked usage is handed back
+    private void executeWithinLimits(ITransaction transaction) throws InvalidBalanceException, IllegalArgumentException {
+        RiskLimit[] active = limits;
+        if (active.length == 0) {
+            transaction.execute();
+            return;
+        }
+        long now = acquireLimits(active, transaction);
+        try {
+            transaction.execute();
+        } catch (RuntimeException e) {
+            releaseLimits(active, active.length, transaction, now);
+            throw e;
+        }
+    }
+
+    // For protocols that validate in one step and execute later (cross-shard transfers):
+    // books the transaction against every limit and returns the timestamp to release it with
+    long acquireLimits(ITransaction transaction) throws InvalidBalanceException {
+        return acquireLimits(limits, transaction);
+    }
+
+    void releaseLimits(ITransaction transaction, long acquiredAt) {
+        RiskLimit[] active = limits;
+        releaseLimits(active, active.length, transaction, acquiredAt);
+    }
+
+    // Executes a transaction whose limits were already booked through acquireLimits
+    void processPrevalidated(ITransaction transaction) throws InvalidBalanceException, IllegalArgumentException {
         if (transaction == null) {
             throw new IllegalArgumentException("Transaction to process cannot be null.");
         }
         transaction.execute();
     }
+
+    private long acquireLimits(RiskLimit[] active, ITransaction transaction) throws InvalidBalanceException {
+        long now = clock.getAsLong();
+        int acquired = 0;
+        try {
+            for (; acquired < active.length; acquired++) {
+                active[acquired].acquire(transaction, now);
+            }
+        } catch (RuntimeException e) {
+            releaseLimits(active, acquired, transaction, now);
+            throw e;
+        }
+        return now;
+    }
+
+    private static void releaseLimits(RiskLimit[] active, int acquired, ITransaction transaction, long now) {
+        for (int i = acquired - 1; i >= 0; i--) {
+            active[i].release(transaction, now);
+        }
+    }
+
+    // Applies a whole batch in one pass and reports a result per item instead of throwing.
+    // Every account in the batch is locked exactly once, in account-number order (transfers only ever
+    // hold one account lock at a time), so items are applied in submission order without per-item lock traffic.
+    public List<TransactionResult> processBatch(List<ITransaction> transactions) throws IllegalArgumentException {
+        if (transactions == null) {
+            throw new IllegalArgumentException("Transaction batch to process cannot be null.");
+        }
+        List<TransactionResult> results = new ArrayList<>(transactions.size());
+        // Every clock the batch touches, in the global order and before the account locks, so a snapshot boundary
+        // never lands inside the batch and a transfer to another bank never waits for its clock while holding ours
+        LedgerEpoch[] entered = LedgerEpoch.enterAll(epochsFor(transactions));
+        try {
+            List<ReentrantLock> locks = lockAccounts(transactions);
+            try {
+                for (ITransaction transaction : transactions) {
+                    results.add(apply(transaction));
+                }
+            } finally {
+                for (int i = locks.size() - 1; i >= 0; i--) {
+                    locks.get(i).unlock();
+                }
+            }
+        } finally {
+            LedgerEpoch.exitAll(entered);
+        }
+        return results;
+    }
+
+    // This processor's clock and the clock of every account the transactions touch, for LedgerEpoch.enterAll
+    LedgerEpoch[] epochsFor(List<ITransaction> transactions) {
+        List<LedgerEpoch> epochs = new ArrayList<>();
+        epochs.add(epoch);
+        for (ITransaction transaction : transactions) {
+            if (transaction != null) {
+                addEpochOf(epochs, transaction.getSourceAccount());
+                addEpochOf(epochs, transaction.getTargetAccount());
+            }
+        }
+        return epochs.toArray(new LedgerEpoch[0]);
+    }
+
+    private static void addEpochOf(List<LedgerEpoch> epochs, Account account) {
+        LedgerEpoch accountEpoch = account == null ? null : account.getLedgerEpoch();
+        if (accountEpoch != null && !epochs.contains(accountEpoch)) {
+            epochs.add(accountEpoch);
+        }
+    }
+
+    private TransactionResult apply(ITransaction transaction) {
+        if (transaction == null) {
+            return TransactionResult.failure(null, "Transaction to process cannot be null.", IllegalArgumentException.class);
+        }
+        long amountCents = transaction.getAmountCents();
+        if (amountCents <= 0) {
+            return TransactionResult.failure(transaction, "Transaction amount must be positive.", IllegalArgumentException.class);
+        }
+        // Validate against canWithdraw up front so rejected items never pay for an exception
+        Account source = transaction.getSourceAccount();
+        if (transaction.isSubjectToMinimumBalance() && !source.canWithdrawCents(amountCents)) {
+            return TransactionResult.failure(transaction, "Insufficient balance in account " + source.getAccountNumber() + ".");
+        }
+        try {
+            executeWithinLimits(transaction);
+            return TransactionResult.success(transaction);
+        } catch (InvalidBalanceException | IllegalArgumentException e) {
+            return TransactionResult.failure(transaction, e);
+        }
+    }
+
+    // Groups the batch by account and acquires each account lock once
+    private List<ReentrantLock> lockAccounts(List<ITransaction> transactions) {
+        TreeMap<String, Account> accountsByNumber = new TreeMap<>();
+        for (ITransaction transaction : transactions) {
+            if (transaction == null) {
+                continue;
+            }
+            Account source = transaction.getSourceAccount();
+            Account target = transaction.getTargetAccount();
+            if (source != null) {
+                accountsByNumber.putIfAbsent(source.getAccountNumber(), source);
+            }
+            if (target != null) {
+                accountsByNumber.putIfAbsent(target.getAccountNumber(), target);
+            }
+        }
+        List<ReentrantLock> locks = new ArrayList<>(accountsByNumber.size());
+        for (Account account : accountsByNumber.values()) {
+            account.getLock().lock();
+            locks.add(account.getLock());
+        }
+        return locks;
+    }
 }
@@ -0,0 +1,59 @@
+package com.gevernova.bankingsystem.model;
+
+import com.gevernova.bankingsystem.exceptionhandling.InvalidBalanceException;
+
+// Outcome of a single transaction, returned by the batch pipeline instead of throwing
+public class TransactionResult {
+    private final ITransaction transaction;
+    private final boolean success;
+    private final String failureReason;
+    private final Class<? extends RuntimeException> failureType; // What executing it threw (or would have thrown)
+
+    private TransactionResult(ITransaction transaction, boolean success, String failureReason, Class<? extends RuntimeException> failureType) {
+        this.transaction = transaction;
+        this.success = success;
+        this.failureReason = failureReason;
+        this.failureType = failureType;
+    }
+
+    public static TransactionResult success(ITransaction transaction) {
+        return new TransactionResult(transaction, true, null, null);
+    }
+
+    // A business rule rejected the transaction, e.g. insufficient funds
+    public static TransactionResult failure(ITransaction transaction, String failureReason) {
+        return failure(transaction, failureReason, InvalidBalanceException.class);
+    }
+
+    public static TransactionResult failure(ITransaction transaction, String failureReason, Class<? extends RuntimeException> failureType) {
+        return new TransactionResult(transaction, false, failureReason, failureType);
+    }
+
+    public static TransactionResult failure(ITransaction transaction, RuntimeException cause) {
+        return failure(transaction, cause.getMessage(), cause.getClass());
+    }
+
+    public ITransaction getTransaction() {
+        return transaction;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public String getFailureReason() {
+        return failureReason;
+    }
+
+    // Null for a success
+    public Class<? extends RuntimeException> getFailureType() {
+        return failureType;
+    }
+
+    @Override
+    public String toString() {
+        String type = transaction == null ? "UNKNOWN" : transaction.getTransactionType();
+        return success ? "TransactionResult [" + type + ", SUCCESS]"
+                : "TransactionResult [" + type + ", FAILED: " + failureReason + "]";
+    }
+}
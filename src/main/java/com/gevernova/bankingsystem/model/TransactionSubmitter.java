@@ -0,0 +1,128 @@
+package com.gevernova.bankingsystem.model;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+// Non-blocking transaction submission with one single-writer queue per account.
+// Each account gets a bounded queue that is drained by at most one virtual thread at a time, so work on the
+// same account runs strictly in submission order while different accounts proceed in parallel. A transaction
+// is routed to the queue of its source account (its target for deposits); the account locks still protect the
+// other leg of a transfer. When an account's queue is full the returned future fails with
+// RejectedExecutionException instead of blocking the caller, as it does once the submitter is closed.
+// A queue is dropped as soon as its account goes idle, so only accounts with pending work hold one.
+public class TransactionSubmitter implements AutoCloseable {
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+    private final int queueCapacity;
+    private final Function<ITransaction, TransactionResult> handler;
+    private final ExecutorService virtualThreads = Executors.newVirtualThreadPerTaskExecutor();
+    private final ConcurrentHashMap<String, AccountQueue> queues = new ConcurrentHashMap<>();
+
+    public TransactionSubmitter(int queueCapacity, Function<ITransaction, TransactionResult> handler) {
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("Queue capacity must be positive.");
+        }
+        if (handler == null) {
+            throw new IllegalArgumentException("Transaction handler cannot be null.");
+        }
+        this.queueCapacity = queueCapacity;
+        this.handler = handler;
+    }
+
+    public CompletableFuture<TransactionResult> submit(ITransaction transaction) {
+        if (transaction == null) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Transaction to submit cannot be null."));
+        }
+        Account owner = transaction.getSourceAccount() != null ? transaction.getSourceAccount() : transaction.getTargetAccount();
+        if (owner == null) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Transaction does not reference any account."));
+        }
+        CompletableFuture<TransactionResult> future = new CompletableFuture<>();
+        Runnable task = () -> {
+            try {
+                future.complete(handler.apply(transaction));
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        };
+        // Offered inside compute so an idle queue cannot be retired between lookup and offer
+        boolean[] accepted = new boolean[1];
+        AccountQueue queue = queues.compute(owner.getAccountNumber(), (number, current) -> {
+            AccountQueue target = current != null ? current : new AccountQueue(number);
+            accepted[0] = target.tasks.offer(task);
+            return target;
+        });
+        if (!accepted[0]) {
+            future.completeExceptionally(new RejectedExecutionException(
+                    "Submission queue for account " + owner.getAccountNumber() + " is full."));
+            return future;
+        }
+        try {
+            queue.scheduleDrain();
+        } catch (RejectedExecutionException e) {
+            // Closed: take the task back unless a drain that is still running already picked it up
+            if (queue.tasks.remove(task)) {
+                future.completeExceptionally(e);
+            }
+            queue.retireIfIdle();
+        }
+        return future;
+    }
+
+    // Accounts with queued or running work; idle accounts hold no queue
+    public int getActiveQueueCount() {
+        return queues.size();
+    }
+
+    @Override
+    public void close() {
+        virtualThreads.shutdown();
+        try {
+            virtualThreads.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private final class AccountQueue {
+        private final String accountNumber;
+        // Linked rather than array-backed: idle accounts should not pin a full-capacity array
+        private final BlockingQueue<Runnable> tasks = new LinkedBlockingQueue<>(queueCapacity);
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        AccountQueue(String accountNumber) {
+            this.accountNumber = accountNumber;
+        }
+
+        void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    virtualThreads.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    draining.set(false);
+                    throw e;
+                }
+            }
+        }
+
+        // Keeps draining on the same thread until the queue stays empty, so it never has to resubmit itself
+        private void drain() {
+            do {
+                Runnable task;
+                while ((task = tasks.poll()) != null) {
+                    task.run();
+                }
+                draining.set(false);
+                // A task may have been queued after the last poll but before the flag was cleared
+            } while (!tasks.isEmpty() && draining.compareAndSet(false, true));
+            retireIfIdle();
+        }
+
+        // Removes the queue from the map once nothing is queued or running; submit then starts a fresh one
+        void retireIfIdle() {
+            queues.computeIfPresent(accountNumber,
+                    (number, current) -> current == this && tasks.isEmpty() && !draining.get() ? null : current);
+        }
+    }
+}
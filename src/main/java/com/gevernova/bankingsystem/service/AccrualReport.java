@@ -0,0 +1,64 @@
+package com.gevernova.bankingsystem.service;
+
+import com.gevernova.bankingsystem.model.Money;
+
+// Summary of one month-end accrual run
+public class AccrualReport {
+    private final long accountsProcessed;
+    private final long interestPostings;
+    private final long interestCents;
+    private final long feePostings;
+    private final long feeCents;
+    private final long failedPostings;
+    private final long elapsedNanos;
+
+    public AccrualReport(long accountsProcessed, long interestPostings, long interestCents,
+                         long feePostings, long feeCents, long failedPostings, long elapsedNanos) {
+        this.accountsProcessed = accountsProcessed;
+        this.interestPostings = interestPostings;
+        this.interestCents = interestCents;
+        this.feePostings = feePostings;
+        this.feeCents = feeCents;
+        this.failedPostings = failedPostings;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getAccountsProcessed() {
+        return accountsProcessed;
+    }
+
+    public long getInterestPostings() {
+        return interestPostings;
+    }
+
+    public double getTotalInterest() {
+        return Money.toMajorUnits(interestCents);
+    }
+
+    public long getFeePostings() {
+        return feePostings;
+    }
+
+    public double getTotalFees() {
+        return Money.toMajorUnits(feeCents);
+    }
+
+    public long getFailedPostings() {
+        return failedPostings;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getAccountsPerSecond() {
+        return elapsedNanos == 0 ? 0 : accountsProcessed * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "AccrualReport [Accounts=" + accountsProcessed + ", Interest=" + interestPostings + " postings/" + getTotalInterest() +
+                ", Fees=" + feePostings + " postings/" + getTotalFees() + ", Failed=" + failedPostings +
+                ", Elapsed=" + elapsedNanos / 1_000_000 + " ms, Throughput=" + Math.round(getAccountsPerSecond()) + " accounts/s]";
+    }
+}
@@ -2,19 +2,33 @@
 package com.gevernova.bankingsystem.service;
 
 import com.gevernova.bankingsystem.model.Account;
+import com.gevernova.bankingsystem.model.AccountTransactionIndex;
+import com.gevernova.bankingsystem.model.ColumnarTransactionHistory;
 import com.gevernova.bankingsystem.exceptionhandling.InvalidBalanceException;
 import com.gevernova.bankingsystem.model.ITransaction;
+import com.gevernova.bankingsystem.model.TransactionJournal;
+import com.gevernova.bankingsystem.model.TransactionPage;
 import com.gevernova.bankingsystem.model.TransactionProcessor;
 
 import java.util.*;
 
 public class BankingServices {
     private final List<ITransaction> transactionHistory;
+    private final AccountTransactionIndex accountIndex; // Account number -> positions in transactionHistory
+    private final ColumnarTransactionHistory historyStore;
     private final TransactionProcessor transactionProcessor;
+    private final TransactionJournal journal; // Optional, null keeps the history on the heap only
 
     public BankingServices() {
+        this(null);
+    }
+
+    public BankingServices(TransactionJournal journal) {
         this.transactionHistory = new ArrayList<>();
+        this.accountIndex = new AccountTransactionIndex(transactionHistory);
+        this.historyStore = new ColumnarTransactionHistory();
         this.transactionProcessor = new TransactionProcessor();
+        this.journal = journal;
     }
 
     public void deposit(Account account, double amount) throws InvalidBalanceException {
@@ -22,7 +36,7 @@ public class BankingServices {
             DepositTransaction depositTransaction = new DepositTransaction(account, amount);
             // Delegate execution to TransactionProcessor, adhering to OCP
             transactionProcessor.process(depositTransaction);
-            transactionHistory.add(depositTransaction);
+            record(depositTransaction);
         } catch (InvalidBalanceException e) {
             System.err.println("Deposit failed: " + e.getMessage());
             throw e; // Re-throw the original exception
@@ -38,7 +52,7 @@ public class BankingServices {
             WithdrawalTransaction withdrawalTransaction = new WithdrawalTransaction(account, amount);
             // Delegate execution to TransactionProcessor, adhering to OCP
             transactionProcessor.process(withdrawalTransaction);
-            transactionHistory.add(withdrawalTransaction);
+            record(withdrawalTransaction);
         }  catch (InvalidBalanceException e) {
             System.err.println("Withdrawal failed: " + e.getMessage());
             throw e; // Re-throw the original exception
@@ -54,17 +68,41 @@ public class BankingServices {
             ITransaction transferTransaction = new TransferTransaction(fromAccount, toAccount, amount);
             //transferTransaction.execute(); we can just delegate execution to TransactionProcessor
             transactionProcessor.process(transferTransaction);
-            transactionHistory.add(transferTransaction);
+            record(transferTransaction);
         } catch (InvalidBalanceException e) {
             System.err.println("Transfer failed: " + e.getMessage());
             throw e;
         }
     }
 
+    private void record(ITransaction transaction) {
+        long now = System.currentTimeMillis();
+        accountIndex.add(transaction, transactionHistory.size());
+        transactionHistory.add(transaction);
+        historyStore.append(transaction, now);
+        if (journal != null) {
+            journal.append(transaction, now);
+        }
+    }
+
+    // Time-range queries (per account, per day) that scan primitive columns instead of copying the history
+    public ColumnarTransactionHistory getHistoryStore() {
+        return historyStore;
+    }
+
     public List<ITransaction> getTransactionHistory() {
         return new ArrayList<>(transactionHistory);
     }
 
+    public int getTransactionCount(String accountNumber) {
+        return accountIndex.count(accountNumber);
+    }
+
+    // Statement page for one account, oldest first. Costs the page size, not the size of the whole history
+    public TransactionPage getTransactionHistory(String accountNumber, int pageIndex, int pageSize) throws IllegalArgumentException {
+        return accountIndex.page(accountNumber, pageIndex, pageSize);
+    }
+
     public void printTransactionHistory() {
         System.out.println("\n=== Transaction History ===");
         for (ITransaction transaction : transactionHistory) {
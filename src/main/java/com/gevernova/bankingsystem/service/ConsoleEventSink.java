@@ -0,0 +1,18 @@
+package com.gevernova.bankingsystem.service;
+
+import com.gevernova.bankingsystem.model.BankingEventSink;
+
+// Synchronous console output, the module's historical behaviour
+public class ConsoleEventSink implements BankingEventSink {
+    public static final ConsoleEventSink INSTANCE = new ConsoleEventSink();
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public void publish(String message) {
+        System.out.println(message);
+    }
+}
@@ -0,0 +1,60 @@
+package com.gevernova.bankingsystem.service;
+
+import com.gevernova.bankingsystem.exceptionhandling.RiskLimitExceededException;
+import com.gevernova.bankingsystem.model.Account;
+import com.gevernova.bankingsystem.model.ITransaction;
+import com.gevernova.bankingsystem.model.Money;
+import com.gevernova.bankingsystem.model.RiskLimit;
+import com.gevernova.bankingsystem.model.SlidingWindowCounter;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+// Caps how much one account may transfer to one particular counterparty within a rolling window
+public class CounterpartyTransferLimit implements RiskLimit {
+    private static final int BUCKETS = 48;
+
+    private final long capCents;
+    private final long windowMillis;
+    // Source account number -> target account number -> window; nested so the hot path never builds a pair key
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, SlidingWindowCounter>> windows = new ConcurrentHashMap<>();
+
+    public CounterpartyTransferLimit(double cap, long windowMillis) throws IllegalArgumentException {
+        if (cap <= 0) {
+            throw new IllegalArgumentException("Counterparty transfer cap must be positive.");
+        }
+        if (windowMillis < BUCKETS) {
+            throw new IllegalArgumentException("Counterparty window must be at least " + BUCKETS + " milliseconds.");
+        }
+        this.capCents = Money.toMinorUnits(cap);
+        this.windowMillis = windowMillis;
+    }
+
+    @Override
+    public void acquire(ITransaction transaction, long nowMillis) throws RiskLimitExceededException {
+        Account source = transaction.getSourceAccount();
+        Account target = transaction.getTargetAccount();
+        if (source == null || target == null) {
+            return; // Only transfers have a counterparty
+        }
+        SlidingWindowCounter window = windows
+                .computeIfAbsent(source.getAccountNumber(), key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(target.getAccountNumber(), key -> new SlidingWindowCounter(windowMillis, BUCKETS));
+        if (!window.tryAdd(nowMillis, transaction.getAmountCents(), capCents)) {
+            throw new RiskLimitExceededException("Transfer limit of " + Money.toMajorUnits(capCents) + " from account " + source.getAccountNumber() + " to account " + target.getAccountNumber() + " exceeded.");
+        }
+    }
+
+    @Override
+    public void release(ITransaction transaction, long nowMillis) {
+        Account source = transaction.getSourceAccount();
+        Account target = transaction.getTargetAccount();
+        if (source == null || target == null) {
+            return;
+        }
+        ConcurrentHashMap<String, SlidingWindowCounter> byTarget = windows.get(source.getAccountNumber());
+        SlidingWindowCounter window = byTarget == null ? null : byTarget.get(target.getAccountNumber());
+        if (window != null) {
+            window.subtract(nowMillis, transaction.getAmountCents());
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.gevernova.bankingsystem.service;
+
+import com.gevernova.bankingsystem.exceptionhandling.RiskLimitExceededException;
+import com.gevernova.bankingsystem.model.Account;
+import com.gevernova.bankingsystem.model.ITransaction;
+import com.gevernova.bankingsystem.model.Money;
+import com.gevernova.bankingsystem.model.RiskLimit;
+import com.gevernova.bankingsystem.model.SlidingWindowCounter;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+// Caps the money leaving an account (withdrawals and outgoing transfers) over a rolling 24 hours
+public class DailyWithdrawalLimit implements RiskLimit {
+    private static final long WINDOW_MILLIS = 24L * 60 * 60 * 1000;
+    private static final int BUCKETS = 96; // 15-minute resolution
+
+    private final long capCents;
+    private final ConcurrentHashMap<String, SlidingWindowCounter> windows = new ConcurrentHashMap<>();
+
+    public DailyWithdrawalLimit(double cap) throws IllegalArgumentException {
+        if (cap <= 0) {
+            throw new IllegalArgumentException("Daily withdrawal cap must be positive.");
+        }
+        this.capCents = Money.toMinorUnits(cap);
+    }
+
+    @Override
+    public void acquire(ITransaction transaction, long nowMillis) throws RiskLimitExceededException {
+        if (!transaction.isSubjectToMinimumBalance()) {
+            return; // Deposits, interest and fees are not customer withdrawals
+        }
+        Account source = transaction.getSourceAccount();
+        SlidingWindowCounter window = windows.computeIfAbsent(source.getAccountNumber(), key -> new SlidingWindowCounter(WINDOW_MILLIS, BUCKETS));
+        if (!window.tryAdd(nowMillis, transaction.getAmountCents(), capCents)) {
+            throw new RiskLimitExceededException("Daily withdrawal limit of " + Money.toMajorUnits(capCents) + " exceeded for account " + source.getAccountNumber() + ".");
+        }
+    }
+
+    @Override
+    public void release(ITransaction transaction, long nowMillis) {
+        if (!transaction.isSubjectToMinimumBalance()) {
+            return;
+        }
+        SlidingWindowCounter window = windows.get(transaction.getSourceAccount().getAccountNumber());
+        if (window != null) {
+            window.subtract(nowMillis, transaction.getAmountCents());
+        }
+    }
+}
@@ -33,6 +33,11 @@ public class DepositTransaction implements ITransaction {
         return amount;
     }
 
+    @Override
+    public Account getTargetAccount() {
+        return account;
+    }
+
     @Override
     public String getDescription() {
         return "Deposit of " + amount + " to account " + account.getAccountNumber();
@@ -0,0 +1,55 @@
+package com.gevernova.bankingsystem.service;
+
+import com.gevernova.bankingsystem.exceptionhandling.InvalidBalanceException;
+import com.gevernova.bankingsystem.model.Account;
+import com.gevernova.bankingsystem.model.ITransaction;
+import com.gevernova.bankingsystem.model.Money;
+
+// Fee debited from an account by the month-end accrual run, e.g. for falling below the minimum balance
+public class FeeTransaction implements ITransaction {
+    private final Account account;
+    private final long amountCents;
+
+    public FeeTransaction(Account account, long amountCents) {
+        if (account == null) {
+            throw new IllegalArgumentException("Account cannot be null for fee transaction.");
+        }
+        this.account = account;
+        this.amountCents = amountCents;
+    }
+
+    @Override
+    public void execute() throws InvalidBalanceException, IllegalArgumentException {
+        account.chargeFeeCents(amountCents);
+    }
+
+    @Override
+    public String getTransactionType() {
+        return "FEE";
+    }
+
+    @Override
+    public double getAmount() {
+        return Money.toMajorUnits(amountCents);
+    }
+
+    @Override
+    public long getAmountCents() {
+        return amountCents;
+    }
+
+    @Override
+    public Account getSourceAccount() {
+        return account;
+    }
+
+    @Override
+    public boolean isSubjectToMinimumBalance() {
+        return false;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Fee of " + getAmount() + " from account " + account.getAccountNumber();
+    }
+}
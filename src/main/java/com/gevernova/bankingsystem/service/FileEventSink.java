@@ -0,0 +1,51 @@
+package com.gevernova.bankingsystem.service;
+
+import com.gevernova.bankingsystem.model.BankingEventSink;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.LongAdder;
+
+// Appends one line per message to a file through a buffered writer; call flush() or close() to persist.
+// A message that cannot be written is counted and dropped: publish runs inside balance updates and must not fail them
+public class FileEventSink implements BankingEventSink, AutoCloseable {
+    private final BufferedWriter writer;
+    private final LongAdder failed = new LongAdder();
+
+    public FileEventSink(Path file) throws IOException {
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public synchronized void publish(String message) {
+        try {
+            writer.write(message);
+            writer.newLine();
+        } catch (IOException e) {
+            failed.increment();
+        }
+    }
+
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    public synchronized void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,71 @@
+package com.gevernova.bankingsystem.service;
+
+import com.gevernova.bankingsystem.exceptionhandling.InvalidBalanceException;
+import com.gevernova.bankingsystem.model.Account;
+import com.gevernova.bankingsystem.model.ITransaction;
+
+// Tags any transaction with a client-chosen idempotency key, so a retried submission is applied only once
+public class IdempotentTransaction implements ITransaction {
+    private final String idempotencyKey;
+    private final ITransaction transaction;
+
+    public IdempotentTransaction(String idempotencyKey, ITransaction transaction) {
+        if (idempotencyKey == null || idempotencyKey.isEmpty()) {
+            throw new IllegalArgumentException("Idempotency key cannot be null or empty.");
+        }
+        if (transaction == null) {
+            throw new IllegalArgumentException("Transaction to tag cannot be null.");
+        }
+        this.idempotencyKey = idempotencyKey;
+        this.transaction = transaction;
+    }
+
+    public ITransaction getTransaction() {
+        return transaction;
+    }
+
+    @Override
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    @Override
+    public void execute() throws InvalidBalanceException, IllegalArgumentException {
+        transaction.execute();
+    }
+
+    @Override
+    public String getTransactionType() {
+        return transaction.getTransactionType();
+    }
+
+    @Override
+    public double getAmount() {
+        return transaction.getAmount();
+    }
+
+    @Override
+    public long getAmountCents() {
+        return transaction.getAmountCents();
+    }
+
+    @Override
+    public Account getSourceAccount() {
+        return transaction.getSourceAccount();
+    }
+
+    @Override
+    public Account getTargetAccount() {
+        return transaction.getTargetAccount();
+    }
+
+    @Override
+    public boolean isSubjectToMinimumBalance() {
+        return transaction.isSubjectToMinimumBalance();
+    }
+
+    @Override
+    public String getDescription() {
+        return transaction.getDescription() + " [key " + idempotencyKey + "]";
+    }
+}
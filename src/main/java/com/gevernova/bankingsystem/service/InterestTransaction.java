@@ -0,0 +1,50 @@
+package com.gevernova.bankingsystem.service;
+
+import com.gevernova.bankingsystem.exceptionhandling.InvalidBalanceException;
+import com.gevernova.bankingsystem.model.Account;
+import com.gevernova.bankingsystem.model.ITransaction;
+import com.gevernova.bankingsystem.model.Money;
+
+// Interest credited to an account by the month-end accrual run
+public class InterestTransaction implements ITransaction {
+    private final Account account;
+    private final long amountCents;
+
+    public InterestTransaction(Account account, long amountCents) {
+        if (account == null) {
+            throw new IllegalArgumentException("Account cannot be null for interest transaction.");
+        }
+        this.account = account;
+        this.amountCents = amountCents;
+    }
+
+    @Override
+    public void execute() throws InvalidBalanceException, IllegalArgumentException {
+        account.depositCents(amountCents);
+    }
+
+    @Override
+    public String getTransactionType() {
+        return "INTEREST";
+    }
+
+    @Override
+    public double getAmount() {
+        return Money.toMajorUnits(amountCents);
+    }
+
+    @Override
+    public long getAmountCents() {
+        return amountCents;
+    }
+
+    @Override
+    public Account getTargetAccount() {
+        return account;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Interest of " + getAmount() + " to account " + account.getAccountNumber();
+    }
+}
@@ -0,0 +1,121 @@
+package com.gevernova.bankingsystem.service;
+
+import com.gevernova.bankingsystem.model.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Month-end processing: credits interest to savings accounts and charges a fee to current accounts that are
+// below their minimum balance. The account set is split with fork/join; each leaf turns its slice into
+// InterestTransaction/FeeTransaction items and posts them to the bank as one batch.
+public class MonthEndAccrualEngine {
+    private static final int DEFAULT_BATCH_SIZE = 4096;
+    // Slots of the per-task totals array
+    private static final int INTEREST_COUNT = 0;
+    private static final int INTEREST_CENTS = 1;
+    private static final int FEE_COUNT = 2;
+    private static final int FEE_CENTS = 3;
+    private static final int FAILED = 4;
+
+    private final Bank bank;
+    private final double monthlyInterestRate;
+    private final long minimumBalanceFeeCents;
+    private final int batchSize;
+    private final ForkJoinPool pool;
+
+    public MonthEndAccrualEngine(Bank bank, double annualInterestRate, double minimumBalanceFee) {
+        this(bank, annualInterestRate, minimumBalanceFee, DEFAULT_BATCH_SIZE, ForkJoinPool.commonPool());
+    }
+
+    public MonthEndAccrualEngine(Bank bank, double annualInterestRate, double minimumBalanceFee, int batchSize, ForkJoinPool pool) {
+        if (bank == null || pool == null) {
+            throw new IllegalArgumentException("Bank and pool cannot be null.");
+        }
+        if (annualInterestRate < 0 || minimumBalanceFee < 0) {
+            throw new IllegalArgumentException("Interest rate and fee cannot be negative.");
+        }
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive.");
+        }
+        this.bank = bank;
+        this.monthlyInterestRate = annualInterestRate / 12;
+        this.minimumBalanceFeeCents = Money.toMinorUnits(minimumBalanceFee);
+        this.batchSize = batchSize;
+        this.pool = pool;
+    }
+
+    public AccrualReport run() {
+        long start = System.nanoTime();
+        Account[] accounts = bank.getAllAccounts().toArray(new Account[0]);
+        long[] totals = pool.invoke(new AccrualTask(accounts, 0, accounts.length));
+        return new AccrualReport(accounts.length, totals[INTEREST_COUNT], totals[INTEREST_CENTS],
+                totals[FEE_COUNT], totals[FEE_CENTS], totals[FAILED], System.nanoTime() - start);
+    }
+
+    // Interest or fee for one account, or null if nothing is due
+    ITransaction accrualFor(Account account) {
+        long balance = account.getBalanceCents();
+        if (account.getAccountType() == AccountType.SAVINGS) {
+            long interest = Math.round(balance * monthlyInterestRate);
+            return interest > 0 ? new InterestTransaction(account, interest) : null;
+        }
+        if (balance < account.getMinimumBalanceCents()) {
+            long fee = Math.min(minimumBalanceFeeCents, balance); // never push the balance below zero
+            return fee > 0 ? new FeeTransaction(account, fee) : null;
+        }
+        return null;
+    }
+
+    private final class AccrualTask extends RecursiveTask<long[]> {
+        private final Account[] accounts;
+        private final int from;
+        private final int to;
+
+        AccrualTask(Account[] accounts, int from, int to) {
+            this.accounts = accounts;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (to - from > batchSize) {
+                int mid = (from + to) >>> 1;
+                AccrualTask left = new AccrualTask(accounts, from, mid);
+                left.fork();
+                long[] right = new AccrualTask(accounts, mid, to).compute();
+                long[] totals = left.join();
+                for (int i = 0; i < totals.length; i++) {
+                    totals[i] += right[i];
+                }
+                return totals;
+            }
+            long[] totals = new long[5];
+            List<ITransaction> batch = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                ITransaction accrual = accrualFor(accounts[i]);
+                if (accrual != null) {
+                    batch.add(accrual);
+                }
+            }
+            if (batch.isEmpty()) {
+                return totals;
+            }
+            for (TransactionResult result : bank.executeBatch(batch)) {
+                ITransaction transaction = result.getTransaction();
+                if (!result.isSuccess()) {
+                    totals[FAILED]++;
+                } else if (transaction instanceof InterestTransaction) {
+                    totals[INTEREST_COUNT]++;
+                    totals[INTEREST_CENTS] += transaction.getAmountCents();
+                } else {
+                    totals[FEE_COUNT]++;
+                    totals[FEE_CENTS] += transaction.getAmountCents();
+                }
+            }
+            return totals;
+        }
+    }
+}
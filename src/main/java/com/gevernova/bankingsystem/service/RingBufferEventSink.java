@@ -0,0 +1,173 @@
+package com.gevernova.bankingsystem.service;
+
+import com.gevernova.bankingsystem.model.BankingEventSink;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// Asynchronous sink: producers claim a slot in a fixed-size ring with a single CAS and return immediately,
+// a background thread drains the ring into the delegate sink (console, file, ...).
+// When the ring is full the message is dropped and counted rather than blocking the transaction path.
+// An idle consumer parks until a producer unparks it; producers only pay for the unpark while it is parked.
+// Closing sets the top bit of tail in the same word producers claim from, so no claim can slip in behind the
+// final drain: every message published after close is counted as dropped.
+public class RingBufferEventSink implements BankingEventSink, AutoCloseable {
+    private static final int CLOSE_WAIT_PARKS = 100; // How long (x 100 us) close waits for a claimed slot to be written
+    private static final long CLOSED = Long.MIN_VALUE; // Set in tail once closed
+    private final BankingEventSink delegate;
+    private final AtomicReferenceArray<String> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong(); // next slot to claim, with the CLOSED bit
+    private volatile long head;                      // next slot to drain, only advanced by the consumer
+    private final LongAdder dropped = new LongAdder();
+    private final Thread consumer;
+    private final Queue<Thread> flushers = new ConcurrentLinkedQueue<>(); // Threads waiting in flush
+    private volatile boolean consumerParked;
+    private volatile boolean stopped; // The consumer has exited
+    private volatile boolean running = true;
+
+    public RingBufferEventSink(BankingEventSink delegate, int capacity) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Delegate sink cannot be null.");
+        }
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a positive power of two.");
+        }
+        this.delegate = delegate;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+        this.consumer = new Thread(this::drainLoop, "banking-event-sink");
+        this.consumer.setDaemon(true);
+        this.consumer.start();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return running;
+    }
+
+    @Override
+    public void publish(String message) {
+        while (true) {
+            long claim = tail.get();
+            if (claim < 0 || claim - head > mask) { // Closed, or full
+                dropped.increment();
+                return;
+            }
+            if (tail.compareAndSet(claim, claim + 1)) {
+                slots.set((int) (claim & mask), message);
+                if (consumerParked) { // Read after the slot write, pairing with the consumer's re-check before it parks
+                    LockSupport.unpark(consumer);
+                }
+                return;
+            }
+        }
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    // Waits until everything published so far has been handed to the delegate. The consumer unparks waiting
+    // flushers as it advances; an interrupted caller stops waiting and keeps its interrupt status
+    public void flush() {
+        long target = tail.get() & ~CLOSED;
+        if (head >= target) {
+            return;
+        }
+        Thread waiter = Thread.currentThread();
+        flushers.add(waiter);
+        try {
+            while (head < target && !stopped && !waiter.isInterrupted()) {
+                LockSupport.park(this);
+            }
+        } finally {
+            flushers.remove(waiter);
+        }
+    }
+
+    // Drains what was published and stops the consumer. If the calling thread is interrupted it stops waiting,
+    // keeps its interrupt status and leaves the (daemon) consumer to finish on its own
+    @Override
+    public void close() {
+        running = false;
+        tail.getAndUpdate(claimed -> claimed | CLOSED);
+        LockSupport.unpark(consumer);
+        try {
+            consumer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drainLoop() {
+        try {
+            int emptyParks = 0;
+            while (true) {
+                long next = head;
+                long claimed = tail.get();
+                boolean closing = claimed < 0;
+                if (next >= (claimed & ~CLOSED)) {
+                    if (closing) {
+                        return; // Nothing can be claimed any more and everything claimed is drained
+                    }
+                    awaitPublish(next);
+                    continue;
+                }
+                int slot = (int) (next & mask);
+                String message = slots.get(slot);
+                if (message == null) {
+                    // A producer has claimed the slot but not written it yet, and unparks us once it has. Once
+                    // closing, a slot that stays unwritten is skipped so close cannot hang on it
+                    if (!closing) {
+                        awaitPublish(next);
+                    } else if (++emptyParks > CLOSE_WAIT_PARKS) {
+                        head = next + 1;
+                        dropped.increment();
+                        emptyParks = 0;
+                    } else {
+                        LockSupport.parkNanos(100_000);
+                    }
+                    continue;
+                }
+                emptyParks = 0;
+                slots.set(slot, null);
+                try {
+                    delegate.publish(message);
+                } catch (RuntimeException e) {
+                    dropped.increment();
+                }
+                head = next + 1; // Only now is the slot free to claim, and the message handed over for flush
+                if (!flushers.isEmpty()) {
+                    wakeFlushers();
+                }
+            }
+        } finally {
+            stopped = true;
+            wakeFlushers();
+        }
+    }
+
+    // Parks until the slot is written or the sink closes. The flag is raised before the re-check, so a producer
+    // that wrote the slot before seeing it is caught by the re-check, and one that wrote after sees the flag
+    private void awaitPublish(long next) {
+        consumerParked = true;
+        try {
+            if (slots.get((int) (next & mask)) == null && tail.get() >= 0) {
+                LockSupport.park(this);
+            }
+        } finally {
+            consumerParked = false;
+        }
+    }
+
+    private void wakeFlushers() {
+        for (Thread flusher : flushers) {
+            LockSupport.unpark(flusher);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.gevernova.bankingsystem.service;
+
+import com.gevernova.bankingsystem.exceptionhandling.InvalidBalanceException;
+import com.gevernova.bankingsystem.model.Account;
+import com.gevernova.bankingsystem.model.ITransaction;
+import com.gevernova.bankingsystem.model.Money;
+import com.gevernova.bankingsystem.model.Reservation;
+
+// One side of a transfer whose accounts live on different shards. Each shard records only its own leg:
+// the debit commits a hold placed during prepare, the credit deposits into the target.
+// Both legs are typed TRANSFER, like a single-shard transfer, so journals, history queries and per-type metrics
+// treat cross-shard and single-shard transfers alike; each shard's counters see the leg booked on that shard.
+public class TransferLegTransaction implements ITransaction {
+    private final Account account;
+    private final Account counterparty;
+    private final long amountCents;
+    private final Reservation hold; // Null for the credit leg
+    private volatile boolean applied; // Set once the balance change has happened
+
+    private TransferLegTransaction(Account account, Account counterparty, long amountCents, Reservation hold) {
+        this.account = account;
+        this.counterparty = counterparty;
+        this.amountCents = amountCents;
+        this.hold = hold;
+    }
+
+    public static TransferLegTransaction debit(Reservation hold, Account counterparty) throws IllegalArgumentException {
+        if (hold == null) {
+            throw new IllegalArgumentException("Debit leg needs the hold placed during prepare.");
+        }
+        return new TransferLegTransaction(hold.getAccount(), counterparty, hold.getAmountCents(), hold);
+    }
+
+    public static TransferLegTransaction credit(Account target, Account counterparty, long amountCents) throws IllegalArgumentException {
+        if (target == null) {
+            throw new IllegalArgumentException("Credit leg needs a target account.");
+        }
+        return new TransferLegTransaction(target, counterparty, amountCents, null);
+    }
+
+    @Override
+    public void execute() throws InvalidBalanceException, IllegalArgumentException {
+        if (hold != null) {
+            hold.commit(); // Funds were checked and set aside when the hold was placed
+            applied = true;
+            return;
+        }
+        // The target lock is held across the deposit, so only the deposit itself can move the balance meanwhile:
+        // whatever the deposit throws, a changed balance means the credit landed
+        account.getLock().lock();
+        try {
+            long before = account.getBalanceCents();
+            try {
+                account.depositCents(amountCents);
+            } finally {
+                applied = account.getBalanceCents() != before;
+            }
+        } finally {
+            account.getLock().unlock();
+        }
+    }
+
+    // True once the leg has moved money, even if the call failed afterwards; a credit that is not applied left
+    // the target balance untouched
+    public boolean isApplied() {
+        return applied;
+    }
+
+    @Override
+    public String getTransactionType() {
+        return "TRANSFER";
+    }
+
+    @Override
+    public double getAmount() {
+        return Money.toMajorUnits(amountCents);
+    }
+
+    @Override
+    public long getAmountCents() {
+        return amountCents;
+    }
+
+    @Override
+    public Account getSourceAccount() {
+        return hold != null ? account : null;
+    }
+
+    @Override
+    public Account getTargetAccount() {
+        return hold != null ? null : account;
+    }
+
+    // The balance check happened against the hold, so the leg itself is never re-validated
+    @Override
+    public boolean isSubjectToMinimumBalance() {
+        return false;
+    }
+
+    @Override
+    public String getDescription() {
+        String counterpartyNumber = counterparty == null ? "unknown" : counterparty.getAccountNumber();
+        return hold != null
+                ? "Transfer out of " + getAmount() + " from account " + account.getAccountNumber() + " to account " + counterpartyNumber
+                : "Transfer in of " + getAmount() + " to account " + account.getAccountNumber() + " from account " + counterpartyNumber;
+    }
+}
@@ -3,7 +3,12 @@ package com.gevernova.bankingsystem.service;
 
 import com.gevernova.bankingsystem.exceptionhandling.InvalidBalanceException;
 import com.gevernova.bankingsystem.model.Account;
+import com.gevernova.bankingsystem.model.BankingEventLog;
+import com.gevernova.bankingsystem.model.BankingEventSink;
 import com.gevernova.bankingsystem.model.ITransaction;
+import com.gevernova.bankingsystem.model.LedgerEpoch;
+import com.gevernova.bankingsystem.model.Money;
+import com.gevernova.bankingsystem.model.Reservation;
 
 public class TransferTransaction implements ITransaction {
     private final Account fromAccount;
@@ -25,14 +30,37 @@ public class TransferTransaction implements ITransaction {
             throw new IllegalArgumentException("Transfer amount must be positive.");
         }
 
-        // Perform withdrawal from sender and deposit to recipient
-        // These will throw InvalidBalanceException if rules are violated (e.g., insufficient funds)
-        fromAccount.withdraw(amount);
-        toAccount.deposit(amount);
+        long amountCents = Money.toMinorUnits(amount);
+        // Both legs land in the same snapshot epoch of each account's bank (normally one and the same). The clocks
+        // are entered in the global order, so transfers in opposite directions between two banks cannot deadlock
+        // behind their snapshots; accounts not registered with a bank have no clock and are skipped
+        LedgerEpoch[] entered = LedgerEpoch.enterAll(fromAccount.getLedgerEpoch(), toAccount.getLedgerEpoch());
+        try {
+            // Phase one: reserve the funds on the source. Only the source lock is held, and only for the check
+            Reservation hold = fromAccount.placeHold(amountCents);
+            TransferLegTransaction credit = TransferLegTransaction.credit(toAccount, fromAccount, amountCents);
+            try {
+                // Phase two: credit the target under its own lock
+                credit.execute();
+            } finally {
+                // The hold never outlives the transfer: it is taken once the target has been credited, whatever
+                // was thrown afterwards, and handed back otherwise, whatever was thrown before the balance changed
+                if (credit.isApplied()) {
+                    hold.commit(); // Cannot fail, the funds have been set aside since phase one and event sinks never throw
+                } else {
+                    hold.release();
+                }
+            }
+        } finally {
+            LedgerEpoch.exitAll(entered);
+        }
 
-        System.out.println("Transferred " + amount + " from account " +
-                fromAccount.getAccountNumber() + " to account " +
-                toAccount.getAccountNumber());
+        BankingEventSink sink = BankingEventLog.getSink();
+        if (sink.isEnabled()) {
+            sink.publish("Transferred " + amount + " from account " +
+                    fromAccount.getAccountNumber() + " to account " +
+                    toAccount.getAccountNumber());
+        }
     }
 
     @Override
@@ -45,6 +73,16 @@ public class TransferTransaction implements ITransaction {
         return amount;
     }
 
+    @Override
+    public Account getSourceAccount() {
+        return fromAccount;
+    }
+
+    @Override
+    public Account getTargetAccount() {
+        return toAccount;
+    }
+
     @Override
     public String getDescription() {
         return "Transfer of " + amount + " from " + fromAccount.getAccountNumber() +
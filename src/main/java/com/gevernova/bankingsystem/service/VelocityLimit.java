@@ -0,0 +1,59 @@
+package com.gevernova.bankingsystem.service;
+
+import com.gevernova.bankingsystem.exceptionhandling.RiskLimitExceededException;
+import com.gevernova.bankingsystem.model.Account;
+import com.gevernova.bankingsystem.model.ITransaction;
+import com.gevernova.bankingsystem.model.RiskLimit;
+import com.gevernova.bankingsystem.model.SlidingWindowCounter;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+// At most maxTransactions per account within a rolling window, e.g. 20 per minute.
+// Counted against the source account, or the target when the transaction only credits
+public class VelocityLimit implements RiskLimit {
+    private static final int BUCKETS = 60;
+
+    private final int maxTransactions;
+    private final long windowMillis;
+    private final ConcurrentHashMap<String, SlidingWindowCounter> windows = new ConcurrentHashMap<>();
+
+    public VelocityLimit(int maxTransactions, long windowMillis) throws IllegalArgumentException {
+        if (maxTransactions <= 0) {
+            throw new IllegalArgumentException("Velocity limit must allow at least one transaction.");
+        }
+        if (windowMillis < BUCKETS) {
+            throw new IllegalArgumentException("Velocity window must be at least " + BUCKETS + " milliseconds.");
+        }
+        this.maxTransactions = maxTransactions;
+        this.windowMillis = windowMillis;
+    }
+
+    @Override
+    public void acquire(ITransaction transaction, long nowMillis) throws RiskLimitExceededException {
+        Account account = subject(transaction);
+        if (account == null) {
+            return;
+        }
+        SlidingWindowCounter window = windows.computeIfAbsent(account.getAccountNumber(), key -> new SlidingWindowCounter(windowMillis, BUCKETS));
+        if (!window.tryAdd(nowMillis, 1, maxTransactions)) {
+            throw new RiskLimitExceededException("Velocity limit of " + maxTransactions + " transactions per " + windowMillis + " ms exceeded for account " + account.getAccountNumber() + ".");
+        }
+    }
+
+    @Override
+    public void release(ITransaction transaction, long nowMillis) {
+        Account account = subject(transaction);
+        if (account == null) {
+            return;
+        }
+        SlidingWindowCounter window = windows.get(account.getAccountNumber());
+        if (window != null) {
+            window.subtract(nowMillis, 1);
+        }
+    }
+
+    private static Account subject(ITransaction transaction) {
+        Account source = transaction.getSourceAccount();
+        return source != null ? source : transaction.getTargetAccount();
+    }
+}
@@ -33,6 +33,11 @@ public class WithdrawalTransaction implements ITransaction {
         return amount;
     }
 
+    @Override
+    public Account getSourceAccount() {
+        return account;
+    }
+
     @Override
     public String getDescription() {
         return "Withdrawal of " + amount + " from account " + account.getAccountNumber();
@@ -1,26 +1,36 @@
 package com.gevernova.movingbookingsystem.model;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class Screen {
     private String id;
     private String name;
     private int capacity;
-    private List<Seat> seats; // Seats belonging to this screen
+    private int rows;
+    private int columns;
+    private List<Seat> seats; // Seats belonging to this screen, row by row; a seat's position is its dense index
+    private Map<String, Integer> seatIndexes; // Seat ID -> dense index
 
     public Screen(String id, String name, int rows, int cols) {
         this.id = id;
         this.name = name;
-        this.seats = new ArrayList<>();
+        this.seats = new ArrayList<>(rows * cols);
+        this.seatIndexes = new HashMap<>();
         this.capacity = rows * cols;
+        this.rows = rows;
+        this.columns = cols;
         initializeSeats(rows, cols);
     }
 
     private void initializeSeats(int rows, int cols) {
         for (char rowChar = 'A'; rowChar < ('A' + rows); rowChar++) {
             for (int colNum = 1; colNum <= cols; colNum++) {
-                seats.add(new Seat(rowChar + String.valueOf(colNum), String.valueOf(rowChar), colNum));
+                Seat seat = new Seat(rowChar + String.valueOf(colNum), String.valueOf(rowChar), colNum);
+                seatIndexes.put(seat.getId(), seats.size());
+                seats.add(seat);
             }
         }
     }
@@ -37,10 +47,33 @@ public class Screen {
         return capacity;
     }
 
+    public int getRows() {
+        return rows;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
     public List<Seat> getSeats() {
         return seats;
     }
 
+    // Dense index of the seat (row * columns + column), or -1 if the screen has no such seat
+    public int getSeatIndex(String seatId) {
+        Integer index = seatIndexes.get(seatId);
+        return index == null ? -1 : index;
+    }
+
+    public Seat getSeat(int index) {
+        return seats.get(index);
+    }
+
+    public Seat getSeatById(String seatId) {
+        int index = getSeatIndex(seatId);
+        return index < 0 ? null : seats.get(index);
+    }
+
     @Override
     public String toString() {
         return "Screen{" +
@@ -0,0 +1,457 @@
+package com.gevernova.movingbookingsystem.model;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+import java.util.function.Predicate;
+
+// Compact seat-state engine of one show: every seat is a 2-bit field packed into long words.
+// Each row starts on a word boundary (32 seats per word), so a hold within one row of up to 32 seats is a single CAS.
+// Holds spanning several words CAS the words in ascending order and undo the ones already applied if a later word
+// conflicts, so a multi-seat hold either takes every seat or none of them.
+// Seats are addressed by a dense index: row * columns + column (both 0-based).
+// Every successful hold gets its own id, carried by each of its seats, so a hold can later release exactly the
+// seats it still owns even if the same user has held some of them again since.
+//
+// Holds are lock-free and only ever move seats out of AVAILABLE. A hold first claims each seat's holder slot, and
+// only then CASes the words, so a HELD seat always has its holder; a claimed slot on an AVAILABLE seat belongs to
+// a hold in flight, which makes competing holds on that seat fail early. Every other transition (book, release,
+// cancel, setStatus) runs under the monitor, so a seat observed as HELD by a user cannot be released and re-held
+// by someone else between the holder check and the CAS. A hold that has to back out also takes the monitor and
+// only undoes seats that still carry its holder, so it never overwrites what one of those transitions did.
+// Available-seat counts per row and per show are adjusted after every successful CAS, so they can briefly trail
+// the words while a transition is in flight.
+public class SeatMap {
+    public static final long NO_HOLD = 0; // Hold id of seats that are not held, or were held through setStatus
+    static final int AVAILABLE = 0;
+    static final int HELD = 1;
+    static final int BOOKED = 2;
+    static final int SEATS_PER_WORD = 32;
+    private static final int BITS_PER_SEAT = 2;
+    private static final long FIELD_MASK = 0b11L;
+    private static final long LOW_BITS = 0x5555_5555_5555_5555L; // Low bit of every field
+    private static final SeatStatus.Status[] STATUSES = {SeatStatus.Status.AVAILABLE, SeatStatus.Status.HELD, SeatStatus.Status.BOOKED};
+
+    private final int rows;
+    private final int columns;
+    private final int wordsPerRow;
+    private final AtomicLongArray words;
+    private final AtomicReferenceArray<Holder> holders; // Hold on each seat: set while HELD, or claimed by a hold in flight
+    private final AtomicLong lastHoldId = new AtomicLong();
+    private final AtomicIntegerArray rowAvailable;
+    private final AtomicInteger available;
+
+    // The user holding a seat and the hold that took it
+    private static final class Holder {
+        private final String userId;
+        private final long holdId;
+
+        private Holder(String userId, long holdId) {
+            this.userId = userId;
+            this.holdId = holdId;
+        }
+    }
+
+    public SeatMap(int rows, int columns) {
+        if (rows <= 0 || columns <= 0) {
+            throw new IllegalArgumentException("Seat map needs at least one row and one column.");
+        }
+        this.rows = rows;
+        this.columns = columns;
+        this.wordsPerRow = (columns + SEATS_PER_WORD - 1) / SEATS_PER_WORD;
+        this.words = new AtomicLongArray(rows * wordsPerRow);
+        this.holders = new AtomicReferenceArray<>(rows * columns);
+        this.rowAvailable = new AtomicIntegerArray(rows);
+        for (int row = 0; row < rows; row++) {
+            rowAvailable.set(row, columns);
+        }
+        this.available = new AtomicInteger(rows * columns);
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getCapacity() {
+        return rows * columns;
+    }
+
+    public int getAvailableCount() {
+        return available.get();
+    }
+
+    public int getAvailableCount(int row) {
+        if (row < 0 || row >= rows) {
+            throw new IllegalArgumentException("Row " + row + " is outside the seat map.");
+        }
+        return rowAvailable.get(row);
+    }
+
+    public int indexOf(int row, int column) {
+        if (row < 0 || row >= rows || column < 0 || column >= columns) {
+            throw new IllegalArgumentException("Seat at row " + row + ", column " + column + " is outside the seat map.");
+        }
+        return row * columns + column;
+    }
+
+    public SeatStatus.Status getStatus(int seat) {
+        checkSeat(seat);
+        return STATUSES[code(words.get(wordOf(seat)), seat)];
+    }
+
+    public String getHolder(int seat) {
+        Holder holder = heldBy(seat);
+        return holder == null ? null : holder.userId;
+    }
+
+    // Id of the hold the seat is HELD under, or NO_HOLD
+    public long getHoldId(int seat) {
+        Holder holder = heldBy(seat);
+        return holder == null ? NO_HOLD : holder.holdId;
+    }
+
+    // Claims of holds still in flight are not reported
+    private Holder heldBy(int seat) {
+        checkSeat(seat);
+        Holder holder = holders.get(seat);
+        return holder != null && getStatus(seat) == SeatStatus.Status.HELD ? holder : null;
+    }
+
+    // Marks every seat HELD by the user, or none of them if any seat is not AVAILABLE
+    public boolean tryHold(int[] seats, String userId) {
+        return placeHold(seats, userId) != NO_HOLD;
+    }
+
+    // Like tryHold, returning the id of the new hold, or NO_HOLD if no seat was held
+    public long placeHold(int[] seats, String userId) {
+        if (userId == null) {
+            throw new IllegalArgumentException("User ID cannot be null.");
+        }
+        int[] sorted = sortedSeats(seats);
+        Holder holder = new Holder(userId, lastHoldId.incrementAndGet());
+        int claimed = 0;
+        while (claimed < sorted.length && holders.compareAndSet(sorted[claimed], null, holder)) {
+            claimed++;
+        }
+        if (claimed == sorted.length && transition(sorted, null, HELD, holder)) {
+            return holder.holdId;
+        }
+        for (int i = 0; i < claimed; i++) {
+            holders.compareAndSet(sorted[i], holder, null); // Unless a monitored transition has replaced it since
+        }
+        return NO_HOLD;
+    }
+
+    // Marks every seat BOOKED, or none of them if any seat is booked or held by someone other than the user
+    public boolean tryBook(int[] seats, String userId) {
+        return tryBook(seats, userId, null);
+    }
+
+    // Like tryBook, also handing the id of every hold a booked seat was taken from to convertedHolds
+    // (once per seat, so a hold may be reported more than once)
+    public synchronized boolean tryBook(int[] seats, String userId, LongConsumer convertedHolds) {
+        int[] sorted = sortedSeats(seats);
+        if (!transition(sorted, userId, BOOKED, null)) {
+            return false;
+        }
+        for (int seat : sorted) {
+            Holder previous = holders.getAndSet(seat, null);
+            if (previous != null && previous.holdId != NO_HOLD && convertedHolds != null) {
+                convertedHolds.accept(previous.holdId);
+            }
+        }
+        return true;
+    }
+
+    // Returns the seats still HELD by the user to AVAILABLE and reports how many were released
+    public int release(int[] seats, String userId) {
+        return releaseWhere(seats, holder -> userId != null && userId.equals(holder.userId));
+    }
+
+    // Returns the seats still HELD under the given hold to AVAILABLE and reports how many were released.
+    // Seats the hold lost and that were held again since, even by the same user, are left alone
+    public int releaseHold(int[] seats, long holdId) {
+        return releaseWhere(seats, holder -> holdId != NO_HOLD && holder.holdId == holdId);
+    }
+
+    private synchronized int releaseWhere(int[] seats, Predicate<Holder> matches) {
+        int released = 0;
+        for (int seat : seats) {
+            checkSeat(seat);
+            Holder holder = holders.get(seat);
+            if (holder != null && matches.test(holder) && getStatus(seat) == SeatStatus.Status.HELD) {
+                holders.set(seat, null); // Cleared first: once AVAILABLE, the seat can be re-held at any time
+                setCode(seat, AVAILABLE);
+                released++;
+            }
+        }
+        return released;
+    }
+
+    // Returns a BOOKED seat to AVAILABLE
+    public synchronized boolean cancel(int seat) {
+        checkSeat(seat);
+        if (getStatus(seat) != SeatStatus.Status.BOOKED) {
+            return false;
+        }
+        setCode(seat, AVAILABLE);
+        return true;
+    }
+
+    // Unconditional update, for callers that manage seat state themselves. Keeps the holder invariant against a
+    // concurrent hold: the holder is set before a seat becomes HELD, and cleared only after it stopped being HELD
+    // and only if it is the one that was there; the claim of a hold in flight on an AVAILABLE seat is left alone
+    public synchronized void setStatus(int seat, SeatStatus.Status status, String userId) {
+        checkSeat(seat);
+        if (status == SeatStatus.Status.HELD) {
+            holders.set(seat, new Holder(userId, NO_HOLD));
+            setCode(seat, HELD);
+            return;
+        }
+        Holder previous = holders.get(seat);
+        if (setCode(seat, status.ordinal()) == HELD && previous != null) {
+            holders.compareAndSet(seat, previous, null);
+        }
+    }
+
+    // Start index of the best run of n adjacent AVAILABLE seats within one row, or -1 if there is none.
+    // Rows are tried from the middle outwards (the row further back first on ties), and within a row the run closest
+    // to the centre wins. Rows whose available count is below n are skipped without reading their words.
+    public int findBestContiguous(int n) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("Number of seats must be positive.");
+        }
+        if (n > columns) {
+            return -1;
+        }
+        int middle = rows / 2;
+        for (int step = 0; step < 2 * rows; step++) {
+            int row = middle + ((step & 1) == 1 ? (step + 1) / 2 : -(step / 2));
+            if (row < 0 || row >= rows || rowAvailable.get(row) < n) {
+                continue;
+            }
+            long[] runs = freeColumns(row);
+            keepRunStarts(runs, n);
+            int best = -1;
+            long bestDistance = Long.MAX_VALUE;
+            for (int i = 0; i < runs.length; i++) {
+                for (long bits = runs[i]; bits != 0; bits &= bits - 1) {
+                    int column = i * 64 + Long.numberOfTrailingZeros(bits);
+                    long distance = Math.abs(2L * column + n - columns); // Twice the offset of the run's centre
+                    if (distance < bestDistance) {
+                        bestDistance = distance;
+                        best = column;
+                    }
+                }
+            }
+            if (best >= 0) {
+                return row * columns + best;
+            }
+        }
+        return -1;
+    }
+
+    // Visits the index of every AVAILABLE seat in seat order
+    public void forEachAvailable(IntConsumer consumer) {
+        for (int row = 0; row < rows; row++) {
+            if (rowAvailable.get(row) == 0) {
+                continue;
+            }
+            long[] free = freeColumns(row);
+            for (int i = 0; i < free.length; i++) {
+                for (long bits = free[i]; bits != 0; bits &= bits - 1) {
+                    consumer.accept(row * columns + i * 64 + Long.numberOfTrailingZeros(bits));
+                }
+            }
+        }
+    }
+
+    // Bit c is set iff column c of the row is AVAILABLE, 64 columns per element
+    private long[] freeColumns(int row) {
+        long[] free = new long[(columns + 63) / 64 + 1]; // Spare element for padding of the last word
+        for (int w = 0; w < wordsPerRow; w++) {
+            long word = words.get(row * wordsPerRow + w);
+            long seats = Long.compress(~(word | (word >>> 1)), LOW_BITS); // One bit per field, 32 seats
+            int base = w * SEATS_PER_WORD;
+            free[base >>> 6] |= seats << (base & 63);
+        }
+        int last = columns >>> 6;
+        free[last] &= (1L << (columns & 63)) - 1; // Padding columns look AVAILABLE, clear them
+        for (int i = last + 1; i < free.length; i++) {
+            free[i] = 0L;
+        }
+        return free;
+    }
+
+    // Leaves bit c set iff bits c .. c + n - 1 were all set, in log2(n) shift-and steps
+    private static void keepRunStarts(long[] bits, int n) {
+        int span = 1;
+        while (span < n) {
+            int shift = Math.min(span, n - span);
+            for (int i = 0; i < bits.length; i++) {
+                bits[i] &= bitsAt(bits, i * 64 + shift); // Only reads elements not yet updated in this pass
+            }
+            span += shift;
+        }
+    }
+
+    // The 64 bits starting at the given position
+    private static long bitsAt(long[] bits, int position) {
+        int i = position >>> 6;
+        int offset = position & 63;
+        long low = i < bits.length ? bits[i] >>> offset : 0L;
+        long high = offset == 0 || i + 1 >= bits.length ? 0L : bits[i + 1] << (64 - offset);
+        return low | high;
+    }
+
+    // Moves every seat to the target state, one CAS per word, in ascending word order.
+    // A seat qualifies if it is AVAILABLE, or HELD by the given user when one is given.
+    // If any word does not qualify, the seats already changed are put back: a hold (owner given) undoes its own
+    // seats under the monitor, a monitored transition puts the words back to their previous fields.
+    private boolean transition(int[] sorted, String userId, int target, Holder owner) {
+        int groups = 0;
+        int[] groupWords = new int[sorted.length];
+        long[] groupMasks = new long[sorted.length];
+        long[] previousFields = new long[sorted.length];
+        int i = 0;
+        while (i < sorted.length) {
+            int word = wordOf(sorted[i]);
+            long mask = 0L;
+            long targetFields = 0L;
+            int end = i;
+            for (; end < sorted.length && wordOf(sorted[end]) == word; end++) {
+                int shift = shiftOf(sorted[end]);
+                mask |= FIELD_MASK << shift;
+                targetFields |= (long) target << shift;
+            }
+            long current;
+            do {
+                current = words.get(word);
+                if (!qualifies(current, sorted, i, end, userId)) {
+                    if (owner != null) {
+                        undoHold(sorted, i, owner);
+                    } else {
+                        rollback(groupWords, groupMasks, previousFields, groups);
+                    }
+                    return false;
+                }
+            } while (!words.compareAndSet(word, current, (current & ~mask) | targetFields));
+            adjustAvailable(word, current, (current & ~mask) | targetFields);
+            groupWords[groups] = word;
+            groupMasks[groups] = mask;
+            previousFields[groups] = current & mask;
+            groups++;
+            i = end;
+        }
+        return true;
+    }
+
+    private boolean qualifies(long word, int[] sorted, int from, int to, String userId) {
+        for (int i = from; i < to; i++) {
+            int code = code(word, sorted[i]);
+            if (code == AVAILABLE) {
+                continue;
+            }
+            Holder holder = holders.get(sorted[i]);
+            if (code != HELD || userId == null || holder == null || !userId.equals(holder.userId)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Only for transitions under the monitor: the fields being undone were set by this transition, and holds only
+    // ever take AVAILABLE seats, so nothing else can have changed them meanwhile
+    private void rollback(int[] groupWords, long[] groupMasks, long[] previousFields, int groups) {
+        for (int g = groups - 1; g >= 0; g--) {
+            long current;
+            long restored;
+            do {
+                current = words.get(groupWords[g]);
+                restored = (current & ~groupMasks[g]) | previousFields[g];
+            } while (!words.compareAndSet(groupWords[g], current, restored));
+            adjustAvailable(groupWords[g], current, restored);
+        }
+    }
+
+    // Returns the first applied seats of a failed hold to AVAILABLE. Under the monitor nothing else moves these
+    // seats meanwhile; a seat that lost the hold's holder was changed by a monitored transition and is left as it is
+    private synchronized void undoHold(int[] sorted, int applied, Holder owner) {
+        for (int i = 0; i < applied; i++) {
+            int seat = sorted[i];
+            if (holders.get(seat) == owner && getStatus(seat) == SeatStatus.Status.HELD) {
+                setCode(seat, AVAILABLE);
+            }
+        }
+    }
+
+    // Returns the previous code of the seat
+    private int setCode(int seat, int code) {
+        int word = wordOf(seat);
+        int shift = shiftOf(seat);
+        long current;
+        long updated;
+        do {
+            current = words.get(word);
+            updated = (current & ~(FIELD_MASK << shift)) | ((long) code << shift);
+        } while (!words.compareAndSet(word, current, updated));
+        adjustAvailable(word, current, updated);
+        return code(current, seat);
+    }
+
+    // Every word belongs to exactly one row, so a CAS only ever moves that row's count
+    private void adjustAvailable(int word, long before, long after) {
+        int change = occupied(before) - occupied(after);
+        if (change != 0) {
+            rowAvailable.addAndGet(word / wordsPerRow, change);
+            available.addAndGet(change);
+        }
+    }
+
+    // Fields that are not AVAILABLE (either bit set); padding fields stay 0
+    private static int occupied(long word) {
+        return Long.bitCount((word | (word >>> 1)) & LOW_BITS);
+    }
+
+    private int[] sortedSeats(int[] seats) {
+        if (seats == null || seats.length == 0) {
+            throw new IllegalArgumentException("At least one seat is required.");
+        }
+        int[] sorted = seats.clone();
+        Arrays.sort(sorted);
+        for (int i = 0; i < sorted.length; i++) {
+            checkSeat(sorted[i]);
+            if (i > 0 && sorted[i] == sorted[i - 1]) {
+                throw new IllegalArgumentException("Seat index " + sorted[i] + " is requested more than once.");
+            }
+        }
+        return sorted;
+    }
+
+    private int code(long word, int seat) {
+        return (int) ((word >>> shiftOf(seat)) & FIELD_MASK);
+    }
+
+    private int wordOf(int seat) {
+        return (seat / columns) * wordsPerRow + (seat % columns) / SEATS_PER_WORD;
+    }
+
+    private int shiftOf(int seat) {
+        return ((seat % columns) % SEATS_PER_WORD) * BITS_PER_SEAT;
+    }
+
+    private void checkSeat(int seat) {
+        if (seat < 0 || seat >= rows * columns) {
+            throw new IllegalArgumentException("Seat index " + seat + " is outside the seat map.");
+        }
+    }
+}
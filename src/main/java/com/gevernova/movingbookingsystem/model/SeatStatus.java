@@ -1,46 +1,58 @@
 package com.gevernova.movingbookingsystem.model;
 
+// View of one seat's state inside a show's SeatMap; reads and writes go straight to the packed state
 public class SeatStatus {
     public enum Status {
-        AVAILABLE, HELD, BOOKED
+        AVAILABLE, HELD, BOOKED // Ordinals are the 2-bit codes stored in SeatMap
     }
 
     private Seat seat;
-    private Status status;
-    private String heldByUserId; // Null if not held
+    private SeatMap seatMap;
+    private int index;
 
+    // Stand-alone seat status, backed by its own one-seat map
     public SeatStatus(Seat seat, Status status) {
+        this(seat, new SeatMap(1, 1), 0);
+        seatMap.setStatus(0, status, null);
+    }
+
+    public SeatStatus(Seat seat, SeatMap seatMap, int index) {
         this.seat = seat;
-        this.status = status;
-        this.heldByUserId = null;
+        this.seatMap = seatMap;
+        this.index = index;
     }
 
     public Seat getSeat() {
         return seat;
     }
 
+    public int getIndex() {
+        return index;
+    }
+
     public Status getStatus() {
-        return status;
+        return seatMap.getStatus(index);
     }
 
     public void setStatus(Status status) {
-        this.status = status;
+        seatMap.setStatus(index, status, status == Status.HELD ? seatMap.getHolder(index) : null);
     }
 
     public String getHeldByUserId() {
-        return heldByUserId;
+        return seatMap.getHolder(index);
     }
 
     public void setHeldByUserId(String heldByUserId) {
-        this.heldByUserId = heldByUserId;
+        seatMap.setStatus(index, seatMap.getStatus(index), heldByUserId);
     }
 
     @Override
     public String toString() {
+        String heldByUserId = getHeldByUserId();
         return "SeatStatus{" +
                 "seatId=" + seat.getId() +
-                ", status=" + status +
+                ", status=" + getStatus() +
                 ", heldByUserId='" + (heldByUserId != null ? heldByUserId : "N/A") + '\'' +
                 '}';
     }
-}
\ No newline at end of file
+}
@@ -1,7 +1,7 @@
 package com.gevernova.movingbookingsystem.model;
 
 import java.util.Date;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 public class Show {
@@ -10,8 +10,8 @@ public class Show {
     private Multiplex multiplex; // Association with Multiplex
     private Screen screen; // Association with Screen
     private Date showTime;
-    // Map to store seat status for this specific show (Seat ID -> SeatStatus)
-    private Map<String, SeatStatus> seatStatuses;
+    // Packed seat state for this specific show, indexed like the screen's seat directory
+    private SeatMap seatMap;
 
     public Show(String id, Movie movie, Multiplex multiplex, Screen screen, Date showTime) {
         this.id = id;
@@ -19,11 +19,7 @@ public class Show {
         this.multiplex = multiplex;
         this.screen = screen;
         this.showTime = showTime;
-        this.seatStatuses = new HashMap<>();
-        // Initialize all seats in the screen as AVAILABLE for this show
-        for (Seat seat : screen.getSeats()) {
-            seatStatuses.put(seat.getId(), new SeatStatus(seat, SeatStatus.Status.AVAILABLE));
-        }
+        this.seatMap = new SeatMap(screen.getRows(), screen.getColumns()); // All seats start AVAILABLE
     }
 
     public String getId() {
@@ -46,23 +42,33 @@ public class Show {
         return showTime;
     }
 
+    public SeatMap getSeatMap() {
+        return seatMap;
+    }
+
+    // Views of every seat, in seat order; built on each call
     public Map<String, SeatStatus> getSeatStatuses() {
+        Map<String, SeatStatus> seatStatuses = new LinkedHashMap<>();
+        for (int index = 0; index < seatMap.getCapacity(); index++) {
+            SeatStatus seatStatus = getSeatStatus(index);
+            seatStatuses.put(seatStatus.getSeat().getId(), seatStatus);
+        }
         return seatStatuses;
     }
 
     public SeatStatus getSeatStatus(String seatId) {
-        return seatStatuses.get(seatId);
+        int index = screen.getSeatIndex(seatId);
+        return index < 0 ? null : getSeatStatus(index);
+    }
+
+    public SeatStatus getSeatStatus(int index) {
+        return new SeatStatus(screen.getSeat(index), seatMap, index);
     }
 
     public void updateSeatStatus(String seatId, SeatStatus.Status newStatus, String userId) {
-        SeatStatus currentSeatStatus = seatStatuses.get(seatId);
-        if (currentSeatStatus != null) {
-            currentSeatStatus.setStatus(newStatus);
-            if (newStatus == SeatStatus.Status.HELD) {
-                currentSeatStatus.setHeldByUserId(userId);
-            } else {
-                currentSeatStatus.setHeldByUserId(null); // Clear held status if not held
-            }
+        int index = screen.getSeatIndex(seatId);
+        if (index >= 0) {
+            seatMap.setStatus(index, newStatus, userId); // Held status is cleared if not held
         }
     }
 
@@ -3,9 +3,12 @@ package com.gevernova.movingbookingsystem.services;
 import com.gevernova.movingbookingsystem.model.*;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
 import java.util.stream.Collectors;
 
 public class BookingService {
@@ -14,21 +17,79 @@ public class BookingService {
     private TicketService ticketService;
     private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
     private static final long HOLD_DURATION_SECONDS = 300; // 5 minutes
+    private static final long HOLD_TICK_MILLIS = 1000; // Granularity of hold expiry
+
+    private final LongSupplier clock;
+    // Every hold waits in one timing wheel, advanced by a single periodic task that releases expired holds in batches
+    private final TimingWheel<SeatHold> holdExpiry;
+    private final Map<Long, TimingWheel.Timeout<SeatHold>> pendingHolds = new ConcurrentHashMap<>(); // Hold id -> its expiry
+    private final AtomicBoolean expiryTickerStarted = new AtomicBoolean();
+
+    // A hold waiting for expiry
+    private static final class SeatHold {
+        private final Show show;
+        private final int[] seatIndexes;
+        private final long holdId; // Id the SeatMap gave the hold
+
+        private SeatHold(Show show, int[] seatIndexes, long holdId) {
+            this.show = show;
+            this.seatIndexes = seatIndexes;
+            this.holdId = holdId;
+        }
+
+        private boolean isStillHeld() {
+            for (int seat : seatIndexes) {
+                if (show.getSeatMap().getHoldId(seat) == holdId) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
 
     public BookingService(ShowSchedulingService showSchedulingService, UserService userService) {
+        this(showSchedulingService, userService, null, System::currentTimeMillis); // Tickets are not recorded without a TicketService
+    }
+
+    public BookingService(ShowSchedulingService showSchedulingService, UserService userService, TicketService ticketService) {
+        this(showSchedulingService, userService, ticketService, System::currentTimeMillis);
+    }
+
+    public BookingService(ShowSchedulingService showSchedulingService, UserService userService, TicketService ticketService, LongSupplier clock) {
+        if (clock == null) {
+            throw new IllegalArgumentException("Clock cannot be null.");
+        }
         this.showSchedulingService = showSchedulingService;
         this.userService = userService;
+        this.ticketService = ticketService;
+        this.clock = clock;
+        this.holdExpiry = new TimingWheel<>(HOLD_TICK_MILLIS, clock.getAsLong());
     }
 
     // Get available seats for a show
     public List<SeatStatus> getAvailableSeats(String showId) {
-        Show show = showSchedulingService.getShowById(showId);
-        if (show == null) {
-            throw new IllegalArgumentException("Show with ID " + showId + " not found.");
+        Show show = getShow(showId);
+        List<SeatStatus> availableSeats = new ArrayList<>(show.getSeatMap().getAvailableCount());
+        show.getSeatMap().forEachAvailable(index -> availableSeats.add(show.getSeatStatus(index)));
+        return availableSeats;
+    }
+
+    public int getAvailableSeatCount(String showId) {
+        return getShow(showId).getSeatMap().getAvailableCount();
+    }
+
+    // Best block of adjacent available seats in one row (see SeatMap.findBestContiguous), or an empty list
+    public List<Seat> findBestAvailableSeats(String showId, int count) {
+        Show show = getShow(showId);
+        int start = show.getSeatMap().findBestContiguous(count);
+        if (start < 0) {
+            return Collections.emptyList();
+        }
+        List<Seat> seats = new ArrayList<>(count);
+        for (int index = start; index < start + count; index++) {
+            seats.add(show.getScreen().getSeat(index));
         }
-        return show.getSeatStatuses().values().stream()
-                .filter(ss -> ss.getStatus() == SeatStatus.Status.AVAILABLE)
-                .collect(Collectors.toList());
+        return seats;
     }
 
     // Hold seats for a user (temporary reservation)
@@ -43,32 +104,23 @@ public class BookingService {
             throw new IllegalArgumentException("User with ID " + userId + " not found.");
         }
 
-        List<SeatStatus> heldStatuses = new ArrayList<>();
-        for (String seatId : seatIds) {
-            SeatStatus seatStatus = show.getSeatStatus(seatId);
-            if (seatStatus == null) {
-                throw new IllegalArgumentException("Seat " + seatId + " not found in show " + showId + ".");
-            }
-            if (seatStatus.getStatus() != SeatStatus.Status.AVAILABLE) {
-                throw new IllegalStateException("Seat " + seatId + " is not available. Current status: " + seatStatus.getStatus());
+        List<SeatStatus> heldStatuses = resolveSeats(show, seatIds);
+        int[] seatIndexes = indexesOf(heldStatuses);
+        // All seats are held in one step, or none of them
+        long holdId = show.getSeatMap().placeHold(seatIndexes, userId);
+        if (holdId == SeatMap.NO_HOLD) {
+            for (SeatStatus seatStatus : heldStatuses) {
+                if (seatStatus.getStatus() != SeatStatus.Status.AVAILABLE) {
+                    throw new IllegalStateException("Seat " + seatStatus.getSeat().getId() + " is not available. Current status: " + seatStatus.getStatus());
+                }
             }
-            // Mark as HELD by user
-            show.updateSeatStatus(seatId, SeatStatus.Status.HELD, userId);
-            heldStatuses.add(seatStatus);
+            throw new IllegalStateException("Seats " + seatIds + " are no longer available.");
         }
 
         System.out.println("Seats " + seatIds + " held for " + user.getUsername() + " for show " + show.getId());
 
-        // Schedule a task to release held seats if not booked within HOLD_DURATION_SECONDS
-        scheduler.schedule(() -> {
-            for (String seatId : seatIds) {
-                SeatStatus seatStatus = show.getSeatStatus(seatId);
-                if (seatStatus != null && seatStatus.getStatus() == SeatStatus.Status.HELD && userId.equals(seatStatus.getHeldByUserId())) {
-                    show.updateSeatStatus(seatId, SeatStatus.Status.AVAILABLE, null);
-                    System.out.println("Held seat " + seatId + " released for show " + show.getId() + " due to timeout.");
-                }
-            }
-        }, HOLD_DURATION_SECONDS, TimeUnit.SECONDS);
+        // Release held seats if not booked within HOLD_DURATION_SECONDS
+        scheduleExpiry(new SeatHold(show, seatIndexes, holdId));
 
         return heldStatuses;
     }
@@ -88,15 +140,13 @@ public class BookingService {
             throw new IllegalArgumentException("Invalid payment details.");
         }
 
+        List<SeatStatus> seatStatuses = resolveSeats(show, seatIds);
         List<Ticket> newTickets = new ArrayList<>();
         double totalPrice = 0; // Assuming a fixed price per ticket for simplicity, or dynamic pricing
         double ticketPrice = 120.0; // Example price
 
-        for (String seatId : seatIds) {
-            SeatStatus seatStatus = show.getSeatStatus(seatId);
-            if (seatStatus == null) {
-                throw new IllegalArgumentException("Seat " + seatId + " not found in show " + showId + ".");
-            }
+        for (SeatStatus seatStatus : seatStatuses) {
+            String seatId = seatStatus.getSeat().getId();
             // Seats must be either AVAILABLE or HELD by the current user
             if (seatStatus.getStatus() == SeatStatus.Status.BOOKED) {
                 throw new IllegalStateException("Seat " + seatId + " is already booked.");
@@ -110,28 +160,40 @@ public class BookingService {
         }
 
 
+        // Seats are claimed before any payment is taken, so a booking that loses a race for a seat never charges the user.
+        // Another user may have taken an unheld seat since the checks above; the booking is then rejected as a whole
+        int[] seatIndexes = indexesOf(seatStatuses);
+        List<Long> convertedHolds = new ArrayList<>();
+        if (!show.getSeatMap().tryBook(seatIndexes, userName, convertedHolds::add)) {
+            throw new IllegalStateException("Seats " + seatIds + " were taken by another user during booking.");
+        }
+
         // Process payment () SINGLE RESPONSIBILITY PAYMENT SERVICES taking care or payment
         PaymentService paymentService = new PaymentService();
-        boolean paymentSuccessful=paymentService.processPayment(paymentDetails, paymentDetails.getAmount(),totalPrice);
-
-        if (paymentSuccessful) {
-            for (String seatId : seatIds) {
-                Seat seat = show.getScreen().getSeats().stream()
-                        .filter(s -> s.getId().equals(seatId))
-                        .findFirst()
-                        .orElseThrow(() -> new IllegalStateException("Seat object not found for ID: " + seatId));
-
-                show.updateSeatStatus(seatId, SeatStatus.Status.BOOKED, null); // Mark as BOOKED, clear held status
-                String ticketId = IDGenerator.generateUniqueId("TKT");
-                Ticket ticket = new Ticket(ticketId, user, show, seat, ticketPrice);
-                ticketService.addTicket(ticket);
-                newTickets.add(ticket);
+        boolean paymentSuccessful = false;
+        try {
+            paymentSuccessful = paymentService.processPayment(paymentDetails, paymentDetails.getAmount(), totalPrice);
+        } finally {
+            if (!paymentSuccessful) {
+                for (int seat : seatIndexes) {
+                    show.getSeatMap().cancel(seat); // No ticket exists yet, so the claimed seats go straight back
+                }
             }
-            System.out.println("Booking successful for user " + user.getUsername() + ". Tickets: " + newTickets.stream().map(Ticket::getId).collect(Collectors.joining(", ")));
-            return newTickets;
-        } else {
+        }
+        cancelConvertedHolds(convertedHolds);
+        if (!paymentSuccessful) {
             throw new IllegalStateException("Payment failed for booking.");
         }
+
+        for (SeatStatus seatStatus : seatStatuses) {
+            Seat seat = seatStatus.getSeat();
+            String ticketId = IDGenerator.generateUniqueId("TKT");
+            Ticket ticket = new Ticket(ticketId, user, show, seat, ticketPrice);
+            ticketService.addTicket(ticket);
+            newTickets.add(ticket);
+        }
+        System.out.println("Booking successful for user " + user.getUsername() + ". Tickets: " + newTickets.stream().map(Ticket::getId).collect(Collectors.joining(", ")));
+        return newTickets;
     }
 
     // Cancel a ticket
@@ -146,9 +208,85 @@ public class BookingService {
         Seat seat = ticket.getSeat();
 
         // Update seat status back to AVAILABLE
-        show.updateSeatStatus(seat.getId(), SeatStatus.Status.AVAILABLE, null);
+        int seatIndex = show.getScreen().getSeatIndex(seat.getId());
+        if (seatIndex >= 0) {
+            show.getSeatMap().cancel(seatIndex);
+        }
         ticketService.removeTicket(ticketId);
         System.out.println("Ticket " + ticketId + " cancelled. Seat " + seat.getId() + " is now available for show " + show.getId());
         return true;
     }
-}
\ No newline at end of file
+
+    // Releases every hold whose deadline has passed and returns the number of seats freed.
+    // Runs once per tick on the scheduler; callers may also invoke it directly.
+    public int expireHolds() {
+        List<SeatHold> expired = holdExpiry.advanceTo(clock.getAsLong());
+        int released = 0;
+        for (SeatHold hold : expired) {
+            pendingHolds.remove(hold.holdId);
+            released += hold.show.getSeatMap().releaseHold(hold.seatIndexes, hold.holdId);
+        }
+        if (released > 0) {
+            System.out.println(released + " held seat(s) released due to timeout.");
+        }
+        return released;
+    }
+
+    // Holds still waiting for expiry
+    public int getPendingHoldCount() {
+        return holdExpiry.size();
+    }
+
+    private void scheduleExpiry(SeatHold hold) {
+        if (expiryTickerStarted.compareAndSet(false, true)) {
+            scheduler.scheduleAtFixedRate(this::expireHolds, HOLD_TICK_MILLIS, HOLD_TICK_MILLIS, TimeUnit.MILLISECONDS);
+        }
+        TimingWheel.Timeout<SeatHold> timeout = holdExpiry.schedule(hold, clock.getAsLong() + TimeUnit.SECONDS.toMillis(HOLD_DURATION_SECONDS));
+        pendingHolds.put(hold.holdId, timeout);
+    }
+
+    // Takes the holds a booking converted out of the wheel, each by its own handle. A hold the booking took only
+    // part of keeps its expiry for the seats it still carries
+    private void cancelConvertedHolds(List<Long> holdIds) {
+        for (long holdId : holdIds) {
+            pendingHolds.computeIfPresent(holdId, (id, timeout) -> {
+                if (timeout.getPayload().isStillHeld()) {
+                    return timeout;
+                }
+                holdExpiry.cancel(timeout);
+                return null;
+            });
+        }
+    }
+
+    private Show getShow(String showId) {
+        Show show = showSchedulingService.getShowById(showId);
+        if (show == null) {
+            throw new IllegalArgumentException("Show with ID " + showId + " not found.");
+        }
+        return show;
+    }
+
+    private static List<SeatStatus> resolveSeats(Show show, List<String> seatIds) {
+        if (seatIds == null || seatIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one seat must be selected.");
+        }
+        List<SeatStatus> seatStatuses = new ArrayList<>(seatIds.size());
+        for (String seatId : seatIds) {
+            SeatStatus seatStatus = show.getSeatStatus(seatId);
+            if (seatStatus == null) {
+                throw new IllegalArgumentException("Seat " + seatId + " not found in show " + show.getId() + ".");
+            }
+            seatStatuses.add(seatStatus);
+        }
+        return seatStatuses;
+    }
+
+    private static int[] indexesOf(List<SeatStatus> seatStatuses) {
+        int[] indexes = new int[seatStatuses.size()];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = seatStatuses.get(i).getIndex();
+        }
+        return indexes;
+    }
+}
@@ -3,20 +3,28 @@ package com.gevernova.movingbookingsystem.services;
 
 import com.gevernova.movingbookingsystem.model.*;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 public class ShowSchedulingService {
     private Map<String, Show> shows; // Show ID -> Show
+    // Interval index per screen ("multiplexId|screenId" -> start time -> show and its end). Shows on one screen never
+    // overlap, so ordering them by start also orders them by end, and each lookup only needs the neighbours of a time.
+    // The end is fixed when the show is scheduled: movies stay editable, and a later change must not reorder the index.
+    private Map<String, TreeMap<Long, ScheduledShow>> showsByScreen;
     private CategoryService movieCatalogService; // Dependency
     private MovieService movieService; // This was being re-initialized
     private MultiplexManagementService multiplexManagementService; // Dependency
 
     public ShowSchedulingService(MovieService movieService, MultiplexManagementService multiplexManagementService) {
         this.shows = new HashMap<>();
+        this.showsByScreen = new HashMap<>();
         this.movieService = movieService; // Use the injected MovieService instance
         this.multiplexManagementService = multiplexManagementService;
     }
@@ -37,24 +45,17 @@ public class ShowSchedulingService {
             throw new IllegalArgumentException("Screen with ID " + screenId + " not found in multiplex " + multiplexId + ".");
         }
 
-        // Basic check for overlapping shows on the same screen (can be more robust)
-        boolean overlap = shows.values().stream()
-                .filter(s -> s.getScreen().getId().equals(screenId) && s.getMultiplex().getId().equals(multiplexId))
-                .anyMatch(s -> {
-                    long existingShowStart = s.getShowTime().getTime();
-                    long existingShowEnd = existingShowStart + s.getMovie().getDurationMinutes() * 60 * 1000;
-                    long newShowStart = showTime.getTime();
-                    long newShowEnd = newShowStart + movie.getDurationMinutes() * 60 * 1000;
-                    return (newShowStart < existingShowEnd && newShowEnd > existingShowStart);
-                });
-
-        if (overlap) {
+        TreeMap<Long, ScheduledShow> screenShows = showsByScreen.computeIfAbsent(screenKey(multiplexId, screenId), key -> new TreeMap<>());
+        long newShowStart = showTime.getTime();
+        long newShowEnd = endOf(newShowStart, movie);
+        if (overlaps(screenShows, newShowStart, newShowEnd)) {
             throw new IllegalArgumentException("Show overlaps with an existing show on screen  at " + multiplex.getName() + ".");
         }
 
         String id = IDGenerator.generateUniqueId("SHW");
         Show newShow = new Show(id, movie, multiplex, screen, showTime);
         shows.put(id, newShow);
+        screenShows.put(newShowStart, new ScheduledShow(newShow, newShowEnd));
         System.out.println("Show scheduled: " + movie.getTitle() + " at " + multiplex.getName() + " (" + screen.getName() + ") on " + showTime);
         return newShow;
     }
@@ -63,6 +64,55 @@ public class ShowSchedulingService {
         return shows.get(showId);
     }
 
+    // Shows on the screen that are running at any time in [from, to), ordered by start time
+    public List<Show> getShowsOnScreen(String multiplexId, String screenId, Date from, Date to) {
+        List<Show> playing = new ArrayList<>();
+        TreeMap<Long, ScheduledShow> screenShows = showsByScreen.get(screenKey(multiplexId, screenId));
+        if (screenShows == null || !from.before(to)) {
+            return playing;
+        }
+        long start = from.getTime();
+        // The last show starting at or before 'from' is the only earlier one that can still be running
+        Long firstKey = screenShows.floorKey(start);
+        NavigableMap<Long, ScheduledShow> candidates = firstKey == null
+                ? screenShows.headMap(to.getTime(), false)
+                : screenShows.subMap(firstKey, true, to.getTime(), false);
+        for (Map.Entry<Long, ScheduledShow> entry : candidates.entrySet()) {
+            if (entry.getValue().endMillis > start || entry.getKey() >= start) {
+                playing.add(entry.getValue().show);
+            }
+        }
+        return playing;
+    }
+
+    // Only the neighbours of the new start can overlap it: the last show starting at or before it, and the first after it
+    private static boolean overlaps(TreeMap<Long, ScheduledShow> screenShows, long start, long end) {
+        Map.Entry<Long, ScheduledShow> before = screenShows.floorEntry(start);
+        if (before != null && (before.getKey() == start || before.getValue().endMillis > start)) {
+            return true; // Equal starts always clash: the index holds one show per start time
+        }
+        Map.Entry<Long, ScheduledShow> after = screenShows.higherEntry(start);
+        return after != null && after.getKey() < end;
+    }
+
+    private static long endOf(long start, Movie movie) {
+        return start + movie.getDurationMinutes() * 60 * 1000L;
+    }
+
+    private static final class ScheduledShow {
+        final Show show;
+        final long endMillis;
+
+        ScheduledShow(Show show, long endMillis) {
+            this.show = show;
+            this.endMillis = endMillis;
+        }
+    }
+
+    private static String screenKey(String multiplexId, String screenId) {
+        return multiplexId + "|" + screenId;
+    }
+
     public List<Show> getShowsByMovieId(String movieId) {
         return shows.values().stream()
                 .filter(show -> show.getMovie().getId().equals(movieId))
@@ -0,0 +1,149 @@
+package com.gevernova.movingbookingsystem.services;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Hierarchical timing wheel: LEVELS wheels of SLOTS slots, level n covering SLOTS^(n+1) ticks.
+// A timeout is placed in the lowest level whose span reaches its deadline and moves down a level (cascades) as
+// time approaches it. Every slot is a circular doubly linked list, so scheduling and cancelling are O(1), and each
+// tick hands back all timeouts of one slot as a single batch.
+// Not tied to a thread: the owner calls advanceTo with the current time, usually from one periodic task.
+public class TimingWheel<T> {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final long MAX_SPAN = 1L << (SLOT_BITS * LEVELS); // Farther deadlines wait in the top level
+
+    // Handle of one scheduled payload
+    public static final class Timeout<T> {
+        private final T payload;
+        private final long deadlineTick;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+
+        private Timeout(T payload, long deadlineTick) {
+            this.payload = payload;
+            this.deadlineTick = deadlineTick;
+        }
+
+        public T getPayload() {
+            return payload;
+        }
+
+        // Still waiting in the wheel: neither expired nor cancelled
+        public boolean isPending() {
+            return next != null;
+        }
+    }
+
+    private final long tickMillis;
+    private final long originMillis;
+    private final Timeout<T>[][] slots; // Sentinel of each slot list
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings({"unchecked", "rawtypes"}) // A Timeout<T>[][] cannot be created directly
+    public TimingWheel(long tickMillis, long originMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick duration must be positive.");
+        }
+        this.tickMillis = tickMillis;
+        this.originMillis = originMillis;
+        this.slots = new Timeout[LEVELS][SLOTS];
+        for (Timeout<T>[] level : slots) {
+            for (int i = 0; i < SLOTS; i++) {
+                Timeout<T> sentinel = new Timeout<>(null, 0);
+                sentinel.prev = sentinel;
+                sentinel.next = sentinel;
+                level[i] = sentinel;
+            }
+        }
+    }
+
+    public long getTickMillis() {
+        return tickMillis;
+    }
+
+    // Schedules the payload to expire on the first tick at or after the deadline (and never on the current tick)
+    public synchronized Timeout<T> schedule(T payload, long deadlineMillis) {
+        long deadlineTick = Math.max(currentTick + 1, Math.ceilDiv(deadlineMillis - originMillis, tickMillis));
+        Timeout<T> timeout = new Timeout<>(payload, deadlineTick);
+        place(timeout);
+        size++;
+        return timeout;
+    }
+
+    // Returns false if the timeout already expired or was cancelled
+    public synchronized boolean cancel(Timeout<T> timeout) {
+        if (timeout == null || !timeout.isPending()) {
+            return false;
+        }
+        unlink(timeout);
+        size--;
+        return true;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    // Runs every tick up to the given time and returns the payloads that expired, in deadline order
+    public synchronized List<T> advanceTo(long nowMillis) {
+        long targetTick = Math.floorDiv(nowMillis - originMillis, tickMillis);
+        List<T> expired = new ArrayList<>();
+        while (currentTick < targetTick) {
+            if (size == 0) {
+                currentTick = targetTick; // Nothing to cascade or expire on the way
+                break;
+            }
+            currentTick++;
+            cascade();
+            Timeout<T> sentinel = slots[0][(int) (currentTick & SLOT_MASK)];
+            while (sentinel.next != sentinel) {
+                Timeout<T> timeout = sentinel.next;
+                unlink(timeout);
+                size--;
+                expired.add(timeout.payload);
+            }
+        }
+        return expired;
+    }
+
+    // On a level boundary, re-places the timeouts of the higher-level slot that starts at the current tick
+    private void cascade() {
+        for (int level = LEVELS - 1; level > 0; level--) {
+            int shift = SLOT_BITS * level;
+            if ((currentTick & ((1L << shift) - 1)) != 0) {
+                continue;
+            }
+            Timeout<T> sentinel = slots[level][(int) ((currentTick >>> shift) & SLOT_MASK)];
+            while (sentinel.next != sentinel) {
+                Timeout<T> timeout = sentinel.next;
+                unlink(timeout);
+                place(timeout);
+            }
+        }
+    }
+
+    private void place(Timeout<T> timeout) {
+        long tick = Math.min(timeout.deadlineTick, currentTick + MAX_SPAN - 1);
+        long delta = tick - currentTick;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        Timeout<T> sentinel = slots[level][(int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK)];
+        timeout.prev = sentinel.prev;
+        timeout.next = sentinel;
+        sentinel.prev.next = timeout;
+        sentinel.prev = timeout;
+    }
+
+    private void unlink(Timeout<T> timeout) {
+        timeout.prev.next = timeout.next;
+        timeout.next.prev = timeout.prev;
+        timeout.prev = null;
+        timeout.next = null;
+    }
+}
@@ -0,0 +1,51 @@
+package banksystemBenchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import java.util.concurrent.TimeUnit;
+
+import com.gevernova.bankingsystem.model.*;
+import com.gevernova.bankingsystem.service.*;
+
+// Allocation check for the minor-unit deposit/withdraw path with the no-op event sink. Run with -prof gc:
+// gc.alloc.rate.norm should report ~0 B/op for every benchmark in this class.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccountHotPathBenchmark {
+    private Account savingsAccount;
+    private Account currentAccount;
+
+    @Setup
+    public void setUp() {
+        BankingEventLog.setSink(NoOpEventSink.INSTANCE);
+        savingsAccount = new SavingsAccount("Benchmark Savings", 1_000_000.0);
+        currentAccount = new CurrentAccount("Benchmark Current", 1_000_000.0);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BankingEventLog.setSink(ConsoleEventSink.INSTANCE);
+    }
+
+    @Benchmark
+    public long depositThenWithdrawCents() {
+        savingsAccount.depositCents(1_25);
+        savingsAccount.withdrawCents(1_25);
+        return savingsAccount.getBalanceCents();
+    }
+
+    @Benchmark
+    public long depositThenWithdrawMajorUnits() {
+        currentAccount.deposit(1.25);
+        currentAccount.withdraw(1.25);
+        return currentAccount.getBalanceCents();
+    }
+
+    @Benchmark
+    public boolean canWithdraw() {
+        return currentAccount.canWithdrawCents(500_00);
+    }
+}
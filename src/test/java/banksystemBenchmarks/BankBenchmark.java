@@ -0,0 +1,81 @@
+package banksystemBenchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import com.gevernova.bankingsystem.model.*;
+import com.gevernova.bankingsystem.service.*;
+
+// Baseline for the banking hot paths. The bank is shared by all benchmark threads, so running with
+// several threads (-t, or BankingBenchmarkRunner for a sweep) measures contention as well as raw cost.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BankBenchmark {
+    @Param({"1000", "100000"})
+    public int accountCount;
+
+    // Console event sink (writing to a discarded stream) versus the no-op sink
+    @Param({"false", "true"})
+    public boolean logging;
+
+    private Bank bank;
+    private Account[] accounts;
+    private String[] accountNumbers;
+    private TransactionProcessor processor;
+    private PrintStream originalOut;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        BankingEventLog.setSink(logging ? ConsoleEventSink.INSTANCE : NoOpEventSink.INSTANCE);
+        bank = new Bank();
+        processor = new TransactionProcessor();
+        accounts = new Account[accountCount];
+        accountNumbers = new String[accountCount];
+        for (int i = 0; i < accountCount; i++) {
+            accounts[i] = new SavingsAccount("Benchmark " + i, 1_000_000_000.0);
+            accountNumbers[i] = accounts[i].getAccountNumber();
+            bank.addAccount(accounts[i]);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BankingEventLog.setSink(ConsoleEventSink.INSTANCE);
+        System.setOut(originalOut);
+    }
+
+    private int randomIndex() {
+        return ThreadLocalRandom.current().nextInt(accountCount);
+    }
+
+    @Benchmark
+    public void performDeposit() {
+        bank.performDeposit(accountNumbers[randomIndex()], 1.0);
+    }
+
+    @Benchmark
+    public void performTransfer() {
+        int from = randomIndex();
+        int to = randomIndex();
+        bank.performTransfer(accountNumbers[from], accountNumbers[to], 1.0);
+    }
+
+    @Benchmark
+    public void processDeposit() {
+        processor.process(new DepositTransaction(accounts[randomIndex()], 1.0));
+    }
+
+    @Benchmark
+    public Account getAccount() {
+        return bank.getAccount(accountNumbers[randomIndex()]);
+    }
+}
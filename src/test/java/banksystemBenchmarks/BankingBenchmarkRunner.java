@@ -0,0 +1,23 @@
+package banksystemBenchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Runs BankBenchmark once per thread count with the allocation profiler attached.
+// Usage: -Djmh.main=banksystemBenchmarks.BankingBenchmarkRunner -Djmh.args="1,2,4,8"
+public class BankingBenchmarkRunner {
+    public static void main(String[] args) throws RunnerException {
+        String threadCounts = args.length > 0 ? args[0] : "1,2,4,8";
+        for (String threads : threadCounts.split(",")) {
+            Options options = new OptionsBuilder()
+                    .include("\\." + BankBenchmark.class.getSimpleName() + "\\.") // Not ShardedBankBenchmark
+                    .threads(Integer.parseInt(threads.trim()))
+                    .addProfiler(GCProfiler.class)
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package banksystemBenchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import java.util.concurrent.TimeUnit;
+
+import com.gevernova.bankingsystem.model.*;
+import com.gevernova.bankingsystem.service.*;
+
+// Per-transaction cost of the inline risk limits: the same withdrawal through a processor with and without
+// the daily, velocity and counterparty limits. The difference should stay well under a microsecond.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RiskLimitBenchmark {
+    private TransactionProcessor unlimited;
+    private TransactionProcessor limited;
+    private ITransaction withdrawal;
+    private ITransaction deposit;
+
+    @Setup
+    public void setUp() {
+        BankingEventLog.setSink(NoOpEventSink.INSTANCE);
+        Account account = new SavingsAccount("Benchmark", 1_000_000.0);
+        withdrawal = new WithdrawalTransaction(account, 1.25);
+        deposit = new DepositTransaction(account, 1.25);
+        unlimited = new TransactionProcessor();
+        limited = new TransactionProcessor();
+        // Caps high enough never to trip, so every call takes the full acquire path
+        limited.addLimit(new DailyWithdrawalLimit(1e12));
+        limited.addLimit(new VelocityLimit(Integer.MAX_VALUE, 60_000));
+        limited.addLimit(new CounterpartyTransferLimit(1e12, 60_000));
+    }
+
+    @TearDown
+    public void tearDown() {
+        BankingEventLog.setSink(ConsoleEventSink.INSTANCE);
+    }
+
+    @Benchmark
+    public void withoutLimits() {
+        unlimited.process(withdrawal);
+        unlimited.process(deposit);
+    }
+
+    @Benchmark
+    public void withLimits() {
+        limited.process(withdrawal);
+        limited.process(deposit);
+    }
+}
@@ -0,0 +1,51 @@
+package banksystemBenchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import com.gevernova.bankingsystem.model.*;
+import com.gevernova.bankingsystem.service.*;
+
+// Transfer throughput of a ShardedBank as the shard count grows, with eight threads hitting random account pairs.
+// Each shard has its own registry and history, so the shared per-bank structures stop being the ceiling.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class ShardedBankBenchmark {
+    private static final int ACCOUNT_COUNT = 10_000;
+
+    @Param({"1", "2", "4", "8"})
+    public int shardCount;
+
+    private ShardedBank bank;
+    private String[] accountNumbers;
+
+    @Setup
+    public void setUp() {
+        BankingEventLog.setSink(NoOpEventSink.INSTANCE);
+        bank = new ShardedBank(shardCount);
+        accountNumbers = new String[ACCOUNT_COUNT];
+        for (int i = 0; i < ACCOUNT_COUNT; i++) {
+            Account account = new SavingsAccount("Holder " + i, 1_000_000.0);
+            bank.addAccount(account);
+            accountNumbers[i] = account.getAccountNumber();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        bank.shutdown();
+        BankingEventLog.setSink(ConsoleEventSink.INSTANCE);
+    }
+
+    @Benchmark
+    public void transfer() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        bank.performTransfer(accountNumbers[random.nextInt(ACCOUNT_COUNT)], accountNumbers[random.nextInt(ACCOUNT_COUNT)], 0.01);
+    }
+}
@@ -0,0 +1,78 @@
+package banksystemTests;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+
+import com.gevernova.bankingsystem.model.*;
+
+public class AccountNumberAllocatorTest {
+
+    @Test
+    @DisplayName("Account numbers are zero-padded to six digits")
+    public void testZeroPadding() {
+        String number = AccountNumberAllocator.nextAccountNumber();
+        assertTrue(number.length() >= 6);
+        assertEquals(String.format("%06d", Integer.parseInt(number)), number);
+    }
+
+    @Test
+    @DisplayName("Numbers allocated by one thread are strictly increasing")
+    public void testMonotonicWithinThread() {
+        int previous = Integer.parseInt(AccountNumberAllocator.nextAccountNumber());
+        for (int i = 0; i < 500; i++) {
+            int next = Integer.parseInt(AccountNumberAllocator.nextAccountNumber());
+            assertTrue(next > previous);
+            previous = next;
+        }
+    }
+
+    @Test
+    @DisplayName("Concurrent onboarding never hands out the same number twice")
+    public void testUniqueAcrossThreads() throws Exception {
+        int threads = 8;
+        int perThread = 5000;
+        Set<String> seen = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < perThread; i++) {
+                    assertTrue(seen.add(AccountNumberAllocator.nextAccountNumber()));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+        assertEquals(threads * perThread, seen.size());
+    }
+
+    @Test
+    @DisplayName("Accounts created concurrently get distinct account numbers")
+    public void testConcurrentAccountCreation() throws Exception {
+        Set<String> numbers = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    numbers.add(new CurrentAccount("Bulk import", 0.0).getAccountNumber());
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+        assertEquals(4000, numbers.size());
+    }
+}
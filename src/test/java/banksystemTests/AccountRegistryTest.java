@@ -0,0 +1,130 @@
+package banksystemTests;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.gevernova.bankingsystem.model.*;
+import com.gevernova.bankingsystem.service.*;
+
+public class AccountRegistryTest {
+    private AccountRegistry registry;
+
+    @BeforeEach
+    public void setUp() {
+        BankingEventLog.setSink(NoOpEventSink.INSTANCE);
+        registry = new AccountRegistry();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        BankingEventLog.setSink(ConsoleEventSink.INSTANCE);
+    }
+
+    @Test
+    @DisplayName("Add, look up and remove accounts")
+    public void testPutGetRemove() {
+        Account account = new SavingsAccount("John Doe", 100.0);
+        assertTrue(registry.putIfAbsent(account));
+        assertFalse(registry.putIfAbsent(account));
+
+        assertSame(account, registry.get(account.getAccountNumber()));
+        assertTrue(registry.contains(account.getAccountNumber()));
+        assertEquals(1, registry.size());
+
+        assertSame(account, registry.remove(account.getAccountNumber()));
+        assertNull(registry.get(account.getAccountNumber()));
+        assertNull(registry.remove(account.getAccountNumber()));
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    @DisplayName("Non-numeric or differently padded numbers are not found")
+    public void testInvalidKeys() {
+        Account account = new SavingsAccount("John Doe", 100.0);
+        registry.putIfAbsent(account);
+        String repadded = "0" + account.getAccountNumber(); // Same numeric key, different string
+
+        assertNull(registry.get("NON_EXISTENT_ACCOUNT"));
+        assertNull(registry.get(null));
+        assertNull(registry.get(""));
+        assertNull(registry.get(repadded));
+        assertNull(registry.remove(repadded));
+        assertTrue(registry.contains(account.getAccountNumber()));
+    }
+
+    @Test
+    @DisplayName("Numbers that are not zero-padded to the canonical width are not keys")
+    public void testNonCanonicalNumbers() {
+        Account account = new SavingsAccount("John Doe", 100.0);
+        registry.putIfAbsent(account);
+
+        assertNull(registry.get("1000"));     // Shorter than six digits
+        assertNull(registry.get("0001000"));  // Padded beyond six digits
+        assertNull(registry.remove("1000"));
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    @DisplayName("Lookups stay correct across resizes and backward-shift removals")
+    public void testManyAccountsWithRemovals() {
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            Account account = new CurrentAccount("Holder " + i, 0.0);
+            accounts.add(account);
+            assertTrue(registry.putIfAbsent(account));
+        }
+        for (int i = 0; i < accounts.size(); i += 3) {
+            assertNotNull(registry.remove(accounts.get(i).getAccountNumber()));
+        }
+        for (int i = 0; i < accounts.size(); i++) {
+            Account expected = i % 3 == 0 ? null : accounts.get(i);
+            assertSame(expected, registry.get(accounts.get(i).getAccountNumber()));
+        }
+        assertEquals(5000 - 1667, registry.size());
+        assertEquals(registry.size(), registry.getAccounts().size());
+    }
+
+    @Test
+    @DisplayName("Account number snapshot is cached and immutable until the next change")
+    public void testAccountNumbersSnapshot() {
+        Account first = new SavingsAccount("John Doe", 100.0);
+        registry.putIfAbsent(first);
+
+        List<String> snapshot = registry.getAccountNumbers();
+        assertSame(snapshot, registry.getAccountNumbers());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.add("000001"));
+
+        Account second = new SavingsAccount("Jane Smith", 100.0);
+        registry.putIfAbsent(second);
+        List<String> updated = registry.getAccountNumbers();
+        assertNotSame(snapshot, updated);
+        assertEquals(1, snapshot.size());
+        assertTrue(updated.contains(second.getAccountNumber()));
+    }
+
+    @Test
+    @DisplayName("Concurrent readers see every account while writers add more")
+    public void testConcurrentReadsDuringWrites() throws Exception {
+        List<Account> initial = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Account account = new SavingsAccount("Initial " + i, 1.0);
+            initial.add(account);
+            registry.putIfAbsent(account);
+        }
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < 20000; i++) {
+                registry.putIfAbsent(new SavingsAccount("Later " + i, 1.0));
+            }
+        });
+        writer.start();
+        while (writer.isAlive()) {
+            for (Account account : initial) {
+                assertSame(account, registry.get(account.getAccountNumber()));
+            }
+        }
+        writer.join();
+        assertEquals(20200, registry.size());
+    }
+}
@@ -0,0 +1,159 @@
+package banksystemTests;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import com.gevernova.bankingsystem.model.*;
+import com.gevernova.bankingsystem.service.ConsoleEventSink;
+import com.gevernova.bankingsystem.service.NoOpEventSink;
+
+public class AccountSnapshotTest {
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    public void setUp() {
+        BankingEventLog.setSink(NoOpEventSink.INSTANCE);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        BankingEventLog.setSink(ConsoleEventSink.INSTANCE);
+    }
+
+    @Test
+    @DisplayName("A snapshot round-trips number, holder, type and balance of every account")
+    public void testRoundTrip() throws Exception {
+        Bank bank = new Bank();
+        Account savings = new SavingsAccount("Zoë Ångström", 1234.56);
+        Account current = new CurrentAccount("Jane Smith", 15000.0);
+        bank.addAccount(savings);
+        bank.addAccount(current);
+        Path file = tempDir.resolve("accounts.snap");
+        bank.exportSnapshot(file);
+
+        Bank restored = new Bank();
+        restored.restoreSnapshot(file);
+
+        assertEquals(2, restored.getAllAccountNumbers().size());
+        Account savingsCopy = restored.getAccount(savings.getAccountNumber());
+        assertEquals("Zoë Ångström", savingsCopy.getAccountHolderName());
+        assertEquals(AccountType.SAVINGS, savingsCopy.getAccountType());
+        assertEquals(123456, savingsCopy.getBalanceCents());
+        assertInstanceOf(CurrentAccount.class, restored.getAccount(current.getAccountNumber()));
+        assertEquals(15000.0, restored.getAccount(current.getAccountNumber()).getBalance());
+    }
+
+    @Test
+    @DisplayName("Many chunks are imported in parallel and new account numbers do not collide")
+    public void testLargeParallelImport() throws Exception {
+        Bank bank = new Bank();
+        for (int i = 0; i < 50_000; i++) {
+            bank.addAccount(new SavingsAccount("Holder " + i, i % 1000));
+        }
+        long total = bank.snapshotBalances().getTotalCents();
+        Path file = tempDir.resolve("large.snap");
+        bank.exportSnapshot(file);
+        assertTrue(Files.size(file) < 50_000L * 20); // Compressed well below the raw record size
+
+        Bank restored = new Bank();
+        restored.restoreSnapshot(file);
+        assertEquals(50_000, restored.getAllAccountNumbers().size());
+        assertEquals(total, restored.snapshotBalances().getTotalCents());
+
+        Account fresh = new SavingsAccount("Newcomer", 0.0);
+        assertFalse(restored.isAccountPresent(fresh.getAccountNumber()));
+        restored.addAccount(fresh);
+    }
+
+    @Test
+    @DisplayName("Restore replays only the journal records written after the snapshot")
+    public void testRestoreReplaysJournalTail() throws Exception {
+        Path journalFile = tempDir.resolve("bank.journal");
+        Path snapshotFile = tempDir.resolve("bank.snap");
+        Account savings = new SavingsAccount("John Doe", 1000.0);
+        Account current = new CurrentAccount("Jane Smith", 15000.0);
+        try (TransactionJournal journal = new TransactionJournal(journalFile)) {
+            Bank bank = new Bank(journal);
+            bank.addAccount(savings);
+            bank.addAccount(current);
+            bank.performDeposit(savings.getAccountNumber(), 500.0);
+            bank.exportSnapshot(snapshotFile);
+            bank.performTransfer(current.getAccountNumber(), savings.getAccountNumber(), 2000.0);
+            bank.performWithdrawal(savings.getAccountNumber(), 100.0);
+        }
+
+        try (TransactionJournal journal = new TransactionJournal(journalFile)) {
+            Bank restored = new Bank(journal);
+            restored.restoreSnapshot(snapshotFile);
+            assertEquals(savings.getBalanceCents(), restored.getAccount(savings.getAccountNumber()).getBalanceCents());
+            assertEquals(current.getBalanceCents(), restored.getAccount(current.getAccountNumber()).getBalanceCents());
+        }
+    }
+
+    @Test
+    @DisplayName("After a restore the ledger keeps the history from before the restart")
+    public void testRestoreKeepsLedgerHistory() throws Exception {
+        Path journalFile = tempDir.resolve("ledger.journal");
+        Path snapshotFile = tempDir.resolve("ledger.snap");
+        Account savings = new SavingsAccount("John Doe", 1000.0);
+        long beforeOpen = System.currentTimeMillis() - 1;
+        long afterOpen;
+        long afterDeposit;
+        try (TransactionJournal journal = new TransactionJournal(journalFile)) {
+            Bank bank = new Bank(journal);
+            bank.addAccount(savings);
+            afterOpen = System.currentTimeMillis();
+            Thread.sleep(2);
+            bank.performDeposit(savings.getAccountNumber(), 250.0);
+            afterDeposit = System.currentTimeMillis();
+            Thread.sleep(2);
+            bank.exportSnapshot(snapshotFile);
+            Thread.sleep(2);
+            bank.performWithdrawal(savings.getAccountNumber(), 100.0);
+        }
+
+        try (TransactionJournal journal = new TransactionJournal(journalFile)) {
+            Bank restored = new Bank(journal);
+            restored.restoreSnapshot(snapshotFile);
+            String number = savings.getAccountNumber();
+            assertEquals(1150.0, restored.getAccount(number).getBalance());
+            assertEquals(1150.0, restored.getBalanceAsOf(number, System.currentTimeMillis()));
+            assertEquals(1250.0, restored.getBalanceAsOf(number, afterDeposit));
+            assertEquals(1000.0, restored.getBalanceAsOf(number, afterOpen));
+            assertThrows(IllegalArgumentException.class, () -> restored.getBalanceAsOf(number, beforeOpen));
+
+            restored.performWithdrawal(number, 50.0);
+            assertEquals(1100.0, restored.getBalanceAsOf(number, System.currentTimeMillis()));
+            assertEquals(restored.getAccount(number).getBalanceCents(), restored.getLedger().getBalanceCents(number));
+        }
+    }
+
+    @Test
+    @DisplayName("Without a journal the ledger of a restored account starts at the snapshot")
+    public void testRestoreWithoutJournalStartsAtSnapshot() throws Exception {
+        Bank bank = new Bank();
+        Account savings = new SavingsAccount("John Doe", 1000.0);
+        bank.addAccount(savings);
+        Path file = tempDir.resolve("plain.snap");
+        bank.exportSnapshot(file);
+        long taken = bank.snapshotBalances().getTakenAtMillis();
+
+        Bank restored = new Bank();
+        restored.restoreSnapshot(file);
+        assertEquals(1000.0, restored.getBalanceAsOf(savings.getAccountNumber(), taken));
+        assertThrows(IllegalArgumentException.class, () -> restored.getBalanceAsOf(savings.getAccountNumber(), taken - 60_000));
+    }
+
+    @Test
+    @DisplayName("Files that are not snapshots are rejected")
+    public void testRejectsForeignFile() throws Exception {
+        Path file = tempDir.resolve("garbage.snap");
+        Files.write(file, new byte[64]);
+        assertThrows(java.io.IOException.class, () -> new Bank().restoreSnapshot(file));
+        assertThrows(java.io.IOException.class, () -> AccountSnapshotFile.read(file, account -> { }));
+    }
+}
@@ -0,0 +1,87 @@
+package banksystemTests;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.gevernova.bankingsystem.model.*;
+import com.gevernova.bankingsystem.service.BankingServices;
+import com.gevernova.bankingsystem.service.ConsoleEventSink;
+import com.gevernova.bankingsystem.service.NoOpEventSink;
+
+public class AccountTransactionIndexTest {
+    private BankingServices services;
+    private SavingsAccount alice;
+    private SavingsAccount bob;
+    private SavingsAccount carol;
+
+    @BeforeEach
+    public void setUp() {
+        BankingEventLog.setSink(NoOpEventSink.INSTANCE);
+        services = new BankingServices();
+        alice = new SavingsAccount("Alice", 1000.0);
+        bob = new SavingsAccount("Bob", 1000.0);
+        carol = new SavingsAccount("Carol", 1000.0);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        BankingEventLog.setSink(ConsoleEventSink.INSTANCE);
+    }
+
+    @Test
+    @DisplayName("Each account sees only its own transactions, transfers count for both sides")
+    public void testIndexPerAccount() {
+        services.deposit(alice, 10.0);
+        services.deposit(bob, 20.0);
+        services.transfer(alice, bob, 5.0);
+        services.withdraw(carol, 1.0);
+
+        assertEquals(2, services.getTransactionCount(alice.getAccountNumber()));
+        assertEquals(2, services.getTransactionCount(bob.getAccountNumber()));
+        assertEquals(1, services.getTransactionCount(carol.getAccountNumber()));
+        assertEquals(0, services.getTransactionCount("999999"));
+
+        TransactionPage page = services.getTransactionHistory(bob.getAccountNumber(), 0, 10);
+        assertEquals("DEPOSIT", page.get(0).getTransactionType());
+        assertEquals("TRANSFER", page.get(1).getTransactionType());
+        assertFalse(page.hasNextPage());
+    }
+
+    @Test
+    @DisplayName("Pages walk an account's history in order without gaps")
+    public void testPagination() {
+        for (int i = 1; i <= 25; i++) {
+            services.deposit(alice, i);
+            services.deposit(bob, i);
+        }
+
+        List<Double> seen = new ArrayList<>();
+        int pageIndex = 0;
+        TransactionPage page;
+        do {
+            page = services.getTransactionHistory(alice.getAccountNumber(), pageIndex++, 10);
+            for (ITransaction transaction : page) {
+                seen.add(transaction.getAmount());
+            }
+        } while (page.hasNextPage());
+
+        assertEquals(3, pageIndex);
+        assertEquals(25, seen.size());
+        for (int i = 0; i < 25; i++) {
+            assertEquals(i + 1.0, seen.get(i));
+        }
+        assertTrue(services.getTransactionHistory(alice.getAccountNumber(), 5, 10).isEmpty());
+        assertEquals(2, services.getTransactionHistory(alice.getAccountNumber(), 0, 10).getHistoryPosition(1));
+    }
+
+    @Test
+    @DisplayName("Invalid page requests are rejected")
+    public void testInvalidPage() {
+        assertThrows(IllegalArgumentException.class, () -> services.getTransactionHistory(alice.getAccountNumber(), -1, 10));
+        assertThrows(IllegalArgumentException.class, () -> services.getTransactionHistory(alice.getAccountNumber(), 0, 0));
+        TransactionPage empty = services.getTransactionHistory(alice.getAccountNumber(), 0, 10);
+        assertThrows(IndexOutOfBoundsException.class, () -> empty.get(0));
+    }
+}
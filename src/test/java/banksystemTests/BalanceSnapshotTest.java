@@ -0,0 +1,160 @@
+package banksystemTests;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.gevernova.bankingsystem.model.*;
+import com.gevernova.bankingsystem.service.ConsoleEventSink;
+import com.gevernova.bankingsystem.service.DepositTransaction;
+import com.gevernova.bankingsystem.service.NoOpEventSink;
+import com.gevernova.bankingsystem.service.TransferTransaction;
+
+public class BalanceSnapshotTest {
+    private static final int ACCOUNT_COUNT = 32;
+
+    private Bank bank;
+    private List<Account> accounts;
+
+    @BeforeEach
+    public void setUp() {
+        BankingEventLog.setSink(NoOpEventSink.INSTANCE);
+        bank = new Bank();
+        accounts = new ArrayList<>();
+        for (int i = 0; i < ACCOUNT_COUNT; i++) {
+            Account account = new SavingsAccount("Holder " + i, 1000.0);
+            bank.addAccount(account);
+            accounts.add(account);
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        BankingEventLog.setSink(ConsoleEventSink.INSTANCE);
+    }
+
+    @Test
+    @DisplayName("A snapshot keeps its balances after the accounts change")
+    public void testSnapshotIsFrozen() {
+        Account first = accounts.get(0);
+        BalanceSnapshot snapshot = bank.snapshotBalances();
+
+        bank.performDeposit(first.getAccountNumber(), 250.0);
+        bank.performTransfer(first.getAccountNumber(), accounts.get(1).getAccountNumber(), 100.0);
+
+        assertEquals(1000.0, snapshot.getBalance(first.getAccountNumber()));
+        assertEquals(1150.0, first.getBalance());
+        assertEquals(1150.0, bank.snapshotBalances().getBalance(first.getAccountNumber()));
+        assertEquals(ACCOUNT_COUNT, snapshot.size());
+        assertThrows(IllegalArgumentException.class, () -> snapshot.getBalanceCents("999999"));
+    }
+
+    @Test
+    @DisplayName("Snapshots taken during concurrent transfers always see a conserved total")
+    public void testSnapshotsAreConsistentUnderLoad() throws Exception {
+        long expectedTotal = ACCOUNT_COUNT * 100000L;
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        List<Future<?>> writers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            final int seed = t;
+            writers.add(pool.submit(() -> {
+                int i = 0;
+                while (running.get()) {
+                    Account from = accounts.get((seed + i) % ACCOUNT_COUNT);
+                    Account to = accounts.get((seed * 5 + i * 3 + 1) % ACCOUNT_COUNT);
+                    try {
+                        bank.performTransfer(from.getAccountNumber(), to.getAccountNumber(), 1.0);
+                    } catch (RuntimeException ignored) {
+                        // Insufficient funds is fine here, only conservation matters
+                    }
+                    i++;
+                }
+                return null;
+            }));
+        }
+
+        long previousEpoch = 0;
+        for (int s = 0; s < 200; s++) {
+            BalanceSnapshot snapshot = bank.snapshotBalances();
+            assertEquals(expectedTotal, snapshot.getTotalCents());
+            assertTrue(snapshot.getEpoch() > previousEpoch);
+            previousEpoch = snapshot.getEpoch();
+        }
+        running.set(false);
+        for (Future<?> writer : writers) {
+            writer.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+        assertEquals(expectedTotal, bank.snapshotBalances().getTotalCents());
+    }
+
+    @Test
+    @DisplayName("Each bank has its own epoch, so an in-flight operation elsewhere never stalls a snapshot")
+    public void testEpochIsPerBank() throws Exception {
+        Bank other = new Bank();
+        Account foreign = new SavingsAccount("Other bank", 10.0);
+        other.addAccount(foreign);
+        assertSame(other.getLedgerEpoch(), foreign.getLedgerEpoch());
+        assertNotSame(bank.getLedgerEpoch(), other.getLedgerEpoch());
+
+        other.getLedgerEpoch().enter(); // As if a transfer in the other bank were in progress
+        try {
+            BalanceSnapshot snapshot = CompletableFuture.supplyAsync(bank::snapshotBalances).get(10, TimeUnit.SECONDS);
+            assertEquals(ACCOUNT_COUNT * 100000L, snapshot.getTotalCents());
+        } finally {
+            other.getLedgerEpoch().exit();
+        }
+    }
+
+    @Test
+    @DisplayName("Opposite cross-bank batches do not deadlock behind snapshots queued on both banks")
+    public void testCrossBankBatchesWithQueuedSnapshots() throws Exception {
+        Bank other = new Bank();
+        Account foreign = new SavingsAccount("Other bank", 1000.0);
+        other.addAccount(foreign);
+        Account local = accounts.get(0);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            // Each batch first parks inside its own bank, then transfers to the other one
+            Future<List<TransactionResult>> outbound = pool.submit(() -> bank.executeBatch(List.of(
+                    blockingDeposit(accounts.get(1), release), new TransferTransaction(local, foreign, 10.0))));
+            Future<List<TransactionResult>> inbound = pool.submit(() -> other.executeBatch(List.of(
+                    blockingDeposit(foreign, release), new TransferTransaction(foreign, local, 5.0))));
+            Thread.sleep(100);
+            Future<BalanceSnapshot> snapshot = pool.submit(bank::snapshotBalances);
+            Future<BalanceSnapshot> otherSnapshot = pool.submit(other::snapshotBalances);
+            Thread.sleep(100); // Lets both snapshots queue on their gates before the transfers need the other bank
+            release.countDown();
+
+            assertTrue(outbound.get(10, TimeUnit.SECONDS).stream().allMatch(TransactionResult::isSuccess));
+            assertTrue(inbound.get(10, TimeUnit.SECONDS).stream().allMatch(TransactionResult::isSuccess));
+            snapshot.get(10, TimeUnit.SECONDS);
+            otherSnapshot.get(10, TimeUnit.SECONDS);
+            assertEquals(995.0, local.getBalance());
+            assertEquals(1006.0, foreign.getBalance());
+        } finally {
+            release.countDown();
+            pool.shutdownNow();
+        }
+    }
+
+    // A one-unit deposit that waits for the latch before it runs
+    private static ITransaction blockingDeposit(Account account, CountDownLatch release) {
+        return new DepositTransaction(account, 1.0) {
+            @Override
+            public void execute() {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.execute();
+            }
+        };
+    }
+}
@@ -0,0 +1,125 @@
+package banksystemTests;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.*;
+
+import com.gevernova.bankingsystem.model.*;
+import com.gevernova.bankingsystem.service.ConsoleEventSink;
+import com.gevernova.bankingsystem.service.DepositTransaction;
+import com.gevernova.bankingsystem.service.NoOpEventSink;
+
+public class BankMetricsTest {
+    private Bank bank;
+    private SavingsAccount savings;
+    private CurrentAccount current;
+
+    @BeforeEach
+    public void setUp() {
+        BankingEventLog.setSink(NoOpEventSink.INSTANCE);
+        bank = new Bank();
+        savings = new SavingsAccount("John Doe", 1000.0);
+        current = new CurrentAccount("Jane Smith", 15000.0);
+        bank.addAccount(savings);
+        bank.addAccount(current);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        BankingEventLog.setSink(ConsoleEventSink.INSTANCE);
+    }
+
+    @Test
+    @DisplayName("Transactions are counted by type and outcome")
+    public void testCountsByTypeAndOutcome() {
+        bank.performDeposit(savings.getAccountNumber(), 100.0);
+        bank.performDeposit(savings.getAccountNumber(), 100.0);
+        bank.performTransfer(current.getAccountNumber(), savings.getAccountNumber(), 500.0);
+        assertThrows(RuntimeException.class, () -> bank.performWithdrawal(savings.getAccountNumber(), 99999.0));
+        assertThrows(IllegalArgumentException.class, () -> bank.performDeposit(savings.getAccountNumber(), -5.0));
+
+        BankMetrics metrics = bank.getMetrics();
+        assertEquals(2, metrics.getCount("DEPOSIT", BankMetrics.Outcome.SUCCESS));
+        assertEquals(1, metrics.getCount("DEPOSIT", BankMetrics.Outcome.ILLEGAL_ARGUMENT));
+        assertEquals(1, metrics.getCount("TRANSFER", BankMetrics.Outcome.SUCCESS));
+        assertEquals(1, metrics.getCount("WITHDRAWAL", BankMetrics.Outcome.INVALID_BALANCE));
+        assertEquals(0, metrics.getCount("WITHDRAWAL", BankMetrics.Outcome.SUCCESS));
+        assertTrue(metrics.getLatency("DEPOSIT", BankMetrics.Outcome.SUCCESS).getMax() > 0);
+    }
+
+    @Test
+    @DisplayName("Text export lists counters and latency quantiles")
+    public void testExport() {
+        bank.performDeposit(savings.getAccountNumber(), 100.0);
+        String text = bank.getMetrics().export();
+
+        assertTrue(text.contains("bank_transactions_total{type=\"DEPOSIT\",outcome=\"success\"} 1"));
+        assertTrue(text.contains("bank_transactions_total{type=\"DEPOSIT\",outcome=\"invalid_balance\"} 0"));
+        assertTrue(text.contains("bank_transaction_latency_nanoseconds{type=\"DEPOSIT\",outcome=\"success\",quantile=\"0.99\"}"));
+        assertFalse(text.contains("quantile=\"0.99\"} 0\n"));
+    }
+
+    @Test
+    @DisplayName("Export does not depend on the default locale, and unexpected failures are counted")
+    public void testExportLocaleAndOtherFailures() {
+        Locale original = Locale.getDefault();
+        Locale.setDefault(Locale.GERMANY);
+        try {
+            BankMetrics metrics = new BankMetrics();
+            metrics.record("DEPOSIT", BankMetrics.Outcome.SUCCESS, 10);
+            metrics.record("DEPOSIT", BankMetrics.Outcome.SUCCESS, 15);
+            assertTrue(metrics.export().contains("bank_transaction_latency_nanoseconds_mean{type=\"DEPOSIT\",outcome=\"success\"} 12.5"));
+        } finally {
+            Locale.setDefault(original);
+        }
+
+        ITransaction broken = new DepositTransaction(savings, 1.0) {
+            @Override
+            public void execute() {
+                throw new IllegalStateException("Ledger unavailable.");
+            }
+        };
+        assertThrows(IllegalStateException.class, () -> bank.executeTransaction(broken));
+        assertEquals(1, bank.getMetrics().getCount("DEPOSIT", BankMetrics.Outcome.OTHER_FAILURE));
+    }
+
+    @Test
+    @DisplayName("Histogram quantiles stay within a few percent of the recorded values")
+    public void testHistogramAccuracy() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.record(value * 1000);
+        }
+        assertEquals(100_000, histogram.getCount());
+        assertEquals(100_000_000, histogram.getMax());
+        assertEquals(50_000_000, histogram.getValueAtQuantile(0.5), 50_000_000 * 0.04);
+        assertEquals(99_000_000, histogram.getValueAtQuantile(0.99), 99_000_000 * 0.04);
+        assertEquals(100_000_000, histogram.getValueAtQuantile(1.0));
+        assertEquals(50_000_500.0, histogram.getMean(), 1.0);
+        assertThrows(IllegalArgumentException.class, () -> histogram.getValueAtQuantile(1.5));
+        assertEquals(0, new LatencyHistogram().getValueAtQuantile(0.5));
+    }
+
+    @Test
+    @DisplayName("Concurrent updates are not lost")
+    public void testConcurrentRecording() throws Exception {
+        BankMetrics metrics = new BankMetrics();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    metrics.record("DEPOSIT", BankMetrics.Outcome.SUCCESS, i);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+        assertEquals(80_000, metrics.getCount("DEPOSIT", BankMetrics.Outcome.SUCCESS));
+    }
+}
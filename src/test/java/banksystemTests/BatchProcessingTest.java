@@ -0,0 +1,125 @@
+package banksystemTests;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.gevernova.bankingsystem.model.*;
+import com.gevernova.bankingsystem.service.*;
+
+public class BatchProcessingTest {
+    private Bank bank;
+    private Account savingsAccount;
+    private Account currentAccount;
+    private final ByteArrayOutputStream outputStreamCaptor = new ByteArrayOutputStream();
+    private final PrintStream originalOut = System.out;
+
+    @BeforeEach
+    public void setUp() {
+        bank = new Bank();
+        savingsAccount = new SavingsAccount("John Doe", 1000.0);
+        currentAccount = new CurrentAccount("Jane Smith", 15000.0);
+        bank.addAccount(savingsAccount);
+        bank.addAccount(currentAccount);
+        System.setOut(new PrintStream(outputStreamCaptor));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        System.setOut(originalOut);
+        outputStreamCaptor.reset();
+    }
+
+    @Test
+    @DisplayName("Batch applies items in submission order and reports a result per item")
+    public void testBatchAppliesInOrder() {
+        List<ITransaction> batch = Arrays.asList(
+                new DepositTransaction(savingsAccount, 500.0),               // 1500
+                new WithdrawalTransaction(savingsAccount, 1400.0),           // 100, only valid after the deposit
+                new TransferTransaction(currentAccount, savingsAccount, 900.0)); // Current 14100, Savings 1000
+
+        List<TransactionResult> results = bank.executeBatch(batch);
+
+        assertEquals(3, results.size());
+        assertTrue(results.stream().allMatch(TransactionResult::isSuccess));
+        assertEquals(1000.0, savingsAccount.getBalance());
+        assertEquals(14100.0, currentAccount.getBalance());
+        assertTrue(outputStreamCaptor.toString().contains("Batch completed: 3 succeeded, 0 failed."));
+    }
+
+    @Test
+    @DisplayName("Rejected items do not throw and do not stop the rest of the batch")
+    public void testBatchReportsFailuresWithoutThrowing() {
+        List<ITransaction> batch = Arrays.asList(
+                new WithdrawalTransaction(currentAccount, 14000.0), // would leave 1000 < 2000 minimum
+                new DepositTransaction(savingsAccount, -5.0),
+                null,
+                new DepositTransaction(savingsAccount, 250.0));
+
+        List<TransactionResult> results = assertDoesNotThrow(() -> bank.executeBatch(batch));
+
+        assertFalse(results.get(0).isSuccess());
+        assertTrue(results.get(0).getFailureReason().contains("Insufficient balance"));
+        assertFalse(results.get(1).isSuccess());
+        assertFalse(results.get(2).isSuccess());
+        assertTrue(results.get(3).isSuccess());
+        assertEquals(15000.0, currentAccount.getBalance());
+        assertEquals(1250.0, savingsAccount.getBalance());
+    }
+
+    @Test
+    @DisplayName("Every batch result is counted in the bank's metrics by type and outcome")
+    public void testBatchRecordsMetrics() {
+        bank.executeBatch(Arrays.asList(
+                new WithdrawalTransaction(currentAccount, 14000.0), // would leave 1000 < 2000 minimum
+                new DepositTransaction(savingsAccount, -5.0),
+                new DepositTransaction(savingsAccount, 250.0),
+                new TransferTransaction(currentAccount, savingsAccount, 100.0)));
+
+        BankMetrics metrics = bank.getMetrics();
+        assertEquals(1, metrics.getCount("WITHDRAWAL", BankMetrics.Outcome.INVALID_BALANCE));
+        assertEquals(1, metrics.getCount("DEPOSIT", BankMetrics.Outcome.ILLEGAL_ARGUMENT));
+        assertEquals(1, metrics.getCount("DEPOSIT", BankMetrics.Outcome.SUCCESS));
+        assertEquals(1, metrics.getCount("TRANSFER", BankMetrics.Outcome.SUCCESS));
+    }
+
+    @Test
+    @DisplayName("Only successful batch items are added to the transaction history")
+    public void testBatchHistoryContainsOnlySuccesses() {
+        bank.executeBatch(Arrays.asList(
+                new DepositTransaction(savingsAccount, 100.0),
+                new WithdrawalTransaction(savingsAccount, 99999.0)));
+
+        outputStreamCaptor.reset();
+        bank.printTransactionHistory();
+        String output = outputStreamCaptor.toString();
+        assertTrue(output.contains("Deposit of 100.0 to account " + savingsAccount.getAccountNumber()));
+        assertFalse(output.contains("Withdrawal of 99999.0"));
+    }
+
+    @Test
+    @DisplayName("Large deposit batch on many accounts")
+    public void testLargeDepositBatch() {
+        TransactionProcessor processor = new TransactionProcessor();
+        List<ITransaction> batch = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            batch.add(new DepositTransaction(i % 2 == 0 ? savingsAccount : currentAccount, 1.0));
+        }
+
+        List<TransactionResult> results = processor.processBatch(batch);
+
+        assertEquals(1000, results.stream().filter(TransactionResult::isSuccess).count());
+        assertEquals(1500.0, savingsAccount.getBalance());
+        assertEquals(15500.0, currentAccount.getBalance());
+    }
+
+    @Test
+    @DisplayName("Null batch is rejected")
+    public void testNullBatch() {
+        assertThrows(IllegalArgumentException.class, () -> bank.executeBatch(null));
+    }
+}
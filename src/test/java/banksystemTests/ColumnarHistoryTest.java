@@ -0,0 +1,120 @@
+package banksystemTests;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.gevernova.bankingsystem.model.*;
+import com.gevernova.bankingsystem.service.*;
+
+public class ColumnarHistoryTest {
+    private static final long DAY = ColumnarTransactionHistory.MILLIS_PER_DAY;
+    private ColumnarTransactionHistory history;
+
+    @BeforeEach
+    public void setUp() {
+        history = new ColumnarTransactionHistory();
+        // Three days of activity for accounts 001000 and 001001
+        history.append(TransactionJournal.TYPE_DEPOSIT, null, "001000", 50000, 10);
+        history.append(TransactionJournal.TYPE_WITHDRAWAL, "001000", null, 1000, DAY / 2);
+        history.append(TransactionJournal.TYPE_WITHDRAWAL, "001001", null, 2500, DAY / 2 + 1);
+        history.append(TransactionJournal.TYPE_TRANSFER, "001001", "001000", 7000, DAY + 5);
+        history.append(TransactionJournal.TYPE_WITHDRAWAL, "001000", null, 300, 2 * DAY + 1);
+        history.append(TransactionJournal.TYPE_WITHDRAWAL, "001001", null, 200, 2 * DAY + 2);
+    }
+
+    @Test
+    @DisplayName("Rows for one account within a time range")
+    public void testForEachForAccountInRange() {
+        List<Long> amounts = new ArrayList<>();
+        history.forEachForAccount("001000", DAY / 2, 2 * DAY, (row, type, amountCents, timestamp) -> amounts.add(amountCents));
+        assertEquals(List.of(1000L, 7000L), amounts); // withdrawal and incoming transfer, deposit is out of range
+
+        List<Integer> rows = new ArrayList<>();
+        history.forEachForAccount("001001", 0, Long.MAX_VALUE, (row, type, amountCents, timestamp) -> rows.add(row));
+        assertEquals(List.of(2, 3, 5), rows);
+        assertEquals("001000", history.getTargetAccount(3));
+        assertEquals(TransactionJournal.TYPE_TRANSFER, history.getType(3));
+    }
+
+    @Test
+    @DisplayName("Unknown accounts produce no rows")
+    public void testUnknownAccount() {
+        history.forEachForAccount("999999", 0, Long.MAX_VALUE, (row, type, amountCents, timestamp) -> fail("no rows expected"));
+    }
+
+    @Test
+    @DisplayName("Sum of withdrawals per day")
+    public void testSumWithdrawalsPerDay() {
+        assertArrayEquals(new long[]{3500, 0, 500}, history.sumWithdrawalsPerDay(0, 3 * DAY));
+        assertArrayEquals(new long[]{0, 500}, history.sumWithdrawalsPerDay(DAY, 3 * DAY));
+        assertArrayEquals(new long[]{7000}, history.sumPerDay(TransactionJournal.TYPE_TRANSFER, DAY, 2 * DAY));
+        assertEquals(0, history.sumWithdrawalsPerDay(5, 5).length);
+    }
+
+    @Test
+    @DisplayName("Timestamps stay ordered and the store grows past its initial capacity")
+    public void testGrowthAndOrdering() {
+        ColumnarTransactionHistory large = new ColumnarTransactionHistory();
+        for (int i = 0; i < 5000; i++) {
+            large.append(TransactionJournal.TYPE_WITHDRAWAL, "001000", null, 1, i);
+        }
+        large.append(TransactionJournal.TYPE_WITHDRAWAL, "001000", null, 1, 0); // clock stepped back
+        assertEquals(5001, large.size());
+        assertEquals(4999, large.getTimestamp(5000));
+        assertArrayEquals(new long[]{5001}, large.sumWithdrawalsPerDay(0, DAY));
+    }
+
+    @Test
+    @DisplayName("Concurrent appends publish every row with ordered timestamps")
+    public void testConcurrentAppends() throws Exception {
+        ColumnarTransactionHistory shared = new ColumnarTransactionHistory();
+        int threads = 4;
+        int perThread = 5000;
+        List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            String account = "00100" + t;
+            writers.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    shared.append(TransactionJournal.TYPE_WITHDRAWAL, account, null, 1, i);
+                }
+            }));
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        assertEquals(threads * perThread, shared.size());
+        for (int row = 1; row < shared.size(); row++) {
+            assertTrue(shared.getTimestamp(row - 1) <= shared.getTimestamp(row));
+        }
+        assertArrayEquals(new long[]{threads * perThread}, shared.sumWithdrawalsPerDay(0, DAY));
+        int[] rows = new int[1];
+        shared.forEachForAccount("001002", 0, Long.MAX_VALUE, (row, type, amountCents, timestamp) -> rows[0]++);
+        assertEquals(perThread, rows[0]);
+    }
+
+    @Test
+    @DisplayName("Bank records executed transactions in the columnar store")
+    public void testBankIntegration() {
+        BankingEventLog.setSink(NoOpEventSink.INSTANCE);
+        try {
+            Bank bank = new Bank();
+            Account savings = new SavingsAccount("John Doe", 1000.0);
+            bank.addAccount(savings);
+            long start = System.currentTimeMillis();
+            bank.performDeposit(savings.getAccountNumber(), 500.0);
+            bank.performWithdrawal(savings.getAccountNumber(), 200.0);
+            long end = System.currentTimeMillis() + 1;
+
+            long[] total = new long[1];
+            bank.getHistoryStore().forEachForAccount(savings.getAccountNumber(), start, end,
+                    (row, type, amountCents, timestamp) -> total[0] += amountCents);
+            assertEquals(70000L, total[0]);
+            long[] perDay = bank.getHistoryStore().sumWithdrawalsPerDay(start, end);
+            assertEquals(20000L, java.util.Arrays.stream(perDay).sum()); // the range may straddle midnight
+        } finally {
+            BankingEventLog.setSink(ConsoleEventSink.INSTANCE);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package banksystemTests;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import com.gevernova.bankingsystem.model.*;
+
+public class ConcurrentLedgerTest {
+    private static final int ACCOUNT_COUNT = 16;
+    private static final int THREAD_COUNT = 8;
+    private static final int TRANSFERS_PER_THREAD = 500;
+
+    private Bank bank;
+    private List<Account> accounts;
+    private final PrintStream originalOut = System.out;
+
+    @BeforeEach
+    public void setUp() {
+        // Silence the per-operation console output, it is irrelevant here and slows the threads down
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        bank = new Bank();
+        accounts = new ArrayList<>();
+        for (int i = 0; i < ACCOUNT_COUNT; i++) {
+            Account account = new SavingsAccount("Holder " + i, 10000.0);
+            bank.addAccount(account);
+            accounts.add(account);
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    @Test
+    @DisplayName("Concurrent transfers conserve the total balance and lose no history")
+    public void testConcurrentTransfersConserveMoney() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREAD_COUNT);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREAD_COUNT; t++) {
+            final int seed = t;
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < TRANSFERS_PER_THREAD; i++) {
+                    Account from = accounts.get((seed + i) % ACCOUNT_COUNT);
+                    Account to = accounts.get((seed * 7 + i * 3 + 1) % ACCOUNT_COUNT);
+                    bank.performTransfer(from.getAccountNumber(), to.getAccountNumber(), 1.0);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        double total = accounts.stream().mapToDouble(Account::getBalance).sum();
+        assertEquals(ACCOUNT_COUNT * 10000.0, total);
+    }
+
+    @Test
+    @DisplayName("Opposing transfers between the same pair do not deadlock")
+    public void testOpposingTransfersDoNotDeadlock() throws Exception {
+        Account a = accounts.get(0);
+        Account b = accounts.get(1);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        Future<?> forward = pool.submit(() -> {
+            start.await();
+            for (int i = 0; i < 2000; i++) {
+                bank.performTransfer(a.getAccountNumber(), b.getAccountNumber(), 1.0);
+            }
+            return null;
+        });
+        Future<?> backward = pool.submit(() -> {
+            start.await();
+            for (int i = 0; i < 2000; i++) {
+                bank.performTransfer(b.getAccountNumber(), a.getAccountNumber(), 1.0);
+            }
+            return null;
+        });
+        start.countDown();
+        assertDoesNotThrow(() -> forward.get(30, TimeUnit.SECONDS));
+        assertDoesNotThrow(() -> backward.get(30, TimeUnit.SECONDS));
+        pool.shutdown();
+
+        assertEquals(10000.0, a.getBalance());
+        assertEquals(10000.0, b.getBalance());
+    }
+
+    @Test
+    @DisplayName("Concurrent withdrawals never overdraw an account")
+    public void testConcurrentWithdrawalsNeverOverdraw() throws Exception {
+        Account account = accounts.get(0);
+        ExecutorService pool = Executors.newFixedThreadPool(THREAD_COUNT);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREAD_COUNT; t++) {
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < 2000; i++) {
+                    try {
+                        bank.performWithdrawal(account.getAccountNumber(), 1.0);
+                    } catch (RuntimeException ignored) {
+                        // Insufficient balance once the account is drained
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertEquals(0.0, account.getBalance());
+    }
+}
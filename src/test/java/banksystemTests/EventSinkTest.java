@@ -0,0 +1,203 @@
+package banksystemTests;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.gevernova.bankingsystem.model.*;
+import com.gevernova.bankingsystem.service.*;
+
+public class EventSinkTest {
+    @TempDir
+    Path tempDir;
+
+    private Bank bank;
+    private Account savingsAccount;
+    private Account currentAccount;
+    private final ByteArrayOutputStream outputStreamCaptor = new ByteArrayOutputStream();
+    private final PrintStream originalOut = System.out;
+
+    // Records messages and counts how often a message was actually requested
+    private static class RecordingSink implements BankingEventSink {
+        final List<String> messages = new CopyOnWriteArrayList<>();
+
+        @Override
+        public boolean isEnabled() {
+            return true;
+        }
+
+        @Override
+        public void publish(String message) {
+            messages.add(message);
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        System.setOut(new PrintStream(outputStreamCaptor));
+        bank = new Bank();
+        savingsAccount = new SavingsAccount("John Doe", 1000.0);
+        currentAccount = new CurrentAccount("Jane Smith", 15000.0);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        BankingEventLog.setSink(ConsoleEventSink.INSTANCE);
+        System.setOut(originalOut);
+    }
+
+    @Test
+    @DisplayName("No-op sink silences every banking message")
+    public void testNoOpSink() {
+        BankingEventLog.setSink(NoOpEventSink.INSTANCE);
+        bank.addAccount(savingsAccount);
+        bank.addAccount(currentAccount);
+        bank.performDeposit(savingsAccount.getAccountNumber(), 100.0);
+        bank.performTransfer(currentAccount.getAccountNumber(), savingsAccount.getAccountNumber(), 100.0);
+
+        assertEquals("", outputStreamCaptor.toString());
+        assertEquals(1200.0, savingsAccount.getBalance());
+    }
+
+    @Test
+    @DisplayName("Custom sinks receive account, transaction and bank events")
+    public void testCustomSink() {
+        RecordingSink sink = new RecordingSink();
+        BankingEventLog.setSink(sink);
+        bank.addAccount(savingsAccount);
+        bank.addAccount(currentAccount);
+        bank.performTransfer(currentAccount.getAccountNumber(), savingsAccount.getAccountNumber(), 100.0);
+
+        assertTrue(sink.messages.get(0).startsWith("Account added: " + savingsAccount.getAccountNumber()));
+        assertTrue(sink.messages.stream().anyMatch(m -> m.startsWith("Committed hold of 100.0 on account " + currentAccount.getAccountNumber())));
+        assertTrue(sink.messages.stream().anyMatch(m -> m.startsWith("Transferred 100.0 from account")));
+        assertEquals("Transaction completed: TRANSFER", sink.messages.get(sink.messages.size() - 1));
+        assertEquals("", outputStreamCaptor.toString());
+    }
+
+    @Test
+    @DisplayName("Ring buffer sink delivers messages asynchronously to its delegate")
+    public void testRingBufferSink() throws Exception {
+        RecordingSink delegate = new RecordingSink();
+        try (RingBufferEventSink ring = new RingBufferEventSink(delegate, 1024)) {
+            BankingEventLog.setSink(ring);
+            bank.addAccount(savingsAccount);
+            for (int i = 0; i < 100; i++) {
+                bank.performDeposit(savingsAccount.getAccountNumber(), 1.0);
+            }
+            ring.flush();
+            assertEquals(201, delegate.messages.size()); // account added + 100 deposits x 2 messages
+            assertEquals(0, ring.getDroppedCount());
+        }
+    }
+
+    @Test
+    @DisplayName("Ring buffer sink drops instead of blocking when full")
+    public void testRingBufferDropsWhenFull() throws Exception {
+        java.util.concurrent.CountDownLatch release = new java.util.concurrent.CountDownLatch(1);
+        BankingEventSink slowDelegate = new BankingEventSink() {
+            @Override
+            public boolean isEnabled() {
+                return true;
+            }
+
+            @Override
+            public void publish(String message) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        try (RingBufferEventSink ring = new RingBufferEventSink(slowDelegate, 4)) {
+            for (int i = 0; i < 20; i++) {
+                ring.publish("message " + i);
+            }
+            assertTrue(ring.getDroppedCount() >= 20 - 4 - 1);
+            release.countDown();
+        }
+        assertThrows(IllegalArgumentException.class, () -> new RingBufferEventSink(slowDelegate, 3));
+    }
+
+    @Test
+    @DisplayName("Messages published after close are counted as dropped")
+    public void testRingBufferPublishAfterClose() {
+        RecordingSink delegate = new RecordingSink();
+        RingBufferEventSink ring = new RingBufferEventSink(delegate, 16);
+        ring.publish("before close");
+        ring.close();
+        assertFalse(ring.isEnabled());
+
+        ring.publish("after close");
+        ring.flush(); // Returns at once, nothing is left to drain
+        assertEquals(List.of("before close"), delegate.messages);
+        assertEquals(1, ring.getDroppedCount());
+    }
+
+    @Test
+    @DisplayName("File sink appends one line per event")
+    public void testFileSink() throws Exception {
+        Path file = tempDir.resolve("banking-events.log");
+        try (FileEventSink sink = new FileEventSink(file)) {
+            BankingEventLog.setSink(sink);
+            bank.addAccount(savingsAccount);
+            bank.performWithdrawal(savingsAccount.getAccountNumber(), 10.0);
+        }
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(1).startsWith("Withdrawn 10.0 from Savings Account"));
+        assertEquals("Transaction completed: WITHDRAWAL", lines.get(2));
+    }
+
+    @Test
+    @DisplayName("Closing the ring buffer from an interrupted thread keeps the interrupt")
+    public void testRingBufferCloseWhenInterrupted() {
+        RecordingSink delegate = new RecordingSink();
+        RingBufferEventSink ring = new RingBufferEventSink(delegate, 16);
+        ring.publish("message");
+        Thread.currentThread().interrupt();
+        ring.close();
+        assertTrue(Thread.interrupted());
+    }
+
+    @Test
+    @DisplayName("Sink failures are counted and never fail the transaction")
+    public void testFailingSinksDoNotFailTransactions() throws Exception {
+        FileEventSink closed = new FileEventSink(tempDir.resolve("closed.log"));
+        closed.close();
+        closed.publish("lost");
+        assertEquals(1, closed.getFailedCount());
+
+        long failedBefore = BankingEventLog.getFailedPublishCount();
+        BankingEventLog.setSink(new BankingEventSink() {
+            @Override
+            public boolean isEnabled() {
+                return true;
+            }
+
+            @Override
+            public void publish(String message) {
+                throw new IllegalStateException("sink is broken");
+            }
+        });
+        bank.addAccount(savingsAccount);
+        bank.addAccount(currentAccount);
+        bank.performTransfer(currentAccount.getAccountNumber(), savingsAccount.getAccountNumber(), 100.0);
+        assertEquals(1100.0, savingsAccount.getBalance());
+        assertEquals(14900.0, currentAccount.getBalance());
+        assertTrue(BankingEventLog.getFailedPublishCount() > failedBefore);
+    }
+
+    @Test
+    @DisplayName("Sink cannot be null")
+    public void testNullSink() {
+        assertThrows(IllegalArgumentException.class, () -> BankingEventLog.setSink(null));
+    }
+}
@@ -0,0 +1,122 @@
+package banksystemTests;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.gevernova.bankingsystem.exceptionhandling.AccountNotFoundException;
+import com.gevernova.bankingsystem.model.*;
+import com.gevernova.bankingsystem.service.ConsoleEventSink;
+import com.gevernova.bankingsystem.service.DepositTransaction;
+import com.gevernova.bankingsystem.service.NoOpEventSink;
+import com.gevernova.bankingsystem.service.TransferTransaction;
+import com.gevernova.bankingsystem.service.WithdrawalTransaction;
+
+public class EventSourcedLedgerTest {
+    private SavingsAccount alice;
+    private SavingsAccount bob;
+
+    @BeforeEach
+    public void setUp() {
+        BankingEventLog.setSink(NoOpEventSink.INSTANCE);
+        alice = new SavingsAccount("Alice", 100.0);
+        bob = new SavingsAccount("Bob", 0.0);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        BankingEventLog.setSink(ConsoleEventSink.INSTANCE);
+    }
+
+    @Test
+    @DisplayName("Balance as of any past timestamp matches a full replay")
+    public void testBalanceAsOfMatchesFullReplay() {
+        EventSourcedLedger ledger = new EventSourcedLedger(8);
+        ledger.openAccount(alice.getAccountNumber(), 10000, 0);
+        ledger.openAccount(bob.getAccountNumber(), 0, 0);
+        long[] expectedAlice = new long[201];
+        expectedAlice[0] = 10000;
+        for (int t = 1; t <= 200; t++) {
+            ITransaction transaction = t % 3 == 0
+                    ? new TransferTransaction(alice, bob, 0.5)
+                    : new DepositTransaction(alice, t / 100.0);
+            ledger.append(transaction, t * 1000L);
+            expectedAlice[t] = expectedAlice[t - 1] + (t % 3 == 0 ? -50 : t);
+        }
+
+        for (int t = 0; t <= 200; t++) {
+            assertEquals(expectedAlice[t], ledger.getBalanceCentsAsOf(alice.getAccountNumber(), t * 1000L + 500));
+        }
+        assertEquals(expectedAlice[200], ledger.getBalanceCents(alice.getAccountNumber()));
+        assertEquals(66 * 50, ledger.getBalanceCents(bob.getAccountNumber()));
+        assertEquals(200 / 8, ledger.getCheckpointCount(alice.getAccountNumber()));
+        assertEquals(66, ledger.getPostingCount(bob.getAccountNumber()));
+    }
+
+    @Test
+    @DisplayName("Concurrent postings to shared and separate accounts are all kept, in time order")
+    public void testConcurrentAppends() throws Exception {
+        EventSourcedLedger ledger = new EventSourcedLedger(8);
+        ledger.openAccount(bob.getAccountNumber(), 0, 0);
+        SavingsAccount[] own = new SavingsAccount[4];
+        for (int i = 0; i < own.length; i++) {
+            own[i] = new SavingsAccount("Holder " + i, 0.0);
+            ledger.openAccount(own[i].getAccountNumber(), 0, 0);
+        }
+        Thread[] writers = new Thread[own.length];
+        for (int i = 0; i < writers.length; i++) {
+            SavingsAccount account = own[i];
+            writers[i] = new Thread(() -> {
+                for (int t = 1; t <= 1000; t++) {
+                    ledger.append(new DepositTransaction(account, 0.01), t);
+                    ledger.append(new DepositTransaction(bob, 0.01), t);
+                }
+            });
+            writers[i].start();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+
+        for (SavingsAccount account : own) {
+            assertEquals(1000, ledger.getBalanceCents(account.getAccountNumber()));
+            assertEquals(500, ledger.getBalanceCentsAsOf(account.getAccountNumber(), 500));
+        }
+        assertEquals(4000, ledger.getPostingCount(bob.getAccountNumber()));
+        assertEquals(4000, ledger.getBalanceCentsAsOf(bob.getAccountNumber(), Long.MAX_VALUE));
+        assertEquals(500, ledger.getCheckpointCount(bob.getAccountNumber()));
+    }
+
+    @Test
+    @DisplayName("Queries before an account was opened or for unknown accounts are rejected")
+    public void testInvalidQueries() {
+        EventSourcedLedger ledger = new EventSourcedLedger();
+        ledger.openAccount(alice.getAccountNumber(), 10000, 5000);
+        assertThrows(IllegalArgumentException.class, () -> ledger.getBalanceCentsAsOf(alice.getAccountNumber(), 4999));
+        assertEquals(10000, ledger.getBalanceCentsAsOf(alice.getAccountNumber(), 5000));
+        assertThrows(IllegalArgumentException.class, () -> ledger.getBalanceCents("999999"));
+        assertThrows(IllegalArgumentException.class, () -> ledger.openAccount(alice.getAccountNumber(), 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new EventSourcedLedger(0));
+    }
+
+    @Test
+    @DisplayName("The bank keeps its ledger in step with live balances")
+    public void testBankLedgerTracksBalances() {
+        Bank bank = new Bank();
+        bank.addAccount(alice);
+        bank.addAccount(bob);
+        long opened = System.currentTimeMillis();
+        for (int i = 0; i < 150; i++) {
+            bank.executeTransaction(new DepositTransaction(alice, 1.0));
+            bank.executeTransaction(new TransferTransaction(alice, bob, 0.5));
+        }
+        assertThrows(RuntimeException.class, () -> bank.executeTransaction(new WithdrawalTransaction(bob, 1000.0)));
+
+        long now = System.currentTimeMillis();
+        assertEquals(alice.getBalance(), bank.getBalanceAsOf(alice.getAccountNumber(), now));
+        assertEquals(bob.getBalance(), bank.getBalanceAsOf(bob.getAccountNumber(), now));
+        assertEquals(alice.getBalanceCents(), bank.getLedger().getBalanceCents(alice.getAccountNumber()));
+        assertTrue(bank.getLedger().getCheckpointCount(alice.getAccountNumber()) >= 4);
+        assertThrows(AccountNotFoundException.class, () -> bank.getBalanceAsOf("999999", now));
+        assertThrows(IllegalArgumentException.class, () -> bank.getBalanceAsOf(alice.getAccountNumber(), opened - 60_000));
+    }
+}
@@ -0,0 +1,85 @@
+package banksystemTests;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import java.lang.management.ManagementFactory;
+
+import com.gevernova.bankingsystem.model.*;
+import com.gevernova.bankingsystem.service.*;
+
+public class FixedPointBalanceTest {
+    private Account savingsAccount;
+    private Account currentAccount;
+
+    @BeforeEach
+    public void setUp() {
+        BankingEventLog.setSink(NoOpEventSink.INSTANCE);
+        savingsAccount = new SavingsAccount("John Doe", 1000.0);
+        currentAccount = new CurrentAccount("Jane Smith", 15000.0);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        BankingEventLog.setSink(ConsoleEventSink.INSTANCE);
+    }
+
+    @Test
+    @DisplayName("Balances are kept in minor units")
+    public void testBalanceInMinorUnits() {
+        assertEquals(100000L, savingsAccount.getBalanceCents());
+        assertEquals(200000L, currentAccount.getMinimumBalanceCents());
+        assertEquals(2000.0, currentAccount.getMinimumBalance());
+
+        savingsAccount.deposit(0.35);
+        assertEquals(100035L, savingsAccount.getBalanceCents());
+        assertEquals(1000.35, savingsAccount.getBalance());
+    }
+
+    @Test
+    @DisplayName("Repeated fractional deposits do not drift")
+    public void testNoRoundingDrift() {
+        for (int i = 0; i < 1000; i++) {
+            savingsAccount.deposit(0.1);
+        }
+        for (int i = 0; i < 1000; i++) {
+            savingsAccount.withdraw(0.1);
+        }
+        assertEquals(1000.0, savingsAccount.getBalance());
+        assertEquals(100000L, savingsAccount.getBalanceCents());
+    }
+
+    @Test
+    @DisplayName("Amounts that round to zero minor units are rejected")
+    public void testSubCentAmountRejected() {
+        assertThrows(IllegalArgumentException.class, () -> savingsAccount.deposit(0.001));
+        assertThrows(IllegalArgumentException.class, () -> savingsAccount.withdrawCents(0));
+    }
+
+    @Test
+    @DisplayName("Minimum balance is enforced in minor units")
+    public void testCanWithdrawCents() {
+        assertTrue(currentAccount.canWithdrawCents(1300000L));  // leaves exactly 2000.00
+        assertFalse(currentAccount.canWithdrawCents(1300001L)); // one cent below the minimum
+    }
+
+    @Test
+    @DisplayName("Deposit/withdraw hot path allocates nothing with the no-op event sink")
+    public void testHotPathIsAllocationFree() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < 20_000; i++) {
+            savingsAccount.depositCents(125);
+            savingsAccount.withdrawCents(125);
+        }
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < 100_000; i++) {
+            savingsAccount.depositCents(125);
+            savingsAccount.withdrawCents(125);
+            currentAccount.canWithdrawCents(500);
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        // A single object per operation would already be several megabytes
+        assertTrue(allocated < 4096, "Hot path allocated " + allocated + " bytes");
+        assertEquals(100000L, savingsAccount.getBalanceCents());
+    }
+}
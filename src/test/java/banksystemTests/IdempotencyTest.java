@@ -0,0 +1,189 @@
+package banksystemTests;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.gevernova.bankingsystem.exceptionhandling.InvalidBalanceException;
+import com.gevernova.bankingsystem.model.*;
+import com.gevernova.bankingsystem.service.ConsoleEventSink;
+import com.gevernova.bankingsystem.service.DepositTransaction;
+import com.gevernova.bankingsystem.service.IdempotentTransaction;
+import com.gevernova.bankingsystem.service.NoOpEventSink;
+import com.gevernova.bankingsystem.service.WithdrawalTransaction;
+
+public class IdempotencyTest {
+    private Bank bank;
+    private SavingsAccount account;
+
+    @BeforeEach
+    public void setUp() {
+        BankingEventLog.setSink(NoOpEventSink.INSTANCE);
+        bank = new Bank();
+        account = new SavingsAccount("Holder", 1000.0);
+        bank.addAccount(account);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        bank.shutdown();
+        BankingEventLog.setSink(ConsoleEventSink.INSTANCE);
+    }
+
+    @Test
+    @DisplayName("A retried keyed transaction is applied only once")
+    public void testDuplicateIsNotReapplied() {
+        bank.executeTransaction(new IdempotentTransaction("dep-1", new DepositTransaction(account, 100.0)));
+        bank.executeTransaction(new IdempotentTransaction("dep-1", new DepositTransaction(account, 100.0)));
+        bank.executeTransaction(new IdempotentTransaction("dep-2", new DepositTransaction(account, 100.0)));
+
+        assertEquals(1200.0, account.getBalance());
+        assertEquals(2, bank.getHistoryStore().size());
+    }
+
+    @Test
+    @DisplayName("A retried failure reports the original failure without running again")
+    public void testDuplicateFailureIsReplayed() {
+        ITransaction overdraw = new IdempotentTransaction("wd-1", new WithdrawalTransaction(account, 5000.0));
+        assertThrows(InvalidBalanceException.class, () -> bank.executeTransaction(overdraw));
+        bank.performDeposit(account.getAccountNumber(), 5000.0);
+
+        // Funds are there now, but the key already has a recorded outcome
+        assertThrows(InvalidBalanceException.class, () -> bank.executeTransaction(overdraw));
+        assertEquals(6000.0, account.getBalance());
+    }
+
+    @Test
+    @DisplayName("Concurrent duplicate submissions all get the same single result")
+    public void testConcurrentDuplicateSubmissions() throws Exception {
+        List<CompletableFuture<TransactionResult>> futures = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            futures.add(bank.submit(new IdempotentTransaction("dep-async", new DepositTransaction(account, 10.0))));
+        }
+        for (CompletableFuture<TransactionResult> future : futures) {
+            assertTrue(future.get(10, TimeUnit.SECONDS).isSuccess());
+        }
+        assertEquals(1010.0, account.getBalance());
+    }
+
+    @Test
+    @DisplayName("Entries expire after the TTL and the cache never exceeds its capacity")
+    public void testTtlAndCapacity() {
+        AtomicLong now = new AtomicLong(0);
+        IdempotencyCache cache = new IdempotencyCache(3, 1000, now::get);
+        Bank small = new Bank(null, cache);
+        small.addAccount(new SavingsAccount("Other", 0.0));
+
+        small.executeTransaction(new IdempotentTransaction("a", new DepositTransaction(account, 1.0)));
+        now.set(2000);
+        small.executeTransaction(new IdempotentTransaction("a", new DepositTransaction(account, 1.0)));
+        assertEquals(1002.0, account.getBalance()); // Expired, so it ran again
+
+        for (String key : new String[] {"b", "c", "d", "e"}) {
+            small.executeTransaction(new IdempotentTransaction(key, new DepositTransaction(account, 1.0)));
+        }
+        assertEquals(3, cache.size());
+        assertNull(cache.get("a")); // Oldest, evicted first
+        assertNotNull(cache.get("e"));
+    }
+
+    @Test
+    @DisplayName("A retried failure is reported with the exception type of the first attempt")
+    public void testDuplicateKeepsExceptionType() {
+        ITransaction invalid = new IdempotentTransaction("neg-1", new DepositTransaction(account, -5.0));
+        assertThrows(IllegalArgumentException.class, () -> bank.executeTransaction(invalid));
+        assertThrows(IllegalArgumentException.class, () -> bank.executeTransaction(invalid));
+    }
+
+    @Test
+    @DisplayName("A recently read entry does not shield expired entries behind it from the sweep")
+    public void testExpirySweepIgnoresReads() {
+        AtomicLong now = new AtomicLong(0);
+        IdempotencyCache cache = new IdempotencyCache(10, 1000, now::get);
+        cache.putIfAbsent("a", CompletableFuture.completedFuture(null));
+        now.set(600);
+        cache.putIfAbsent("b", CompletableFuture.completedFuture(null));
+        now.set(700);
+        assertNotNull(cache.get("a"));
+
+        now.set(1200); // "a" has expired, "b" has not
+        cache.putIfAbsent("c", CompletableFuture.completedFuture(null));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    @DisplayName("Entries whose transaction is still running are never evicted")
+    public void testInFlightEntriesAreKept() {
+        IdempotencyCache cache = new IdempotencyCache(1, 1000, () -> 0);
+        CompletableFuture<TransactionResult> running = new CompletableFuture<>();
+        assertNull(cache.putIfAbsent("running", running));
+        assertNull(cache.putIfAbsent("next", CompletableFuture.completedFuture(null)));
+        assertSame(running, cache.get("running"));
+
+        running.complete(null);
+        cache.putIfAbsent("last", CompletableFuture.completedFuture(null));
+        assertNull(cache.get("running"));
+    }
+
+    @Test
+    @DisplayName("Concurrent inserts of overlapping keys give each key exactly one owner and respect the capacity")
+    public void testConcurrentInserts() throws Exception {
+        IdempotencyCache cache = new IdempotencyCache(500, 1000, () -> 0);
+        AtomicInteger owners = new AtomicInteger();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 400; i++) {
+                    if (cache.putIfAbsent("key-" + i, CompletableFuture.completedFuture(null)) == null) {
+                        owners.incrementAndGet();
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(400, owners.get());
+        assertEquals(400, cache.size());
+
+        for (int i = 400; i < 1000; i++) {
+            cache.putIfAbsent("key-" + i, CompletableFuture.completedFuture(null));
+        }
+        assertEquals(500, cache.size());
+        assertNull(cache.get("key-0")); // Oldest completed entries made room
+        assertNotNull(cache.get("key-999"));
+    }
+
+    @Test
+    @DisplayName("Keyed transactions in a batch are deduplicated within the batch and across retries")
+    public void testBatchDeduplication() {
+        List<ITransaction> batch = List.of(
+                new IdempotentTransaction("batch-1", new DepositTransaction(account, 100.0)),
+                new IdempotentTransaction("batch-1", new DepositTransaction(account, 100.0)),
+                new IdempotentTransaction("batch-2", new WithdrawalTransaction(account, 5000.0)));
+        List<TransactionResult> first = bank.executeBatch(batch);
+        List<TransactionResult> retry = bank.executeBatch(batch);
+
+        assertEquals(1100.0, account.getBalance());
+        assertTrue(first.get(0).isSuccess() && first.get(1).isSuccess() && retry.get(0).isSuccess());
+        assertFalse(retry.get(2).isSuccess());
+        assertEquals(first.get(2).getFailureReason(), retry.get(2).getFailureReason());
+        assertThrows(InvalidBalanceException.class, () -> bank.executeTransaction(batch.get(2)));
+    }
+
+    @Test
+    @DisplayName("Untagged transactions are never deduplicated")
+    public void testUntaggedTransactions() {
+        ITransaction deposit = new DepositTransaction(account, 50.0);
+        bank.executeTransaction(deposit);
+        bank.executeTransaction(deposit);
+        assertEquals(1100.0, account.getBalance());
+        assertThrows(IllegalArgumentException.class, () -> new IdempotentTransaction("", deposit));
+    }
+}
@@ -0,0 +1,111 @@
+package banksystemTests;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import com.gevernova.bankingsystem.model.*;
+import com.gevernova.bankingsystem.service.*;
+
+public class MonthEndAccrualTest {
+    private Bank bank;
+    private final PrintStream originalOut = System.out;
+
+    @BeforeEach
+    public void setUp() {
+        BankingEventLog.setSink(NoOpEventSink.INSTANCE);
+        System.setOut(new PrintStream(OutputStream.nullOutputStream())); // batch summaries
+        bank = new Bank();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        System.setOut(originalOut);
+        BankingEventLog.setSink(ConsoleEventSink.INSTANCE);
+    }
+
+    @Test
+    @DisplayName("Savings accounts earn monthly interest")
+    public void testInterestOnSavings() {
+        Account savings = new SavingsAccount("John Doe", 1200.0);
+        bank.addAccount(savings);
+
+        AccrualReport report = new MonthEndAccrualEngine(bank, 0.12, 50.0).run();
+
+        assertEquals(1212.0, savings.getBalance()); // 1% per month
+        assertEquals(1, report.getInterestPostings());
+        assertEquals(12.0, report.getTotalInterest());
+        assertEquals(0, report.getFeePostings());
+    }
+
+    @Test
+    @DisplayName("Current accounts below the minimum balance are charged a fee")
+    public void testFeeOnCurrentBelowMinimum() {
+        Account below = new CurrentAccount("Below Minimum", 1500.0);
+        Account above = new CurrentAccount("Above Minimum", 5000.0);
+        Account almostEmpty = new CurrentAccount("Almost Empty", 20.0);
+        bank.addAccount(below);
+        bank.addAccount(above);
+        bank.addAccount(almostEmpty);
+
+        AccrualReport report = new MonthEndAccrualEngine(bank, 0.12, 50.0).run();
+
+        assertEquals(1450.0, below.getBalance());
+        assertEquals(5000.0, above.getBalance());
+        assertEquals(0.0, almostEmpty.getBalance()); // fee is capped at the remaining balance
+        assertEquals(2, report.getFeePostings());
+        assertEquals(70.0, report.getTotalFees());
+        assertEquals(0, report.getFailedPostings());
+    }
+
+    @Test
+    @DisplayName("Accrual postings are recorded in the transaction history")
+    public void testPostingsAreRecorded() {
+        Account savings = new SavingsAccount("John Doe", 1200.0);
+        bank.addAccount(savings);
+        new MonthEndAccrualEngine(bank, 0.12, 50.0).run();
+
+        long[] credited = new long[1];
+        bank.getHistoryStore().forEachForAccount(savings.getAccountNumber(), 0, Long.MAX_VALUE,
+                (row, type, amountCents, timestamp) -> credited[0] += amountCents);
+        assertEquals(1200L, credited[0]);
+    }
+
+    @Test
+    @DisplayName("Large account sets are split across fork/join batches")
+    public void testParallelRun() {
+        List<Account> savings = new ArrayList<>();
+        List<Account> current = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            Account s = new SavingsAccount("Saver " + i, 100.0);
+            Account c = new CurrentAccount("Spender " + i, 1000.0);
+            bank.addAccount(s);
+            bank.addAccount(c);
+            savings.add(s);
+            current.add(c);
+        }
+
+        AccrualReport report = new MonthEndAccrualEngine(bank, 0.12, 25.0, 512, new ForkJoinPool(4)).run();
+
+        assertEquals(20_000, report.getAccountsProcessed());
+        assertEquals(10_000, report.getInterestPostings());
+        assertEquals(10_000, report.getFeePostings());
+        assertEquals(10_000.0, report.getTotalInterest());
+        assertEquals(250_000.0, report.getTotalFees());
+        assertTrue(report.getAccountsPerSecond() > 0);
+        assertTrue(savings.stream().allMatch(a -> a.getBalanceCents() == 10100L));
+        assertTrue(current.stream().allMatch(a -> a.getBalanceCents() == 97500L));
+    }
+
+    @Test
+    @DisplayName("Invalid configuration is rejected")
+    public void testInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new MonthEndAccrualEngine(null, 0.1, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> new MonthEndAccrualEngine(bank, -0.1, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> new MonthEndAccrualEngine(bank, 0.1, 1.0, 0, ForkJoinPool.commonPool()));
+    }
+}
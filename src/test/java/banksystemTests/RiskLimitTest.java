@@ -0,0 +1,123 @@
+package banksystemTests;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.gevernova.bankingsystem.exceptionhandling.InvalidBalanceException;
+import com.gevernova.bankingsystem.exceptionhandling.RiskLimitExceededException;
+import com.gevernova.bankingsystem.model.*;
+import com.gevernova.bankingsystem.service.*;
+
+public class RiskLimitTest {
+    private static final long MINUTE = 60_000L;
+    private static final long HOUR = 60 * MINUTE;
+
+    private AtomicLong now;
+    private TransactionProcessor processor;
+    private SavingsAccount alice;
+    private SavingsAccount bob;
+
+    @BeforeEach
+    public void setUp() {
+        BankingEventLog.setSink(NoOpEventSink.INSTANCE);
+        now = new AtomicLong(10 * 24 * HOUR);
+        processor = new TransactionProcessor(now::get);
+        alice = new SavingsAccount("Alice", 10000.0);
+        bob = new SavingsAccount("Bob", 10000.0);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        BankingEventLog.setSink(ConsoleEventSink.INSTANCE);
+    }
+
+    @Test
+    @DisplayName("Daily withdrawal cap covers withdrawals and transfers and rolls off after 24 hours")
+    public void testDailyWithdrawalLimit() {
+        processor.addLimit(new DailyWithdrawalLimit(1000.0));
+        processor.process(new WithdrawalTransaction(alice, 600.0));
+        processor.process(new TransferTransaction(alice, bob, 300.0));
+        processor.process(new DepositTransaction(alice, 5000.0)); // Credits do not count
+
+        RiskLimitExceededException e = assertThrows(RiskLimitExceededException.class,
+                () -> processor.process(new WithdrawalTransaction(alice, 200.0)));
+        assertTrue(e.getMessage().contains(alice.getAccountNumber()));
+        processor.process(new WithdrawalTransaction(bob, 900.0)); // Separate account, separate cap
+
+        now.addAndGet(24 * HOUR + MINUTE);
+        processor.process(new WithdrawalTransaction(alice, 1000.0));
+    }
+
+    @Test
+    @DisplayName("Velocity limit counts transactions in a rolling window")
+    public void testVelocityLimit() {
+        processor.addLimit(new VelocityLimit(3, MINUTE));
+        for (int i = 0; i < 3; i++) {
+            processor.process(new DepositTransaction(alice, 1.0));
+        }
+        assertThrows(RiskLimitExceededException.class, () -> processor.process(new DepositTransaction(alice, 1.0)));
+
+        now.addAndGet(MINUTE + 1000);
+        processor.process(new DepositTransaction(alice, 1.0));
+    }
+
+    @Test
+    @DisplayName("Counterparty cap applies per source and target pair")
+    public void testCounterpartyTransferLimit() {
+        SavingsAccount carol = new SavingsAccount("Carol", 0.0);
+        processor.addLimit(new CounterpartyTransferLimit(500.0, HOUR));
+        processor.process(new TransferTransaction(alice, bob, 500.0));
+        assertThrows(RiskLimitExceededException.class, () -> processor.process(new TransferTransaction(alice, bob, 0.01)));
+        processor.process(new TransferTransaction(alice, carol, 500.0));
+        processor.process(new TransferTransaction(bob, alice, 500.0));
+    }
+
+    @Test
+    @DisplayName("Usage is handed back when the transaction itself fails")
+    public void testFailedTransactionReleasesUsage() {
+        processor.addLimit(new VelocityLimit(1, MINUTE));
+        processor.addLimit(new DailyWithdrawalLimit(100000.0));
+        assertThrows(InvalidBalanceException.class, () -> processor.process(new WithdrawalTransaction(alice, 20000.0)));
+        processor.process(new WithdrawalTransaction(alice, 100.0)); // The failed attempt did not use up the velocity slot
+        assertEquals(9900.0, alice.getBalance());
+    }
+
+    @Test
+    @DisplayName("Batches report limit violations as failed items")
+    public void testLimitsInBatch() {
+        processor.addLimit(new DailyWithdrawalLimit(100.0));
+        List<TransactionResult> results = processor.processBatch(List.of(
+                new WithdrawalTransaction(alice, 80.0),
+                new WithdrawalTransaction(alice, 80.0),
+                new WithdrawalTransaction(bob, 80.0)));
+        assertTrue(results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+        assertTrue(results.get(1).getFailureReason().startsWith("Daily withdrawal limit"));
+        assertTrue(results.get(2).isSuccess());
+    }
+
+    @Test
+    @DisplayName("Limits registered on the bank apply to its transactions")
+    public void testBankRiskLimits() {
+        Bank bank = new Bank();
+        bank.addAccount(alice);
+        bank.addRiskLimit(new DailyWithdrawalLimit(50.0));
+        bank.performWithdrawal(alice.getAccountNumber(), 50.0);
+        assertThrows(RiskLimitExceededException.class, () -> bank.performWithdrawal(alice.getAccountNumber(), 1.0));
+    }
+
+    @Test
+    @DisplayName("Sliding window drops buckets that leave the window")
+    public void testSlidingWindowCounter() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(1000, 10);
+        assertTrue(counter.tryAdd(0, 5, 10));
+        assertTrue(counter.tryAdd(500, 5, 10));
+        assertFalse(counter.tryAdd(900, 1, 10));
+        assertEquals(5, counter.total(1050));
+        counter.subtract(500, 5);
+        assertEquals(0, counter.total(1050));
+        assertThrows(IllegalArgumentException.class, () -> new SlidingWindowCounter(5, 10));
+    }
+}
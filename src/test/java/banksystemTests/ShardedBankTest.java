@@ -0,0 +1,172 @@
+package banksystemTests;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import com.gevernova.bankingsystem.exceptionhandling.AccountNotFoundException;
+import com.gevernova.bankingsystem.exceptionhandling.InvalidBalanceException;
+import com.gevernova.bankingsystem.exceptionhandling.RiskLimitExceededException;
+import com.gevernova.bankingsystem.model.*;
+import com.gevernova.bankingsystem.service.ConsoleEventSink;
+import com.gevernova.bankingsystem.service.DailyWithdrawalLimit;
+import com.gevernova.bankingsystem.service.NoOpEventSink;
+
+public class ShardedBankTest {
+    private static final int SHARD_COUNT = 4;
+
+    private ShardedBank bank;
+    private List<Account> accounts;
+
+    @BeforeEach
+    public void setUp() {
+        BankingEventLog.setSink(NoOpEventSink.INSTANCE);
+        bank = new ShardedBank(SHARD_COUNT);
+        accounts = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            Account account = new SavingsAccount("Holder " + i, 1000.0);
+            bank.addAccount(account);
+            accounts.add(account);
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        bank.shutdown();
+        BankingEventLog.setSink(ConsoleEventSink.INSTANCE);
+    }
+
+    private Account[] crossShardPair() {
+        for (Account a : accounts) {
+            for (Account b : accounts) {
+                if (bank.shardFor(a.getAccountNumber()) != bank.shardFor(b.getAccountNumber())) {
+                    return new Account[] {a, b};
+                }
+            }
+        }
+        throw new AssertionError("All accounts landed on one shard");
+    }
+
+    @Test
+    @DisplayName("Accounts are spread over the shards and found again by number")
+    public void testRouting() {
+        int[] perShard = new int[SHARD_COUNT];
+        for (Account account : accounts) {
+            int shard = bank.shardFor(account.getAccountNumber());
+            perShard[shard]++;
+            assertSame(account, bank.getShard(shard).getBank().getAccount(account.getAccountNumber()));
+            assertSame(account, bank.getAccount(account.getAccountNumber()));
+        }
+        for (int count : perShard) {
+            assertTrue(count > 0);
+        }
+        assertEquals(40, bank.getAllAccountNumbers().size());
+        assertThrows(AccountNotFoundException.class, () -> bank.getAccount("999999999"));
+    }
+
+    @Test
+    @DisplayName("Cross-shard transfers commit both legs and record each on its own shard")
+    public void testCrossShardTransfer() {
+        Account[] pair = crossShardPair();
+        bank.performTransfer(pair[0].getAccountNumber(), pair[1].getAccountNumber(), 250.0);
+
+        assertEquals(750.0, pair[0].getBalance());
+        assertEquals(1250.0, pair[1].getBalance());
+        assertEquals(0, pair[0].getHeldCents());
+        ShardNode source = bank.getShard(bank.shardFor(pair[0].getAccountNumber()));
+        ShardNode target = bank.getShard(bank.shardFor(pair[1].getAccountNumber()));
+        assertEquals(0, source.getPreparedCount());
+        assertEquals(1, source.getBank().getMetrics().getCount("TRANSFER", BankMetrics.Outcome.SUCCESS));
+        assertEquals(1, target.getBank().getMetrics().getCount("TRANSFER", BankMetrics.Outcome.SUCCESS));
+    }
+
+    @Test
+    @DisplayName("A credit that fails after landing still commits the debit, leaving nothing on hold")
+    public void testFailureAfterCreditCommitsDebit() {
+        Account from = accounts.get(0);
+        Account failing = null;
+        for (int i = 0; failing == null; i++) {
+            Account candidate = new SavingsAccount("Failing " + i, 0.0) {
+                @Override
+                public void depositCents(long amountCents) {
+                    super.depositCents(amountCents);
+                    throw new IllegalStateException("Failed after crediting.");
+                }
+            };
+            if (bank.shardFor(candidate.getAccountNumber()) != bank.shardFor(from.getAccountNumber())) {
+                failing = candidate;
+            }
+        }
+        bank.addAccount(failing);
+        String target = failing.getAccountNumber();
+
+        assertThrows(IllegalStateException.class, () -> bank.performTransfer(from.getAccountNumber(), target, 100.0));
+        assertEquals(100.0, failing.getBalance());
+        assertEquals(900.0, from.getBalance()); // The credit landed, so the transfer completed
+        assertEquals(0, from.getHeldCents());
+        assertEquals(0, bank.getShard(bank.shardFor(from.getAccountNumber())).getPreparedCount());
+    }
+
+    @Test
+    @DisplayName("A failed prepare leaves no hold and no money moved")
+    public void testAbortedTransfers() {
+        Account[] pair = crossShardPair();
+        assertThrows(InvalidBalanceException.class,
+                () -> bank.performTransfer(pair[0].getAccountNumber(), pair[1].getAccountNumber(), 5000.0));
+        bank.getShard(bank.shardFor(pair[1].getAccountNumber())).getBank().removeAccount(pair[1].getAccountNumber());
+        assertThrows(AccountNotFoundException.class,
+                () -> bank.performTransfer(pair[0].getAccountNumber(), pair[1].getAccountNumber(), 10.0));
+
+        assertEquals(1000.0, pair[0].getBalance());
+        assertEquals(0, pair[0].getHeldCents());
+        assertEquals(0, bank.getShard(bank.shardFor(pair[0].getAccountNumber())).getPreparedCount());
+    }
+
+    @Test
+    @DisplayName("Risk limits apply to cross-shard transfers and are released on abort")
+    public void testRiskLimitsAcrossShards() {
+        Account[] pair = crossShardPair();
+        bank.addRiskLimit(new DailyWithdrawalLimit(300.0));
+        bank.performTransfer(pair[0].getAccountNumber(), pair[1].getAccountNumber(), 200.0);
+        assertThrows(RiskLimitExceededException.class,
+                () -> bank.performTransfer(pair[0].getAccountNumber(), pair[1].getAccountNumber(), 200.0));
+        bank.performWithdrawal(pair[0].getAccountNumber(), 100.0); // The rejected transfer did not use up the cap
+        assertEquals(700.0, pair[0].getBalance());
+    }
+
+    @Test
+    @DisplayName("Concurrent mixed transfers conserve money across shards")
+    public void testConcurrentTransfersConserveMoney() throws Exception {
+        long expected = bank.snapshotBalances().getTotalCents();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            final int seed = t;
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    Account from = accounts.get((seed + i) % accounts.size());
+                    Account to = accounts.get((seed * 7 + i * 3 + 1) % accounts.size());
+                    try {
+                        bank.performTransfer(from.getAccountNumber(), to.getAccountNumber(), 1.0);
+                    } catch (InvalidBalanceException ignored) {
+                        // Running dry is fine, only conservation matters
+                    }
+                    if (i % 100 == 0) {
+                        assertEquals(expected, bank.snapshotBalances().getTotalCents());
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+        assertEquals(expected, bank.snapshotBalances().getTotalCents());
+        for (Account account : accounts) {
+            assertEquals(0, account.getHeldCents());
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package banksystemTests;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.gevernova.bankingsystem.model.*;
+
+public class TransactionJournalTest {
+    @TempDir
+    Path tempDir;
+
+    private Account savingsAccount;
+    private Account currentAccount;
+    private final PrintStream originalOut = System.out;
+
+    @BeforeEach
+    public void setUp() {
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        savingsAccount = new SavingsAccount("John Doe", 1000.0);
+        currentAccount = new CurrentAccount("Jane Smith", 15000.0);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    @Test
+    @DisplayName("Executed transactions are journaled as fixed-width records")
+    public void testTransactionsAreJournaled() throws Exception {
+        Path file = tempDir.resolve("bank.journal");
+        try (TransactionJournal journal = new TransactionJournal(file)) {
+            Bank bank = new Bank(journal);
+            bank.addAccount(savingsAccount);
+            bank.addAccount(currentAccount);
+            bank.performDeposit(savingsAccount.getAccountNumber(), 500.0);
+            bank.performTransfer(currentAccount.getAccountNumber(), savingsAccount.getAccountNumber(), 2000.0);
+            assertThrows(RuntimeException.class, () -> bank.performWithdrawal(savingsAccount.getAccountNumber(), 99999.0));
+        }
+
+        try (TransactionJournal reopened = new TransactionJournal(file)) {
+            assertEquals(6, reopened.getCommittedCount()); // Two openings of two records each, the deposit and the transfer
+            List<long[]> records = new ArrayList<>();
+            reopened.replay(0, (type, from, to, amount, timestamp) -> records.add(new long[]{type, from, to, amount}));
+            long savings = Long.parseLong(savingsAccount.getAccountNumber());
+            long current = Long.parseLong(currentAccount.getAccountNumber());
+            assertArrayEquals(new long[]{TransactionJournal.TYPE_DEPOSIT, TransactionJournal.NO_ACCOUNT, savings, 50000}, records.get(0));
+            assertArrayEquals(new long[]{TransactionJournal.TYPE_TRANSFER, current, savings, 200000}, records.get(1));
+        }
+    }
+
+    @Test
+    @DisplayName("Balances are rebuilt on restart by replaying the journal")
+    public void testReplayRebuildsBalances() throws Exception {
+        Path file = tempDir.resolve("bank.journal");
+        long opened;
+        try (TransactionJournal journal = new TransactionJournal(file)) {
+            Bank bank = new Bank(journal);
+            bank.addAccount(savingsAccount);
+            bank.addAccount(currentAccount);
+            opened = System.currentTimeMillis();
+            Thread.sleep(2);
+            bank.performDeposit(savingsAccount.getAccountNumber(), 500.0);     // Savings 1500
+            bank.performWithdrawal(currentAccount.getAccountNumber(), 1000.0); // Current 14000
+            bank.performTransfer(currentAccount.getAccountNumber(), savingsAccount.getAccountNumber(), 2000.0); // 12000 / 3500
+        }
+
+        // Simulate a restart: the accounts come back with their opening balances only
+        savingsAccount.withdraw(2500.0);
+        currentAccount.deposit(3000.0);
+        assertEquals(1000.0, savingsAccount.getBalance());
+        assertEquals(15000.0, currentAccount.getBalance());
+
+        try (TransactionJournal journal = new TransactionJournal(file)) {
+            Bank restarted = new Bank(journal);
+            restarted.addAccount(savingsAccount);
+            restarted.addAccount(currentAccount);
+            assertEquals(0, restarted.replayJournal());
+            long now = System.currentTimeMillis();
+            assertEquals(3500.0, restarted.getBalanceAsOf(savingsAccount.getAccountNumber(), now));
+            assertEquals(1000.0, restarted.getBalanceAsOf(savingsAccount.getAccountNumber(), opened)); // Before the first deposit
+            assertEquals(12000.0, restarted.getBalanceAsOf(currentAccount.getAccountNumber(), now));
+        }
+        assertEquals(3500.0, savingsAccount.getBalance());
+        assertEquals(12000.0, currentAccount.getBalance());
+    }
+
+    @Test
+    @DisplayName("Replay recreates accounts missing at restart and reports records for accounts never opened")
+    public void testReplayCountsUnregisteredAccounts() throws Exception {
+        Path file = tempDir.resolve("bank.journal");
+        try (TransactionJournal journal = new TransactionJournal(file)) {
+            Bank bank = new Bank(journal);
+            bank.addAccount(savingsAccount);
+            bank.addAccount(currentAccount);
+            bank.performDeposit(savingsAccount.getAccountNumber(), 500.0);
+            bank.performDeposit(currentAccount.getAccountNumber(), 500.0);
+            bank.performTransfer(currentAccount.getAccountNumber(), savingsAccount.getAccountNumber(), 2000.0);
+            journal.append(TransactionJournal.TYPE_DEPOSIT, TransactionJournal.NO_ACCOUNT, 999_999_999L, 100, System.currentTimeMillis());
+        }
+
+        // Restart with only the savings account registered, back at its opening balance
+        savingsAccount.withdraw(2500.0);
+        try (TransactionJournal journal = new TransactionJournal(file)) {
+            Bank restarted = new Bank(journal);
+            restarted.addAccount(savingsAccount);
+            assertEquals(1, restarted.replayJournal()); // Only the deposit into an account that was never opened
+            assertEquals(13500.0, restarted.getAccount(currentAccount.getAccountNumber()).getBalance());
+        }
+        assertEquals(3500.0, savingsAccount.getBalance());
+    }
+
+    @Test
+    @DisplayName("A cold start rebuilds every account from the journal alone")
+    public void testColdStartFromJournal() throws Exception {
+        Path file = tempDir.resolve("cold.journal");
+        Account closed = new SavingsAccount("Closed Account", 10.0);
+        long opened;
+        try (TransactionJournal journal = new TransactionJournal(file)) {
+            Bank bank = new Bank(journal);
+            bank.addAccount(savingsAccount);
+            bank.addAccount(currentAccount);
+            bank.addAccount(closed);
+            opened = System.currentTimeMillis();
+            Thread.sleep(2);
+            bank.performTransfer(currentAccount.getAccountNumber(), savingsAccount.getAccountNumber(), 2000.0);
+            bank.removeAccount(closed.getAccountNumber());
+        }
+
+        try (TransactionJournal journal = new TransactionJournal(file)) {
+            Bank restarted = new Bank(journal);
+            assertEquals(0, restarted.replayJournal());
+            assertEquals(2, restarted.getAllAccountNumbers().size());
+            Account savings = restarted.getAccount(savingsAccount.getAccountNumber());
+            assertNotSame(savingsAccount, savings);
+            assertEquals("John Doe", savings.getAccountHolderName());
+            assertEquals(AccountType.SAVINGS, savings.getAccountType());
+            assertEquals(3000.0, savings.getBalance());
+            assertEquals(1000.0, restarted.getBalanceAsOf(savings.getAccountNumber(), opened)); // History survives
+            Account current = restarted.getAccount(currentAccount.getAccountNumber());
+            assertInstanceOf(CurrentAccount.class, current);
+            assertEquals(13000.0, current.getBalance());
+            assertFalse(restarted.isAccountPresent(closed.getAccountNumber()));
+            assertFalse(restarted.isAccountPresent(new SavingsAccount("Newcomer", 0.0).getAccountNumber()));
+        }
+    }
+
+    @Test
+    @DisplayName("A quiet journal still commits within the maximum delay, and a bank commits on shutdown")
+    public void testCommitWithoutFullGroup() throws Exception {
+        try (TransactionJournal journal = new TransactionJournal(tempDir.resolve("timed.journal"), 256, 20)) {
+            journal.append(TransactionJournal.TYPE_DEPOSIT, TransactionJournal.NO_ACCOUNT, 1000, 100, 0);
+            long deadline = System.currentTimeMillis() + 5000;
+            while (journal.getCommittedCount() < 1 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            assertEquals(1, journal.getCommittedCount());
+        }
+
+        try (TransactionJournal journal = new TransactionJournal(tempDir.resolve("shutdown.journal"), 1024, 60_000)) {
+            Bank bank = new Bank(journal);
+            bank.addAccount(savingsAccount);
+            bank.performDeposit(savingsAccount.getAccountNumber(), 1.0);
+            assertEquals(0, journal.getCommittedCount());
+            bank.close();
+            assertEquals(journal.getRecordCount(), journal.getCommittedCount());
+        }
+    }
+
+    @Test
+    @DisplayName("Only group-committed records survive and replay spans mapped regions")
+    public void testGroupCommitAndLargeReplay() throws Exception {
+        Path file = tempDir.resolve("large.journal");
+        int count = 600_000; // more than one mapped region
+        try (TransactionJournal journal = new TransactionJournal(file, 1024)) {
+            for (int i = 0; i < count; i++) {
+                journal.append(TransactionJournal.TYPE_DEPOSIT, TransactionJournal.NO_ACCOUNT, 1000, 100, i);
+            }
+            assertEquals(count, journal.getRecordCount());
+            assertTrue(journal.getCommittedCount() <= count);
+        }
+        try (TransactionJournal reopened = new TransactionJournal(file)) {
+            assertEquals(count, reopened.getCommittedCount());
+            long[] sum = new long[2];
+            reopened.replay(0, (type, from, to, amount, timestamp) -> {
+                sum[0] += amount;
+                sum[1] = timestamp;
+            });
+            assertEquals(count * 100L, sum[0]);
+            assertEquals(count - 1, sum[1]);
+        }
+    }
+
+    @Test
+    @DisplayName("Opening a file that is not a journal fails")
+    public void testRejectsForeignFile() throws Exception {
+        Path file = tempDir.resolve("not-a-journal");
+        Files.write(file, new byte[64]);
+        assertThrows(java.io.IOException.class, () -> new TransactionJournal(file));
+    }
+}
@@ -0,0 +1,144 @@
+package banksystemTests;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import com.gevernova.bankingsystem.model.*;
+import com.gevernova.bankingsystem.service.*;
+
+public class TransactionSubmitterTest {
+    private Bank bank;
+    private Account savingsAccount;
+    private Account currentAccount;
+
+    @BeforeEach
+    public void setUp() {
+        BankingEventLog.setSink(NoOpEventSink.INSTANCE);
+        bank = new Bank();
+        savingsAccount = new SavingsAccount("John Doe", 1000.0);
+        currentAccount = new CurrentAccount("Jane Smith", 15000.0);
+        bank.addAccount(savingsAccount);
+        bank.addAccount(currentAccount);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        bank.shutdown();
+        BankingEventLog.setSink(ConsoleEventSink.INSTANCE);
+    }
+
+    @Test
+    @DisplayName("Submitted transactions complete asynchronously with a result")
+    public void testSubmitCompletesWithResult() throws Exception {
+        TransactionResult deposit = bank.submit(new DepositTransaction(savingsAccount, 500.0)).get(10, TimeUnit.SECONDS);
+        TransactionResult overdraft = bank.submit(new WithdrawalTransaction(currentAccount, 14000.0)).get(10, TimeUnit.SECONDS);
+
+        assertTrue(deposit.isSuccess());
+        assertFalse(overdraft.isSuccess());
+        assertTrue(overdraft.getFailureReason().contains("Insufficient balance"));
+        assertEquals(1500.0, savingsAccount.getBalance());
+        assertEquals(15000.0, currentAccount.getBalance());
+    }
+
+    @Test
+    @DisplayName("Transactions on the same account run in submission order")
+    public void testSameAccountIsSerialized() throws Exception {
+        List<CompletableFuture<TransactionResult>> futures = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            futures.add(bank.submit(new DepositTransaction(savingsAccount, 10.0)));
+            // Only valid if the deposit submitted just before it has already been applied
+            futures.add(bank.submit(new WithdrawalTransaction(savingsAccount, 1005.0)));
+            futures.add(bank.submit(new DepositTransaction(savingsAccount, 995.0)));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get(30, TimeUnit.SECONDS);
+
+        assertTrue(futures.stream().allMatch(f -> f.join().isSuccess()));
+        assertEquals(1000.0, savingsAccount.getBalance());
+    }
+
+    @Test
+    @DisplayName("Many callers submitting to many accounts")
+    public void testConcurrentSubmitters() throws Exception {
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            Account account = new SavingsAccount("Holder " + i, 0.0);
+            bank.addAccount(account);
+            accounts.add(account);
+        }
+        List<CompletableFuture<TransactionResult>> futures = new CopyOnWriteArrayList<>();
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            callers.submit(() -> {
+                for (int i = 0; i < 320; i++) {
+                    futures.add(bank.submit(new DepositTransaction(accounts.get(i % 32), 1.0)));
+                }
+            });
+        }
+        callers.shutdown();
+        assertTrue(callers.awaitTermination(30, TimeUnit.SECONDS));
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get(30, TimeUnit.SECONDS);
+
+        for (Account account : accounts) {
+            assertEquals(40.0, account.getBalance());
+        }
+    }
+
+    @Test
+    @DisplayName("A full account queue rejects further submissions instead of blocking")
+    public void testBackpressure() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        try (TransactionSubmitter submitter = new TransactionSubmitter(2, transaction -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return TransactionResult.success(transaction);
+        })) {
+            ITransaction deposit = new DepositTransaction(savingsAccount, 1.0);
+            CompletableFuture<TransactionResult> running = submitter.submit(deposit);
+            assertTrue(started.await(10, TimeUnit.SECONDS)); // first task is now off the queue
+            CompletableFuture<TransactionResult> queued1 = submitter.submit(deposit);
+            CompletableFuture<TransactionResult> queued2 = submitter.submit(deposit);
+            CompletableFuture<TransactionResult> rejected = submitter.submit(deposit);
+
+            ExecutionException failure = assertThrows(ExecutionException.class, () -> rejected.get(10, TimeUnit.SECONDS));
+            assertInstanceOf(RejectedExecutionException.class, failure.getCause());
+
+            // Another account has its own queue and is not affected
+            CompletableFuture<TransactionResult> other = submitter.submit(new DepositTransaction(currentAccount, 1.0));
+
+            release.countDown();
+            assertTrue(running.get(10, TimeUnit.SECONDS).isSuccess());
+            assertTrue(queued1.get(10, TimeUnit.SECONDS).isSuccess());
+            assertTrue(queued2.get(10, TimeUnit.SECONDS).isSuccess());
+            assertTrue(other.get(10, TimeUnit.SECONDS).isSuccess());
+        }
+    }
+
+    @Test
+    @DisplayName("Submissions after close fail the future and idle queues are released")
+    public void testSubmitAfterClose() throws Exception {
+        TransactionSubmitter submitter = new TransactionSubmitter(4, TransactionResult::success);
+        assertTrue(submitter.submit(new DepositTransaction(savingsAccount, 1.0)).get(10, TimeUnit.SECONDS).isSuccess());
+        submitter.close();
+        assertEquals(0, submitter.getActiveQueueCount());
+
+        CompletableFuture<TransactionResult> late = submitter.submit(new DepositTransaction(savingsAccount, 1.0));
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> late.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(RejectedExecutionException.class, failure.getCause());
+        assertEquals(0, submitter.getActiveQueueCount());
+    }
+
+    @Test
+    @DisplayName("Null submissions fail the future")
+    public void testNullSubmission() {
+        CompletableFuture<TransactionResult> future = bank.submit(null);
+        assertTrue(future.isCompletedExceptionally());
+    }
+}
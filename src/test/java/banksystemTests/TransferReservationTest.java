@@ -0,0 +1,189 @@
+package banksystemTests;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import com.gevernova.bankingsystem.exceptionhandling.InvalidBalanceException;
+import com.gevernova.bankingsystem.model.*;
+import com.gevernova.bankingsystem.service.NoOpEventSink;
+import com.gevernova.bankingsystem.service.ConsoleEventSink;
+import com.gevernova.bankingsystem.service.TransferTransaction;
+
+public class TransferReservationTest {
+    private SavingsAccount source;
+    private SavingsAccount target;
+
+    @BeforeEach
+    public void setUp() {
+        BankingEventLog.setSink(NoOpEventSink.INSTANCE);
+        source = new SavingsAccount("Source", 1000.0); // no minimum balance
+        target = new SavingsAccount("Target", 1000.0);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        BankingEventLog.setSink(ConsoleEventSink.INSTANCE);
+    }
+
+    // Target whose credit leg is always rejected up front, to exercise compensation
+    private static class RejectingAccount extends Account {
+        RejectingAccount() {
+            super("Rejecting", AccountType.SAVINGS, 0.0);
+        }
+
+        @Override
+        public void depositCents(long amountCents) {
+            throw new IllegalArgumentException("Deposits are switched off.");
+        }
+
+        @Override
+        public void withdrawCents(long amountCents) {
+            throw new IllegalStateException("Withdrawals are switched off.");
+        }
+
+        @Override
+        public boolean canWithdrawCents(long amountCents) {
+            return false;
+        }
+
+        @Override
+        public long getMinimumBalanceCents() {
+            return 0;
+        }
+    }
+
+    @Test
+    @DisplayName("A hold reduces the available balance and blocks withdrawals against it")
+    public void testHoldBlocksWithdrawal() {
+        Reservation hold = source.placeHold(90000);
+
+        assertEquals(100000, source.getBalanceCents());
+        assertEquals(10000, source.getAvailableBalanceCents());
+        assertFalse(source.canWithdraw(200.0));
+        assertThrows(InvalidBalanceException.class, () -> source.withdraw(200.0));
+        assertThrows(InvalidBalanceException.class, () -> source.placeHold(20000));
+
+        hold.release();
+        assertEquals(0, source.getHeldCents());
+        assertTrue(source.canWithdraw(200.0));
+    }
+
+    @Test
+    @DisplayName("Committing a hold debits the account exactly once")
+    public void testCommitHold() {
+        Reservation hold = source.placeHold(25000);
+        hold.commit();
+
+        assertEquals(75000, source.getBalanceCents());
+        assertEquals(0, source.getHeldCents());
+        assertFalse(hold.isPending());
+        assertThrows(IllegalStateException.class, hold::commit);
+        assertThrows(IllegalStateException.class, hold::release);
+    }
+
+    @Test
+    @DisplayName("Transfers move funds and leave no hold behind")
+    public void testTransferCommitsBothLegs() {
+        new TransferTransaction(source, target, 300.0).execute();
+
+        assertEquals(700.0, source.getBalance());
+        assertEquals(1300.0, target.getBalance());
+        assertEquals(0, source.getHeldCents());
+    }
+
+    @Test
+    @DisplayName("A failed credit leg is compensated and the source keeps its money")
+    public void testFailedDepositIsCompensated() {
+        Account rejecting = new RejectingAccount();
+
+        assertThrows(IllegalArgumentException.class, () -> new TransferTransaction(source, rejecting, 300.0).execute());
+        assertEquals(1000.0, source.getBalance());
+        assertEquals(0, source.getHeldCents());
+        assertEquals(0.0, rejecting.getBalance());
+    }
+
+    @Test
+    @DisplayName("An unexpected failure after the credit still commits the hold")
+    public void testFailureAfterCreditCommitsHold() {
+        Account failing = new SavingsAccount("Failing", 0.0) {
+            @Override
+            public void depositCents(long amountCents) {
+                super.depositCents(amountCents);
+                throw new IllegalStateException("Failed after crediting.");
+            }
+        };
+
+        assertThrows(IllegalStateException.class, () -> new TransferTransaction(source, failing, 300.0).execute());
+        assertEquals(300.0, failing.getBalance());
+        assertEquals(700.0, source.getBalance()); // The credit landed, so the debit follows
+        assertEquals(0, source.getHeldCents());
+    }
+
+    @Test
+    @DisplayName("An unexpected failure before the credit releases the hold")
+    public void testFailureBeforeCreditReleasesHold() {
+        Account failing = new SavingsAccount("Failing", 0.0) {
+            @Override
+            public void depositCents(long amountCents) {
+                throw new IllegalStateException("Failed before crediting.");
+            }
+        };
+
+        assertThrows(IllegalStateException.class, () -> new TransferTransaction(source, failing, 300.0).execute());
+        assertEquals(0.0, failing.getBalance());
+        assertEquals(1000.0, source.getBalance());
+        assertEquals(0, source.getHeldCents());
+    }
+
+    @Test
+    @DisplayName("Insufficient available balance fails the transfer before anything moves")
+    public void testInsufficientFundsTransfer() {
+        assertThrows(InvalidBalanceException.class, () -> new TransferTransaction(source, target, 1100.0).execute());
+        assertEquals(1000.0, source.getBalance());
+        assertEquals(1000.0, target.getBalance());
+    }
+
+    @Test
+    @DisplayName("Fees cannot consume funds that are on hold")
+    public void testFeeRespectsHold() {
+        source.placeHold(90000);
+        assertThrows(InvalidBalanceException.class, () -> source.chargeFeeCents(20000));
+        assertEquals(100000, source.getBalanceCents());
+    }
+
+    @Test
+    @DisplayName("Concurrent transfers in both directions conserve money without deadlock")
+    public void testConcurrentOpposingTransfers() throws Exception {
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            accounts.add(new SavingsAccount("Holder " + i, 10000.0));
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            final int seed = t;
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < 2000; i++) {
+                    Account from = accounts.get((seed + i) % 8);
+                    Account to = accounts.get((seed + i + 1 + (i % 3)) % 8);
+                    new TransferTransaction(from, to, 1.0).execute();
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        long total = 0;
+        for (Account account : accounts) {
+            total += account.getBalanceCents();
+            assertEquals(0, account.getHeldCents());
+        }
+        assertEquals(8 * 1000000L, total);
+    }
+}
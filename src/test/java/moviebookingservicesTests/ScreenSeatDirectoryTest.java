@@ -0,0 +1,47 @@
+package moviebookingservicesTests;
+
+import com.gevernova.movingbookingsystem.model.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScreenSeatDirectoryTest {
+
+    @Test
+    @DisplayName("Seat directory maps every seat id to its dense index")
+    void directoryMatchesSeatList() {
+        Screen screen = new Screen("SCR-DIR", "Directory Screen", 20, 25);
+        assertEquals(20, screen.getRows());
+        assertEquals(25, screen.getColumns());
+        for (int index = 0; index < screen.getCapacity(); index++) {
+            Seat seat = screen.getSeats().get(index);
+            assertEquals(index, screen.getSeatIndex(seat.getId()));
+            assertSame(seat, screen.getSeat(index));
+            assertSame(seat, screen.getSeatById(seat.getId()));
+        }
+        assertEquals(26, screen.getSeatIndex("B2"));
+        assertEquals(-1, screen.getSeatIndex("A26"));
+        assertNull(screen.getSeatById("Z1"));
+    }
+
+    @Test
+    @DisplayName("Show seat views resolve through the screen's directory")
+    void showResolvesSeatsByIndex() {
+        Screen screen = new Screen("SCR-SHOW", "Show Screen", 3, 4);
+        Movie movie = new Movie("MOV-DIR", "Directory Movie", "Description", 90, new Category("CAT-DIR", "Drama"));
+        Show show = new Show("SHW-DIR", movie, new Multiplex("MPX-DIR", "Directory Multiplex", "Somewhere"), screen, new Date());
+
+        show.updateSeatStatus("C4", SeatStatus.Status.HELD, "alice");
+        SeatStatus seatStatus = show.getSeatStatus("C4");
+        assertEquals(11, seatStatus.getIndex());
+        assertEquals("C4", seatStatus.getSeat().getId());
+        assertEquals(SeatStatus.Status.HELD, seatStatus.getStatus());
+        assertEquals("alice", seatStatus.getHeldByUserId());
+        assertNull(show.getSeatStatus("D1"));
+        assertEquals(12, show.getSeatStatuses().size());
+    }
+}
@@ -0,0 +1,165 @@
+package moviebookingservicesTests;
+
+import com.gevernova.movingbookingsystem.model.*;
+import com.gevernova.movingbookingsystem.services.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeatHoldTest {
+
+    private UserService userService;
+    private ShowSchedulingService showSchedulingService;
+    private BookingService bookingService;
+    private TicketService ticketService;
+
+    private User alice;
+    private User bob;
+    private Show show;
+    private PaymentDetails paymentDetails;
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+
+    @BeforeEach
+    void setUp() {
+        CategoryService categoryService = new CategoryService();
+        MovieService movieService = new MovieService(categoryService);
+        MultiplexManagementService multiplexManagementService = new MultiplexManagementService();
+        showSchedulingService = new ShowSchedulingService(movieService, multiplexManagementService);
+        userService = new UserService();
+        ticketService = new TicketService();
+        bookingService = new BookingService(showSchedulingService, userService, ticketService, clock::get);
+
+        Category category = categoryService.addCategory("Action");
+        Movie movie = movieService.addMovie("Hold Movie", "Description", 120, category.getName());
+        Multiplex multiplex = multiplexManagementService.addMultiplex("Hold Multiplex", "Hold Location");
+        Screen screen = multiplexManagementService.addScreenToMultiplex(multiplex.getId(), "Hold Screen", 5, 10);
+        show = showSchedulingService.scheduleShow(movie.getId(), multiplex.getId(), screen.getId(), new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)));
+        alice = userService.registerUser("alice", "password", "alice@example.com");
+        bob = userService.registerUser("bob", "password", "bob@example.com");
+        paymentDetails = new PaymentDetails("Credit Card", 100.0, "TXN-HOLD");
+    }
+
+    @Test
+    @DisplayName("Failed hold leaves none of the requested seats held")
+    void failedHoldHoldsNothing() {
+        bookingService.holdSeats(show.getId(), List.of("A3"), alice.getUsername());
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> bookingService.holdSeats(show.getId(), List.of("A1", "A2", "A3"), bob.getUsername()));
+        assertTrue(exception.getMessage().contains("Seat A3 is not available"));
+        assertEquals(SeatStatus.Status.AVAILABLE, show.getSeatStatus("A1").getStatus());
+        assertEquals(SeatStatus.Status.AVAILABLE, show.getSeatStatus("A2").getStatus());
+        assertEquals(alice.getUsername(), show.getSeatStatus("A3").getHeldByUserId());
+    }
+
+    @Test
+    @DisplayName("Held seats can only be booked by their holder")
+    void heldSeatsBookedByHolder() {
+        bookingService.holdSeats(show.getId(), List.of("B1", "B2"), alice.getUsername());
+
+        assertThrows(IllegalStateException.class,
+                () -> bookingService.bookSeats(show.getId(), List.of("B2"), bob.getUsername(), paymentDetails));
+
+        List<Ticket> tickets = bookingService.bookSeats(show.getId(), List.of("B1", "B2"), alice.getUsername(), paymentDetails);
+        assertEquals(2, tickets.size());
+        assertEquals(SeatStatus.Status.BOOKED, show.getSeatStatus("B1").getStatus());
+        assertNull(show.getSeatStatus("B1").getHeldByUserId());
+
+        assertTrue(bookingService.cancelBooking(tickets.get(0).getId()));
+        assertEquals(SeatStatus.Status.AVAILABLE, show.getSeatStatus(tickets.get(0).getSeat().getId()).getStatus());
+    }
+
+    @Test
+    @DisplayName("Unknown seats are rejected before anything is held")
+    void unknownSeatRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> bookingService.holdSeats(show.getId(), List.of("A1", "Z9"), alice.getUsername()));
+        assertEquals(SeatStatus.Status.AVAILABLE, show.getSeatStatus("A1").getStatus());
+    }
+
+    @Test
+    @DisplayName("Expired holds are released together on the next tick")
+    void expiredHoldsReleased() {
+        bookingService.holdSeats(show.getId(), List.of("C1", "C2"), alice.getUsername());
+        clock.addAndGet(TimeUnit.SECONDS.toMillis(10));
+        bookingService.holdSeats(show.getId(), List.of("C3"), bob.getUsername());
+
+        clock.addAndGet(TimeUnit.SECONDS.toMillis(295));
+        assertEquals(2, bookingService.expireHolds());
+        assertEquals(SeatStatus.Status.AVAILABLE, show.getSeatStatus("C1").getStatus());
+        assertEquals(SeatStatus.Status.HELD, show.getSeatStatus("C3").getStatus());
+        assertEquals(1, bookingService.getPendingHoldCount());
+
+        clock.addAndGet(TimeUnit.SECONDS.toMillis(10));
+        assertEquals(1, bookingService.expireHolds());
+        assertEquals(0, bookingService.getPendingHoldCount());
+    }
+
+    @Test
+    @DisplayName("Booking held seats cancels their expiry")
+    void bookingCancelsExpiry() {
+        bookingService.holdSeats(show.getId(), List.of("D1", "D2"), alice.getUsername());
+        bookingService.holdSeats(show.getId(), List.of("D5"), alice.getUsername());
+        assertEquals(2, bookingService.getPendingHoldCount());
+
+        bookingService.bookSeats(show.getId(), List.of("D1", "D2"), alice.getUsername(), paymentDetails);
+        assertEquals(1, bookingService.getPendingHoldCount()); // D5 is still held
+
+        clock.addAndGet(TimeUnit.MINUTES.toMillis(10));
+        assertEquals(1, bookingService.expireHolds());
+        assertEquals(SeatStatus.Status.BOOKED, show.getSeatStatus("D1").getStatus());
+        assertEquals(SeatStatus.Status.AVAILABLE, show.getSeatStatus("D5").getStatus());
+    }
+
+    @Test
+    @DisplayName("An old hold's expiry leaves seats the same user held again alone")
+    void expiryReleasesOnlyItsOwnSeats() {
+        bookingService.holdSeats(show.getId(), List.of("E1", "E2"), alice.getUsername());
+        List<Ticket> tickets = bookingService.bookSeats(show.getId(), List.of("E1"), alice.getUsername(), paymentDetails);
+        bookingService.cancelBooking(tickets.get(0).getId());
+
+        clock.addAndGet(TimeUnit.SECONDS.toMillis(200));
+        bookingService.holdSeats(show.getId(), List.of("E1"), alice.getUsername()); // New hold on a seat the first one lost
+        assertEquals(2, bookingService.getPendingHoldCount());
+
+        clock.addAndGet(TimeUnit.SECONDS.toMillis(105));
+        assertEquals(1, bookingService.expireHolds()); // Only E2, still carried by the first hold
+        assertEquals(SeatStatus.Status.AVAILABLE, show.getSeatStatus("E2").getStatus());
+        assertEquals(SeatStatus.Status.HELD, show.getSeatStatus("E1").getStatus());
+        assertEquals(1, bookingService.getPendingHoldCount());
+    }
+
+    @Test
+    @DisplayName("Failed payment puts the claimed seats back")
+    void failedPaymentReleasesSeats() {
+        PaymentDetails overpayment = new PaymentDetails("Credit Card", 500.0, "TXN-OVER"); // Rejected for one 120.0 seat
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> bookingService.bookSeats(show.getId(), List.of("E5"), alice.getUsername(), overpayment));
+        assertEquals("Payment failed for booking.", exception.getMessage());
+        assertEquals(SeatStatus.Status.AVAILABLE, show.getSeatStatus("E5").getStatus());
+        assertEquals(50, bookingService.getAvailableSeatCount(show.getId()));
+    }
+
+    @Test
+    @DisplayName("Seat picker sees counts and a best block that skip held seats")
+    void bestAvailableSeatsSkipHeldSeats() {
+        assertEquals(50, bookingService.getAvailableSeatCount(show.getId()));
+        bookingService.holdSeats(show.getId(), List.of("C3", "C4", "C5", "C6", "C7", "C8"), alice.getUsername());
+        assertEquals(44, bookingService.getAvailableSeatCount(show.getId()));
+        assertEquals(44, bookingService.getAvailableSeats(show.getId()).size());
+
+        // The middle row C keeps two free seats at each end, so the block moves one row back
+        assertEquals(List.of("C1", "C2"), bookingService.findBestAvailableSeats(show.getId(), 2).stream().map(Seat::getId).toList());
+        assertEquals(List.of("D4", "D5", "D6"), bookingService.findBestAvailableSeats(show.getId(), 3).stream().map(Seat::getId).toList());
+        assertTrue(bookingService.findBestAvailableSeats(show.getId(), 11).isEmpty());
+    }
+}
@@ -0,0 +1,244 @@
+package moviebookingservicesTests;
+
+import com.gevernova.movingbookingsystem.model.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeatMapTest {
+
+    private SeatMap seatMap;
+
+    @BeforeEach
+    void setUp() {
+        seatMap = new SeatMap(4, 40); // Rows wider than one word
+    }
+
+    @Test
+    @DisplayName("Seats start available and are addressed by row and column")
+    void seatsStartAvailable() {
+        assertEquals(160, seatMap.getCapacity());
+        assertEquals(41, seatMap.indexOf(1, 1));
+        for (int seat = 0; seat < seatMap.getCapacity(); seat++) {
+            assertEquals(SeatStatus.Status.AVAILABLE, seatMap.getStatus(seat));
+        }
+        assertThrows(IllegalArgumentException.class, () -> seatMap.indexOf(4, 0));
+        assertThrows(IllegalArgumentException.class, () -> seatMap.indexOf(0, 40));
+    }
+
+    @Test
+    @DisplayName("Multi-seat hold takes every seat or none")
+    void holdIsAllOrNothing() {
+        int[] first = {seatMap.indexOf(0, 30), seatMap.indexOf(0, 31), seatMap.indexOf(0, 32), seatMap.indexOf(2, 5)};
+        assertTrue(seatMap.tryHold(first, "alice"));
+        assertEquals("alice", seatMap.getHolder(seatMap.indexOf(0, 32)));
+
+        // Overlaps alice on the last seat only: the seats before it must be rolled back
+        int[] second = {seatMap.indexOf(0, 0), seatMap.indexOf(1, 39), seatMap.indexOf(2, 5)};
+        assertFalse(seatMap.tryHold(second, "bob"));
+        assertEquals(SeatStatus.Status.AVAILABLE, seatMap.getStatus(seatMap.indexOf(0, 0)));
+        assertEquals(SeatStatus.Status.AVAILABLE, seatMap.getStatus(seatMap.indexOf(1, 39)));
+        assertNull(seatMap.getHolder(seatMap.indexOf(1, 39)));
+        assertEquals("alice", seatMap.getHolder(seatMap.indexOf(2, 5)));
+    }
+
+    @Test
+    @DisplayName("Booking accepts available seats and the user's own holds only")
+    void bookRespectsHolder() {
+        int held = seatMap.indexOf(3, 3);
+        int free = seatMap.indexOf(3, 4);
+        assertTrue(seatMap.tryHold(new int[]{held}, "alice"));
+
+        assertFalse(seatMap.tryBook(new int[]{free, held}, "bob"));
+        assertEquals(SeatStatus.Status.AVAILABLE, seatMap.getStatus(free));
+
+        assertTrue(seatMap.tryBook(new int[]{free, held}, "alice"));
+        assertEquals(SeatStatus.Status.BOOKED, seatMap.getStatus(held));
+        assertNull(seatMap.getHolder(held));
+        assertFalse(seatMap.tryHold(new int[]{free}, "bob"));
+
+        assertTrue(seatMap.cancel(free));
+        assertEquals(SeatStatus.Status.AVAILABLE, seatMap.getStatus(free));
+        assertFalse(seatMap.cancel(free));
+    }
+
+    @Test
+    @DisplayName("Release only frees seats still held by the same user")
+    void releaseChecksHolder() {
+        int[] seats = {seatMap.indexOf(1, 0), seatMap.indexOf(1, 1)};
+        assertTrue(seatMap.tryHold(seats, "alice"));
+        assertEquals(0, seatMap.release(seats, "bob"));
+        assertEquals(2, seatMap.release(seats, "alice"));
+        assertTrue(seatMap.tryHold(seats, "bob"));
+        assertEquals(0, seatMap.release(seats, "alice"));
+    }
+
+    @Test
+    @DisplayName("Releasing a hold frees only the seats that still carry its id")
+    void releaseHoldChecksHoldId() {
+        int[] seats = {seatMap.indexOf(0, 0), seatMap.indexOf(0, 1)};
+        long first = seatMap.placeHold(seats, "alice");
+        assertNotEquals(SeatMap.NO_HOLD, first);
+        assertEquals(first, seatMap.getHoldId(seats[1]));
+        assertEquals(1, seatMap.release(new int[]{seats[0]}, "alice"));
+
+        long second = seatMap.placeHold(new int[]{seats[0]}, "alice");
+        assertNotEquals(first, second);
+        assertEquals(1, seatMap.releaseHold(seats, first)); // Seat 0 now belongs to the second hold
+        assertEquals("alice", seatMap.getHolder(seats[0]));
+        assertEquals(SeatMap.NO_HOLD, seatMap.getHoldId(seats[1]));
+    }
+
+    @Test
+    @DisplayName("Duplicate or out of range seats are rejected")
+    void invalidSeatsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> seatMap.tryHold(new int[]{1, 1}, "alice"));
+        assertThrows(IllegalArgumentException.class, () -> seatMap.tryHold(new int[]{160}, "alice"));
+        assertThrows(IllegalArgumentException.class, () -> seatMap.tryHold(new int[0], "alice"));
+        assertThrows(IllegalArgumentException.class, () -> new SeatMap(0, 10));
+    }
+
+    @Test
+    @DisplayName("Available counts per row and per show follow every transition")
+    void availableCountsTrackTransitions() {
+        int[] seats = {seatMap.indexOf(0, 31), seatMap.indexOf(0, 32), seatMap.indexOf(2, 0)};
+        assertTrue(seatMap.tryHold(seats, "alice"));
+        assertEquals(157, seatMap.getAvailableCount());
+        assertEquals(38, seatMap.getAvailableCount(0));
+        assertEquals(39, seatMap.getAvailableCount(2));
+
+        assertFalse(seatMap.tryHold(new int[]{seatMap.indexOf(1, 0), seatMap.indexOf(2, 0)}, "bob")); // Rolled back
+        assertEquals(40, seatMap.getAvailableCount(1));
+
+        assertTrue(seatMap.tryBook(new int[]{seatMap.indexOf(0, 31), seatMap.indexOf(3, 39)}, "alice"));
+        assertEquals(39, seatMap.getAvailableCount(3));
+        assertEquals(2, seatMap.release(seats, "alice"));
+        assertTrue(seatMap.cancel(seatMap.indexOf(0, 31)));
+        assertEquals(159, seatMap.getAvailableCount());
+
+        int[] visited = {0};
+        seatMap.forEachAvailable(seat -> {
+            assertEquals(SeatStatus.Status.AVAILABLE, seatMap.getStatus(seat));
+            visited[0]++;
+        });
+        assertEquals(159, visited[0]);
+    }
+
+    @Test
+    @DisplayName("Best contiguous block prefers the middle row and the centre of the row")
+    void findsBestContiguousBlock() {
+        SeatMap small = new SeatMap(5, 10);
+        assertEquals(small.indexOf(2, 3), small.findBestContiguous(4));
+
+        // Break up the middle row so no block of 4 fits: the next row back is used
+        assertTrue(small.tryHold(new int[]{small.indexOf(2, 2), small.indexOf(2, 5), small.indexOf(2, 8)}, "alice"));
+        assertEquals(small.indexOf(3, 3), small.findBestContiguous(4));
+        assertEquals(small.indexOf(2, 3), small.findBestContiguous(2));
+        assertEquals(-1, small.findBestContiguous(11));
+        assertThrows(IllegalArgumentException.class, () -> small.findBestContiguous(0));
+    }
+
+    @Test
+    @DisplayName("Contiguous runs are found across word boundaries and never include padding")
+    void findsRunsAcrossWords() {
+        SeatMap wide = new SeatMap(1, 100);
+        int[] blocked = new int[90];
+        for (int column = 0; column < 90; column++) {
+            blocked[column] = column < 20 ? column : column + 10; // Leaves columns 20..29 free
+        }
+        assertTrue(wide.tryHold(blocked, "alice"));
+        assertEquals(20, wide.findBestContiguous(10));
+        assertEquals(-1, wide.findBestContiguous(11));
+
+        SeatMap tail = new SeatMap(1, 33);
+        int[] allButLast = new int[30];
+        for (int column = 0; column < 30; column++) {
+            allButLast[column] = column;
+        }
+        assertTrue(tail.tryHold(allButLast, "alice"));
+        assertEquals(30, tail.findBestContiguous(3));
+        assertEquals(-1, tail.findBestContiguous(4));
+    }
+
+    @Test
+    @DisplayName("Concurrent overlapping holds never share a seat")
+    void concurrentHoldsNeverOverlap() throws InterruptedException {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger heldSeats = new AtomicInteger();
+        for (int t = 0; t < threads; t++) {
+            String user = "user" + t;
+            executor.submit(() -> {
+                start.await();
+                // Sliding pairs that straddle word and row boundaries
+                for (int seat = 0; seat + 1 < seatMap.getCapacity(); seat++) {
+                    if (seatMap.tryHold(new int[]{seat, seat + 1}, user)) {
+                        heldSeats.addAndGet(2);
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        int held = 0;
+        for (int seat = 0; seat < seatMap.getCapacity(); seat++) {
+            if (seatMap.getStatus(seat) == SeatStatus.Status.HELD) {
+                held++;
+                assertNotNull(seatMap.getHolder(seat));
+            }
+        }
+        assertEquals(heldSeats.get(), held);
+        assertEquals(seatMap.getCapacity() - held, seatMap.getAvailableCount());
+    }
+
+    @Test
+    @DisplayName("A hold that backs out never undoes a concurrent setStatus")
+    void failedHoldKeepsConcurrentSetStatus() throws InterruptedException {
+        int contested = seatMap.indexOf(1, 0);
+        int booked = seatMap.indexOf(1, 32); // Next word of the row, so every hold takes the first word and backs out
+        seatMap.setStatus(booked, SeatStatus.Status.BOOKED, null);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger overwritten = new AtomicInteger();
+        Future<?> holds = executor.submit(() -> {
+            start.await();
+            for (int i = 0; i < 20_000; i++) {
+                assertFalse(seatMap.tryHold(new int[]{contested, booked}, "alice"));
+            }
+            return null;
+        });
+        executor.submit(() -> {
+            start.await();
+            for (int i = 0; i < 20_000; i++) {
+                seatMap.setStatus(contested, SeatStatus.Status.HELD, "admin");
+                if (seatMap.getStatus(contested) != SeatStatus.Status.HELD || !"admin".equals(seatMap.getHolder(contested))) {
+                    overwritten.incrementAndGet();
+                }
+                seatMap.setStatus(contested, SeatStatus.Status.AVAILABLE, null);
+            }
+            return null;
+        });
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertDoesNotThrow(() -> holds.get());
+        assertEquals(0, overwritten.get());
+        assertEquals(SeatStatus.Status.AVAILABLE, seatMap.getStatus(contested));
+        assertEquals(seatMap.getCapacity() - 1, seatMap.getAvailableCount());
+    }
+}
@@ -122,5 +122,64 @@ class ShowSchedulingServiceTest {
         List<Show> shows = showSchedulingService.getAllShows();
         assertFalse(shows.isEmpty());
     }
-}
 
+    @Test
+    @DisplayName("Back-to-back shows are allowed, shows running into the next one are not")
+    void scheduleShowChecksBothNeighbours() {
+        long hour = TimeUnit.HOURS.toMillis(1);
+        showSchedulingService.scheduleShow(movie.getId(), multiplex.getId(), screen.getId(), showTime);
+        showSchedulingService.scheduleShow(movie.getId(), multiplex.getId(), screen.getId(), new Date(showTime.getTime() + 4 * hour));
+        showSchedulingService.scheduleShow(movie.getId(), multiplex.getId(), screen.getId(), new Date(showTime.getTime() + 2 * hour));
+
+        // Starts before the show at +2h and would still be running when it begins
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                showSchedulingService.scheduleShow(movie.getId(), multiplex.getId(), screen.getId(), new Date(showTime.getTime() - hour)));
+        assertTrue(exception.getMessage().contains("overlaps"));
+        assertThrows(IllegalArgumentException.class, () ->
+                showSchedulingService.scheduleShow(movie.getId(), multiplex.getId(), screen.getId(), new Date(showTime.getTime() + 3 * hour)));
+
+        Screen otherScreen = multiplexManagementService.addScreenToMultiplex(multiplex.getId(), "Other Screen", 5, 10);
+        assertNotNull(showSchedulingService.scheduleShow(movie.getId(), multiplex.getId(), otherScreen.getId(), showTime));
+    }
+
+    @Test
+    @DisplayName("Shows on screen between two times include the one already running")
+    void getShowsOnScreenBetweenTimes() {
+        long hour = TimeUnit.HOURS.toMillis(1);
+        Show first = showSchedulingService.scheduleShow(movie.getId(), multiplex.getId(), screen.getId(), showTime);
+        Show second = showSchedulingService.scheduleShow(movie.getId(), multiplex.getId(), screen.getId(), new Date(showTime.getTime() + 2 * hour));
+        Show third = showSchedulingService.scheduleShow(movie.getId(), multiplex.getId(), screen.getId(), new Date(showTime.getTime() + 5 * hour));
+
+        List<Show> playing = showSchedulingService.getShowsOnScreen(multiplex.getId(), screen.getId(),
+                new Date(showTime.getTime() + hour), new Date(showTime.getTime() + 5 * hour));
+        assertEquals(List.of(first, second), playing);
+
+        playing = showSchedulingService.getShowsOnScreen(multiplex.getId(), screen.getId(),
+                new Date(showTime.getTime() + 4 * hour), new Date(showTime.getTime() + 6 * hour));
+        assertEquals(List.of(third), playing);
+
+        assertTrue(showSchedulingService.getShowsOnScreen(multiplex.getId(), screen.getId(),
+                new Date(showTime.getTime() - 2 * hour), showTime).isEmpty());
+        assertTrue(showSchedulingService.getShowsOnScreen(multiplex.getId(), "unknownScreen", showTime,
+                new Date(showTime.getTime() + hour)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Editing a movie's duration does not change the slots of shows already scheduled")
+    void durationChangeKeepsScheduledSlots() {
+        long hour = TimeUnit.HOURS.toMillis(1);
+        Show first = showSchedulingService.scheduleShow(movie.getId(), multiplex.getId(), screen.getId(), showTime);
+        Show second = showSchedulingService.scheduleShow(movie.getId(), multiplex.getId(), screen.getId(), new Date(showTime.getTime() + 2 * hour));
+        movie.setDurationMinutes(300);
+
+        // Both shows still end when they were scheduled to, so the gap after the second one stays free
+        assertNotNull(showSchedulingService.scheduleShow(movie.getId(), multiplex.getId(), screen.getId(), new Date(showTime.getTime() + 4 * hour)));
+        assertEquals(List.of(second), showSchedulingService.getShowsOnScreen(multiplex.getId(), screen.getId(),
+                new Date(showTime.getTime() + 2 * hour), new Date(showTime.getTime() + 3 * hour)));
+        assertEquals(List.of(first), showSchedulingService.getShowsOnScreen(multiplex.getId(), screen.getId(),
+                new Date(showTime.getTime() + hour), new Date(showTime.getTime() + 2 * hour)));
+        // New shows use the new duration
+        assertThrows(IllegalArgumentException.class, () ->
+                showSchedulingService.scheduleShow(movie.getId(), multiplex.getId(), screen.getId(), new Date(showTime.getTime() - 3 * hour)));
+    }
+}
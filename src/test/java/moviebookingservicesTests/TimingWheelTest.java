@@ -0,0 +1,91 @@
+package moviebookingservicesTests;
+
+import com.gevernova.movingbookingsystem.services.TimingWheel;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    private TimingWheel<String> wheel;
+
+    @BeforeEach
+    void setUp() {
+        wheel = new TimingWheel<>(10, 0); // 10 ms ticks
+    }
+
+    @Test
+    @DisplayName("Timeouts expire on the first tick at or after their deadline")
+    void expiresAtDeadline() {
+        wheel.schedule("a", 25);
+        wheel.schedule("b", 30);
+        assertTrue(wheel.advanceTo(20).isEmpty());
+        assertEquals(List.of("a", "b"), wheel.advanceTo(30));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Cancelled timeouts never expire")
+    void cancelledTimeoutsDoNotExpire() {
+        TimingWheel.Timeout<String> cancelled = wheel.schedule("cancelled", 100);
+        TimingWheel.Timeout<String> kept = wheel.schedule("kept", 100);
+        assertTrue(wheel.cancel(cancelled));
+        assertFalse(wheel.cancel(cancelled));
+        assertFalse(cancelled.isPending());
+
+        assertEquals(List.of("kept"), wheel.advanceTo(1_000));
+        assertFalse(kept.isPending());
+        assertFalse(wheel.cancel(kept));
+    }
+
+    @Test
+    @DisplayName("Deadlines beyond the lower levels cascade down and expire on time")
+    void cascadesAcrossLevels() {
+        long[] deadlines = {630, 640, 650, 40_950, 40_960, 41_000, 2_621_440, 200_000_000L};
+        for (long deadline : deadlines) {
+            wheel.schedule(String.valueOf(deadline), deadline);
+        }
+        for (long deadline : deadlines) {
+            assertTrue(wheel.advanceTo(deadline - 10).isEmpty(), "early expiry before " + deadline);
+            assertEquals(List.of(String.valueOf(deadline)), wheel.advanceTo(deadline));
+        }
+    }
+
+    @Test
+    @DisplayName("Random schedules expire exactly once, never early")
+    void randomSchedules() {
+        Random random = new Random(42);
+        List<Long> deadlines = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            long deadline = 1 + random.nextInt(100_000);
+            deadlines.add(deadline);
+            wheel.schedule(String.valueOf(deadline), deadline);
+        }
+        int expired = 0;
+        for (long now = 0; now <= 100_000; now += 1 + random.nextInt(500)) {
+            for (String payload : wheel.advanceTo(now)) {
+                assertTrue(Long.parseLong(payload) <= now);
+                assertTrue(Long.parseLong(payload) > now - 510);
+                expired++;
+            }
+        }
+        expired += wheel.advanceTo(100_010).size();
+        assertEquals(deadlines.size(), expired);
+    }
+
+    @Test
+    @DisplayName("Deadlines in the past expire on the next tick")
+    void pastDeadlines() {
+        wheel.advanceTo(500);
+        wheel.schedule("late", 100);
+        assertEquals(List.of("late"), wheel.advanceTo(510));
+        assertThrows(IllegalArgumentException.class, () -> new TimingWheel<String>(0, 0));
+    }
+}